@@ -0,0 +1,14 @@
+--
+-- Transactional outbox for client change events, drained in id order by the relay.
+--
+
+CREATE SEQUENCE IF NOT EXISTS client_outbox_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS client_outbox (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    client_id  BIGINT       NOT NULL,
+    type       VARCHAR(16)  NOT NULL,
+    payload    TEXT         NOT NULL,
+    created_at TIMESTAMP    NOT NULL,
+    attempts   INTEGER      NOT NULL DEFAULT 0
+);
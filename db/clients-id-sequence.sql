@@ -0,0 +1,8 @@
+--
+-- Moves clients.id_client from the IDENTITY column to the pooled "clients_id_seq" sequence
+-- used by Hibernate (allocationSize = 50), so existing rows don't collide with the new ids.
+--
+
+CREATE SEQUENCE IF NOT EXISTS clients_id_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('clients_id_seq', (SELECT GREATEST(COALESCE(MAX(id_client), 0), 1) FROM clients));
@@ -0,0 +1,5 @@
+--
+-- Adds the optimistic lock column used for ETags and If-Match, existing rows start at version 0.
+--
+
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
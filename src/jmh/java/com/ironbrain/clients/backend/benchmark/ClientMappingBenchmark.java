@@ -0,0 +1,105 @@
+package com.ironbrain.clients.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.cache.ClientResponseCache;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.controller.ClientController;
+import com.ironbrain.clients.backend.dto.ClientRequest;
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.service.ClientService;
+import com.ironbrain.clients.backend.validation.ClientRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * ClientRequest to Client.builder() to ClientResponse through the controller, with a service
+ * that hands the client straight back and a validator that accepts everything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientMappingBenchmark {
+
+    private ClientController controller;
+    private ClientController cachedBytesController;
+    private ClientRequest clientRequest;
+
+    @Setup
+    public void setUp() {
+        Client stored = Fixtures.client(1L);
+        ClientService clientService = (ClientService) Proxy.newProxyInstance(
+                ClientService.class.getClassLoader(),
+                new Class<?>[]{ClientService.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "save":
+                        case "updateById":
+                            return args[0];
+                        case "findById":
+                            return stored;
+                        case "findCachedVersion":
+                            return Optional.of(stored.getVersion());
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        ClientRequestValidator acceptAll = new ClientRequestValidator() {
+            @Override
+            public List<String> validatePostAndPutRequest(ClientRequest clientRequest) {
+                // Validation has its own benchmark
+                return Collections.emptyList();
+            }
+        };
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ClientProperties responseBytesEnabled = new ClientProperties();
+        responseBytesEnabled.getCache().getResponseBytes().setEnabled(true);
+
+        controller = new ClientController(clientService, acceptAll,
+                new ClientResponseCache(new ClientProperties(), objectMapper, new SimpleMeterRegistry()));
+        cachedBytesController = new ClientController(clientService, acceptAll,
+                new ClientResponseCache(responseBytesEnabled, objectMapper, new SimpleMeterRegistry()));
+        clientRequest = Fixtures.clientRequest();
+    }
+
+    @Benchmark
+    public ResponseEntity<ClientResponse> save() {
+        return controller.save(clientRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<ClientResponse> updateById() {
+        return controller.updateById(clientRequest, 1L, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> findById() {
+        return controller.findById(1L, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> findByIdCachedBytes() {
+        return cachedBytesController.findById(1L, null);
+    }
+}
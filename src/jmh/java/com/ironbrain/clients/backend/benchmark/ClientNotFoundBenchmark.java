@@ -0,0 +1,132 @@
+package com.ironbrain.clients.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.cache.ClientResponseCache;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.controller.ClientController;
+import com.ironbrain.clients.backend.controller.ClientExceptionHandler;
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.service.ClientService;
+import com.ironbrain.clients.backend.validation.ClientRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * GET /client/{id} for an id that doesn't exist. notFound goes through the controller and the
+ * ClientExceptionHandler with the stackless NotFoundException. notFoundWithStackTrace is the
+ * previous pipeline: a String.format message, an exception filling its stack trace and a catch
+ * that dispatches on the type. depth adds frames under the call, a servlet request runs about a
+ * hundred deep and filling the stack trace costs more the deeper it is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientNotFoundBenchmark {
+
+    @Param({"0", "100"})
+    private int depth;
+
+    private ClientController controller;
+    private ClientController stackTraceController;
+    private ClientExceptionHandler exceptionHandler;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        controller = newController(id -> new NotFoundException("The Client with the Id = " + id + " does not exist !!!"));
+        stackTraceController = newController(id -> new StackTraceNotFoundException(
+                String.format("The Client with the Id = %1d does not exist !!!", id)));
+        exceptionHandler = new ClientExceptionHandler();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> notFound() {
+        return atDepth(depth, () -> {
+            try {
+                return controller.findById(++id, null);
+            } catch (NotFoundException ex) {
+                return exceptionHandler.handleNotFound(ex);
+            }
+        });
+    }
+
+    @Benchmark
+    public ResponseEntity<?> notFoundWithStackTrace() {
+        return atDepth(depth, () -> {
+            try {
+                return stackTraceController.findById(++id, null);
+            } catch (RuntimeException ex) {
+                return returnException(ex);
+            }
+        });
+    }
+
+    private ClientController newController(Function<Object, RuntimeException> notFound) {
+        ClientService clientService = (ClientService) Proxy.newProxyInstance(
+                ClientService.class.getClassLoader(),
+                new Class<?>[]{ClientService.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                            throw notFound.apply(args[0]);
+                        case "findCachedVersion":
+                            return Optional.empty();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        return new ClientController(clientService, new ClientRequestValidator(),
+                new ClientResponseCache(new ClientProperties(), objectMapper, new SimpleMeterRegistry()));
+    }
+
+    private ResponseEntity<?> atDepth(int remaining, Request request) {
+        return remaining == 0 ? request.handle() : atDepth(remaining - 1, request);
+    }
+
+    private ResponseEntity<ClientResponse> returnException(RuntimeException ex) {
+        HttpStatus httpStatus;
+        if (ex instanceof IllegalArgumentException) {
+            httpStatus = HttpStatus.NOT_ACCEPTABLE;
+        } else if (ex instanceof StackTraceNotFoundException) {
+            httpStatus = HttpStatus.NOT_FOUND;
+        } else {
+            httpStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return new ResponseEntity<>(ClientResponse.builder().message(ex.getLocalizedMessage()).build(), httpStatus);
+    }
+
+    private interface Request {
+
+        ResponseEntity<?> handle();
+    }
+
+    private static final class StackTraceNotFoundException extends RuntimeException {
+
+        private StackTraceNotFoundException(String errorMessage) {
+            super(errorMessage);
+        }
+    }
+}
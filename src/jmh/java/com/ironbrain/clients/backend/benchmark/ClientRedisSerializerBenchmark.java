@@ -0,0 +1,49 @@
+package com.ironbrain.clients.backend.benchmark;
+
+import com.ironbrain.clients.backend.cache.CacheValueCodec;
+import com.ironbrain.clients.backend.cache.ClientRedisSerializer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientRedisSerializerBenchmark {
+
+    @Param({"BINARY", "JDK"})
+    private CacheValueCodec codec;
+
+    private ClientRedisSerializer serializer;
+    private Object client;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        serializer = new ClientRedisSerializer(codec, getClass().getClassLoader());
+        client = Fixtures.client(1L);
+        serialized = serializer.serialize(client);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(client);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ironbrain.clients.backend.benchmark;
+
+import com.ironbrain.clients.backend.dto.ClientRequest;
+import com.ironbrain.clients.backend.validation.ClientRequestValidator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.validator.routines.EmailValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientRequestValidatorBenchmark {
+
+    private ClientRequestValidator validator;
+    private ClientRequest valid;
+    private ClientRequest invalidEmail;
+
+    @Setup
+    public void setUp() {
+        validator = new ClientRequestValidator();
+        valid = Fixtures.clientRequest();
+        invalidEmail = Fixtures.clientRequest();
+        invalidEmail.setEmail("ingyoniherrera@gmail");
+    }
+
+    @Benchmark
+    public List<String> validRequest() {
+        return validator.validatePostAndPutRequest(valid);
+    }
+
+    @Benchmark
+    public List<String> invalidEmailRequest() {
+        return validator.validatePostAndPutRequest(invalidEmail);
+    }
+
+    @Benchmark
+    public boolean emailOnly() {
+        return EmailValidator.getInstance().isValid(valid.getEmail());
+    }
+}
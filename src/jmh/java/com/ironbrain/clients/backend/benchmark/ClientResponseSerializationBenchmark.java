@@ -0,0 +1,80 @@
+package com.ironbrain.clients.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.dto.ListClientResponse;
+import com.ironbrain.clients.backend.model.Client;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The responses written by ClientJsonSerializer straight from the Clients. copiedResponseBodies
+ * is the list part of the previous path, every Client copied into a ClientResponseBody first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientResponseSerializationBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ClientResponse clientResponse;
+    private ListClientResponse listClientResponse;
+    private List<Client> clients;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring MVC builds for the controller
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        clientResponse = ClientResponse.builder()
+                .body(Fixtures.client(1L))
+                .message("Client founded successfully !!!")
+                .build();
+
+        clients = LongStream.rangeClosed(1, size)
+                .mapToObj(Fixtures::client)
+                .collect(Collectors.toList());
+        listClientResponse = ListClientResponse.builder()
+                .body(clients)
+                .message("Clients founded successfully !!!")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] clientResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(clientResponse);
+    }
+
+    @Benchmark
+    public byte[] listClientResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listClientResponse);
+    }
+
+    @Benchmark
+    public byte[] copiedResponseBodies() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(clients.stream()
+                .map(Fixtures::clientResponseBody)
+                .collect(Collectors.toList()));
+    }
+}
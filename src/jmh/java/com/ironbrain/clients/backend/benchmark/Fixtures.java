@@ -0,0 +1,42 @@
+package com.ironbrain.clients.backend.benchmark;
+
+import com.ironbrain.clients.backend.dto.ClientRequest;
+import com.ironbrain.clients.backend.dto.ClientResponseBody;
+import com.ironbrain.clients.backend.model.Client;
+import java.util.Date;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static ClientRequest clientRequest() {
+        return ClientRequest.builder()
+                .firstName("Yoni")
+                .middleName("Herrera")
+                .lastName("Lica")
+                .email("ingyoniherrera@gmail.com")
+                .username("Psycho")
+                .password("P@ssw0rd")
+                .isActive(true)
+                .build();
+    }
+
+    static Client client(Long id) {
+        return new Client(id, "Yoni", "Herrera", "Lica", "user" + id + "@gmail.com", "Psycho" + id,
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoO5bJ1c1Gd8pFz0r6ZyH5W5mO6r0Hx2eK", true, new Date(), new Date(), 0L);
+    }
+
+    static ClientResponseBody clientResponseBody(Client client) {
+        return ClientResponseBody.builder()
+                .id(client.getId())
+                .firstName(client.getFirstName())
+                .middleName(client.getMiddleName())
+                .lastName(client.getLastName())
+                .email(client.getEmail())
+                .username(client.getUsername())
+                .password(client.getPassword())
+                .isActive(client.getIsActive())
+                .build();
+    }
+}
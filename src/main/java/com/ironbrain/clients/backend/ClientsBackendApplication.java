@@ -2,12 +2,16 @@ package com.ironbrain.clients.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableCaching
-@SpringBootApplication
+// JPA owns the transactions, a ReactiveTransactionManager would stop the JpaTransactionManager from being created
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 @EnableJpaRepositories
+@EnableScheduling
 public class ClientsBackendApplication
 {
 
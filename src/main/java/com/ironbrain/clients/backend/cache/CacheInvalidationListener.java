@@ -0,0 +1,33 @@
+package com.ironbrain.clients.backend.cache;
+
+import java.nio.charset.StandardCharsets;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+@Slf4j
+@AllArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final String nodeId;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CacheInvalidationMessage invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (nodeId.equals(invalidation.getNodeId())) {
+                return;
+            }
+
+            if (invalidation.isClear()) {
+                cacheManager.clearLocal(invalidation.getCacheName());
+            } else {
+                cacheManager.evictLocal(invalidation.getCacheName(), invalidation.getKey());
+            }
+        } catch (IllegalArgumentException ex) {
+            log.warn(ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ironbrain.clients.backend.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    private static final String separator = "|";
+    private static final String evictType = "E";
+    private static final String clearType = "C";
+
+    private final String nodeId;
+    private final String cacheName;
+
+    // null when the whole cache was cleared
+    private final String key;
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    public String encode() {
+        return (isClear() ? clearType : evictType) + separator + nodeId + separator + cacheName + separator + (isClear() ? "" : key);
+    }
+
+    public static CacheInvalidationMessage decode(String message) {
+        String[] parts = message.split("\\|", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("The cache invalidation message is not valid: " + message);
+        }
+        return new CacheInvalidationMessage(parts[1], parts[2], clearType.equals(parts[0]) ? null : parts[3]);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ironbrain.clients.backend.cache;
+
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, String.valueOf(key)));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, message.encode());
+        } catch (RuntimeException ex) {
+            // Other nodes fall back to the local TTL, the write itself already succeeded
+            log.warn("The cache invalidation for {} couldn't be published: {}", message.getCacheName(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ironbrain.clients.backend.cache;
+
+public enum CacheValueCodec {
+    BINARY,
+    // Writes JDK serialization only, used while older nodes that can't read BINARY are still running
+    JDK
+}
@@ -0,0 +1,172 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clients are stored once by id, the username entry only points to the id. An alias is
+ * trusted only when the client it points to still carries that username, so evicting the
+ * primary entry is enough to make every alias of a client unreachable.
+ * <p>
+ * Every write or eviction, here or broadcast by another node, bumps a stamp for its id. A load
+ * takes the stamp before reading the database and its fill is dropped when the stamp moved or the
+ * cached Client is already newer, so a write or delete landing during the read is never
+ * overwritten by the older row. A load by username doesn't know the id yet, it takes the stamp
+ * that moves with every write.
+ */
+@Component
+public class ClientCache {
+
+    public static final String clientsCacheName = "clients";
+    public static final String usernamesCacheName = "clients-by-username";
+
+    private static final int stampStripes = 1024;
+
+    private final Cache clients;
+    private final Cache usernames;
+    private final ClientResponseCache responses;
+    private final ClientNegativeCache negatives;
+    private final AtomicLongArray stamps = new AtomicLongArray(stampStripes);
+    private final AtomicLong writes = new AtomicLong();
+
+    public ClientCache(CacheManager cacheManager, ClientResponseCache responses, ClientNegativeCache negatives) {
+        this.clients = cacheManager.getCache(clientsCacheName);
+        this.usernames = cacheManager.getCache(usernamesCacheName);
+        this.responses = responses;
+        this.negatives = negatives;
+
+        if (cacheManager instanceof TwoLevelCacheManager) {
+            ((TwoLevelCacheManager) cacheManager).addEvictionListener(this::onEviction);
+        }
+    }
+
+    public Optional<Client> getById(Long id) {
+        return Optional.ofNullable(clients.get(id, Client.class));
+    }
+
+    public Optional<Client> getByUsername(String username) {
+        Long id = usernames.get(username, Long.class);
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        Optional<Client> client = getById(id).filter(cached -> username.equals(cached.getUsername()));
+        if (client.isEmpty()) {
+            usernames.evict(username);
+        }
+        return client;
+    }
+
+    public long getStamp(Long id) {
+        return stamps.get(getStripe(id));
+    }
+
+    public long getStamp() {
+        return writes.get();
+    }
+
+    public void put(Client client) {
+        bump(client.getId());
+        negatives.forget(client);
+        responses.evict(client.getId());
+        clients.put(client.getId(), client);
+        usernames.put(client.getUsername(), client.getId());
+    }
+
+    // A read-through fill, unlike put it isn't broadcast and the other nodes keep their local copy
+    public boolean putLoaded(Client client, long stamp) {
+        return putLoaded(client, () -> getStamp(client.getId()), stamp);
+    }
+
+    public boolean putLoadedByUsername(Client client, long stamp) {
+        return putLoaded(client, this::getStamp, stamp);
+    }
+
+    public void replace(String previousUsername, Client client) {
+        put(client);
+        if (previousUsername != null && !previousUsername.equals(client.getUsername())) {
+            usernames.evict(previousUsername);
+        }
+    }
+
+    // The username alias is left behind, getByUsername drops it once it no longer resolves
+    public void evictById(Long id) {
+        bump(id);
+        responses.evict(id);
+        clients.evict(id);
+    }
+
+    public void evict(Client client) {
+        bump(client.getId());
+        responses.evict(client.getId());
+        clients.evict(client.getId());
+        usernames.evict(client.getUsername());
+    }
+
+    // A write that bumps the stamp between the check and the fill is undone by the second check
+    private boolean putLoaded(Client client, LongSupplier current, long stamp) {
+        if (current.getAsLong() != stamp || isNewerCached(client)) {
+            return false;
+        }
+
+        negatives.forget(client);
+        putLoaded(clients, client.getId(), client);
+        putLoaded(usernames, client.getUsername(), client.getId());
+        if (current.getAsLong() != stamp) {
+            clients.evict(client.getId());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isNewerCached(Client client) {
+        Client cached = clients.get(client.getId(), Client.class);
+        return cached != null && cached.getVersion() != null && client.getVersion() != null
+                && cached.getVersion() > client.getVersion();
+    }
+
+    private void bump(Long id) {
+        stamps.incrementAndGet(getStripe(id));
+        writes.incrementAndGet();
+    }
+
+    private void bumpAll() {
+        for (int stripe = 0; stripe < stampStripes; stripe++) {
+            stamps.incrementAndGet(stripe);
+        }
+        writes.incrementAndGet();
+    }
+
+    private int getStripe(Long id) {
+        return Math.floorMod(id.hashCode(), stampStripes);
+    }
+
+    private void onEviction(String cacheName, String key) {
+        if (!clientsCacheName.equals(cacheName)) {
+            return;
+        }
+        if (key == null) {
+            bumpAll();
+        } else {
+            try {
+                bump(Long.valueOf(key));
+            } catch (NumberFormatException ex) {
+                bumpAll();
+            }
+        }
+    }
+
+    private void putLoaded(Cache cache, Object key, Object value) {
+        if (cache instanceof TwoLevelCache) {
+            ((TwoLevelCache) cache).putLoaded(key, value);
+        } else {
+            cache.put(key, value);
+        }
+    }
+}
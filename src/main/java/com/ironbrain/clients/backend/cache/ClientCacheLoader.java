@@ -0,0 +1,176 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads a Client through the cache. Concurrent misses on an id share one database load, the
+ * late callers wait for the first one. An entry this node loaded is refreshed in the background
+ * shortly before its time-to-live ends, with a probability that grows as the end gets closer and
+ * scales with how long a load takes (XFetch), so a hot id is reloaded once instead of expiring
+ * under load. Entries written by other nodes fall back to the shared load.
+ */
+@Slf4j
+@Component
+public class ClientCacheLoader {
+
+    private final ClientRepository clientRepository;
+    private final ClientCache clientCache;
+    private final ClientNegativeCache clientNegativeCache;
+    private final Duration timeToLive;
+    private final ClientProperties.RefreshAhead refreshAhead;
+
+    private final ConcurrentMap<Long, CompletableFuture<Optional<Client>>> loading = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<Long, Long> loadedAt;
+    private final ExecutorService refresher;
+    private volatile double loadMillis = 1;
+
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter refreshedAhead;
+
+    public ClientCacheLoader(ClientRepository clientRepository, ClientCache clientCache, ClientNegativeCache clientNegativeCache,
+                             CacheProperties cacheProperties, ClientProperties clientProperties, MeterRegistry meterRegistry) {
+        this.clientRepository = clientRepository;
+        this.clientCache = clientCache;
+        this.clientNegativeCache = clientNegativeCache;
+        this.timeToLive = cacheProperties.getRedis().getTimeToLive();
+        this.refreshAhead = clientProperties.getCache().getRefreshAhead();
+        this.loadedAt = Caffeine.newBuilder()
+                .maximumSize(clientProperties.getCache().getLocal().getMaximumSize())
+                .expireAfterWrite(timeToLive == null ? Duration.ofMinutes(1) : timeToLive)
+                .build();
+        // Refreshes are optional work, they are dropped rather than queued when the database is slow
+        this.refresher = new ThreadPoolExecutor(1, refreshAhead.getThreads(), 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(refreshAhead.getQueueSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "client-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        this.loads = getCounter(meterRegistry, "loaded");
+        this.coalesced = getCounter(meterRegistry, "coalesced");
+        this.refreshedAhead = getCounter(meterRegistry, "refreshed_ahead");
+    }
+
+    public Optional<Client> getById(Long id) {
+        Optional<Client> cached = clientCache.getById(id);
+        if (cached.isPresent()) {
+            if (claimRefresh(id)) {
+                refresher.execute(() -> refresh(id));
+            }
+            return cached;
+        }
+        if (clientNegativeCache.isMissingId(id)) {
+            return Optional.empty();
+        }
+
+        return load(id);
+    }
+
+    private Optional<Client> load(Long id) {
+        CompletableFuture<Optional<Client>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Client>> running = loading.putIfAbsent(id, load);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            long start = System.nanoTime();
+            long stamp = clientCache.getStamp(id);
+            Optional<Client> result = clientRepository.findById(id);
+            if (result.isPresent()) {
+                if (clientCache.putLoaded(result.get(), stamp)) {
+                    loadedAt.put(id, System.currentTimeMillis());
+                }
+            } else {
+                clientNegativeCache.putMissingId(id);
+            }
+            recordLoad(System.nanoTime() - start);
+            load.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(id, load);
+        }
+    }
+
+    private void refresh(Long id) {
+        try {
+            if (!loading.containsKey(id)) {
+                refreshedAhead.increment();
+                load(id);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("The Client with Id = {} couldn't be refreshed ahead: {}", id, ex.getLocalizedMessage());
+        }
+    }
+
+    // Due when now - loadMillis * beta * ln(random) passes the expiry, ln(random) is always negative.
+    // Dropping the load time claims the refresh, a dropped task leaves the entry to expire normally.
+    private boolean claimRefresh(Long id) {
+        if (!refreshAhead.isEnabled() || timeToLive == null) {
+            return false;
+        }
+
+        Long loaded = loadedAt.getIfPresent(id);
+        if (loaded == null) {
+            return false;
+        }
+
+        double gap = -loadMillis * refreshAhead.getBeta() * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= loaded + timeToLive.toMillis()
+                && loadedAt.asMap().remove(id, loaded);
+    }
+
+    private Optional<Client> await(CompletableFuture<Optional<Client>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private void recordLoad(long nanos) {
+        loads.increment();
+        loadMillis = 0.8 * loadMillis + 0.2 * Math.max(1, nanos / 1_000_000.0);
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("client.cache.loads")
+                .description("Database loads behind the clients cache, and the requests that shared one")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
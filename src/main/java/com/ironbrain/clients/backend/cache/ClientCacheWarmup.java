@@ -0,0 +1,144 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the cache with the most recently updated Clients once the application started, loading
+ * chunks of ids in parallel. It reports WARMING until every chunk is loaded or the time budget runs
+ * out, whichever comes first. The readiness group ranks WARMING above UP so traffic arrives on a
+ * warm cache, the overall health ranks it below UP and stays UP meanwhile.
+ */
+@Slf4j
+@Component
+public class ClientCacheWarmup implements HealthIndicator {
+
+    public static final Status warming = new Status("WARMING", "The cache warm-up is running");
+
+    private final ClientRepository clientRepository;
+    private final ClientCache clientCache;
+    private final ClientProperties.Warmup warmup;
+    private final Counter loaded;
+    private final Timer duration;
+    private final AtomicLong loadedCount = new AtomicLong();
+
+    private volatile String state = "pending";
+    private volatile boolean finished;
+
+    public ClientCacheWarmup(ClientRepository clientRepository, ClientCache clientCache, ClientProperties clientProperties,
+                             MeterRegistry meterRegistry) {
+        this.clientRepository = clientRepository;
+        this.clientCache = clientCache;
+        this.warmup = clientProperties.getCache().getWarmup();
+        this.loaded = Counter.builder("client.cache.warmup.loaded")
+                .description("Clients loaded into the cache at startup")
+                .register(meterRegistry);
+        this.duration = Timer.builder("client.cache.warmup")
+                .description("Time the startup cache warm-up took")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!warmup.isEnabled()) {
+            finish("disabled");
+            return;
+        }
+
+        Thread thread = new Thread(this::warmUp, "client-cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        return (finished ? Health.up() : Health.status(warming))
+                .withDetail("state", state)
+                .withDetail("loaded", loadedCount.get())
+                .build();
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + warmup.getTimeBudget().toNanos();
+        state = "running";
+        ExecutorService executor = Executors.newFixedThreadPool(warmup.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "client-cache-warmup-chunk");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String outcome;
+        try {
+            List<Long> ids = clientRepository.findRecentlyUpdatedIds(PageRequest.of(0, warmup.getMaximumClients()));
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += warmup.getChunkSize()) {
+                List<Long> chunk = ids.subList(from, Math.min(from + warmup.getChunkSize(), ids.size()));
+                chunks.add(executor.submit(() -> loadChunk(chunk)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            outcome = "completed";
+        } catch (TimeoutException ex) {
+            log.warn("The cache warm-up ran out of its {} budget", warmup.getTimeBudget());
+            outcome = "budget exceeded";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        } catch (ExecutionException | RuntimeException ex) {
+            log.error("The cache warm-up failed, the cache fills on demand", ex);
+            outcome = "failed";
+        } finally {
+            executor.shutdownNow();
+        }
+
+        duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        finish(outcome);
+        log.info("The cache warm-up {} with {} Clients loaded", outcome, loadedCount.get());
+    }
+
+    // The stamps are taken before the read, a Client written meanwhile keeps its newer entry
+    private void loadChunk(List<Long> ids) {
+        Map<Long, Long> stamps = new HashMap<>();
+        ids.forEach(id -> stamps.put(id, clientCache.getStamp(id)));
+
+        for (Client client : clientRepository.findAllById(ids)) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (clientCache.putLoaded(client, stamps.get(client.getId()))) {
+                loaded.increment();
+                loadedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void finish(String outcome) {
+        state = outcome;
+        finished = true;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers for a few seconds the ids and usernames that were looked up and don't exist. It is
+ * kept per node and bounded. A Client put in the {@link ClientCache} drops its id and username
+ * here, and on the other nodes through the eviction the put broadcasts.
+ */
+@Component
+public class ClientNegativeCache {
+
+    private final boolean enabled;
+    private final com.github.benmanes.caffeine.cache.Cache<Long, Boolean> missingIds;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Boolean> missingUsernames;
+
+    private final Counter idHits;
+    private final Counter idStores;
+    private final Counter usernameHits;
+    private final Counter usernameStores;
+
+    public ClientNegativeCache(CacheManager cacheManager, ClientProperties clientProperties, MeterRegistry meterRegistry) {
+        ClientProperties.Negative negative = clientProperties.getCache().getNegative();
+        this.enabled = negative.isEnabled();
+        this.missingIds = Caffeine.newBuilder()
+                .maximumSize(negative.getMaximumSize())
+                .expireAfterWrite(negative.getTimeToLive())
+                .build();
+        this.missingUsernames = Caffeine.newBuilder()
+                .maximumSize(negative.getMaximumSize())
+                .expireAfterWrite(negative.getTimeToLive())
+                .build();
+        this.idHits = getCounter(meterRegistry, "id", "hit");
+        this.idStores = getCounter(meterRegistry, "id", "stored");
+        this.usernameHits = getCounter(meterRegistry, "username", "hit");
+        this.usernameStores = getCounter(meterRegistry, "username", "stored");
+
+        if (cacheManager instanceof TwoLevelCacheManager) {
+            ((TwoLevelCacheManager) cacheManager).addEvictionListener(this::onEviction);
+        }
+    }
+
+    public boolean isMissingId(Long id) {
+        if (enabled && missingIds.getIfPresent(id) != null) {
+            idHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isMissingUsername(String username) {
+        if (enabled && missingUsernames.getIfPresent(username) != null) {
+            usernameHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void putMissingId(Long id) {
+        if (enabled) {
+            missingIds.put(id, Boolean.TRUE);
+            idStores.increment();
+        }
+    }
+
+    public void putMissingUsername(String username) {
+        if (enabled) {
+            missingUsernames.put(username, Boolean.TRUE);
+            usernameStores.increment();
+        }
+    }
+
+    public void forget(Client client) {
+        if (client.getId() != null) {
+            missingIds.invalidate(client.getId());
+        }
+        if (client.getUsername() != null) {
+            missingUsernames.invalidate(client.getUsername());
+        }
+    }
+
+    private void onEviction(String cacheName, String key) {
+        if (ClientCache.clientsCacheName.equals(cacheName)) {
+            if (key == null) {
+                missingIds.invalidateAll();
+            } else {
+                try {
+                    missingIds.invalidate(Long.valueOf(key));
+                } catch (NumberFormatException ex) {
+                    missingIds.invalidateAll();
+                }
+            }
+        } else if (ClientCache.usernamesCacheName.equals(cacheName)) {
+            if (key == null) {
+                missingUsernames.invalidateAll();
+            } else {
+                missingUsernames.invalidate(key);
+            }
+        }
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder("client.cache.negative")
+                .description("Lookups answered by the cache of missing ids and usernames, and the misses stored in it")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,217 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Compact field codec for the cached values. Binary values start with {@link #magic} and a
+ * format version, anything starting with the JDK stream header is still read with JDK
+ * serialization, so entries written by older nodes stay readable during a rolling deploy.
+ */
+public class ClientRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte magic = (byte) 0xC1;
+    // 2 added the optimistic lock version, version 1 values are read as a miss
+    static final byte version = 2;
+
+    private static final byte clientType = 1;
+    private static final byte longType = 2;
+
+    private final CacheValueCodec codec;
+    private final JdkSerializationRedisSerializer jdkSerializer;
+
+    public ClientRedisSerializer(CacheValueCodec codec, ClassLoader classLoader) {
+        this.codec = codec;
+        this.jdkSerializer = new JdkSerializationRedisSerializer(classLoader);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (codec == CacheValueCodec.BINARY) {
+            if (value instanceof Client) {
+                return writeClient((Client) value);
+            } else if (value instanceof Long) {
+                Output output = new Output(11);
+                writeHeader(output, longType);
+                output.writeVarLong((Long) value);
+                return output.toByteArray();
+            }
+        }
+        return jdkSerializer.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes[0] != magic) {
+            return jdkSerializer.deserialize(bytes);
+        }
+
+        Input input = new Input(bytes);
+        try {
+            input.readByte();
+            byte valueVersion = input.readByte();
+            if (valueVersion != version) {
+                throw new SerializationException("Unsupported cache value version " + valueVersion);
+            }
+
+            byte type = input.readByte();
+            if (type == clientType) {
+                return readClient(input);
+            } else if (type == longType) {
+                return input.readVarLong();
+            }
+            throw new SerializationException("Unsupported cache value type " + type);
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new SerializationException("Truncated cache value", ex);
+        }
+    }
+
+    private byte[] writeClient(Client client) {
+        Output output = new Output(128);
+        writeHeader(output, clientType);
+        output.writeNullableLong(client.getId());
+        output.writeString(client.getFirstName());
+        output.writeString(client.getMiddleName());
+        output.writeString(client.getLastName());
+        output.writeString(client.getEmail());
+        output.writeString(client.getUsername());
+        output.writeString(client.getPassword());
+        output.writeByte(client.getIsActive() == null ? 0 : client.getIsActive() ? 2 : 1);
+        output.writeNullableLong(client.getCreatedAt() == null ? null : client.getCreatedAt().getTime());
+        output.writeNullableLong(client.getUpdatedAt() == null ? null : client.getUpdatedAt().getTime());
+        output.writeNullableLong(client.getVersion());
+        return output.toByteArray();
+    }
+
+    private Client readClient(Input input) {
+        Client client = new Client();
+        client.setId(input.readNullableLong());
+        client.setFirstName(input.readString());
+        client.setMiddleName(input.readString());
+        client.setLastName(input.readString());
+        client.setEmail(input.readString());
+        client.setUsername(input.readString());
+        client.setPassword(input.readString());
+        byte isActive = input.readByte();
+        client.setIsActive(isActive == 0 ? null : isActive == 2);
+        Long createdAt = input.readNullableLong();
+        client.setCreatedAt(createdAt == null ? null : new Date(createdAt));
+        Long updatedAt = input.readNullableLong();
+        client.setUpdatedAt(updatedAt == null ? null : new Date(updatedAt));
+        client.setVersion(input.readNullableLong());
+        return client;
+    }
+
+    private void writeHeader(Output output, byte type) {
+        output.writeByte(magic);
+        output.writeByte(version);
+        output.writeByte(type);
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        private Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private void writeNullableLong(Long value) {
+            if (value == null) {
+                writeByte(0);
+            } else {
+                writeByte(1);
+                writeVarLong(value);
+            }
+        }
+
+        // Length is stored plus one so that zero can mean null
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private byte readByte() {
+            return bytes[position++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        private Long readNullableLong() {
+            return readByte() == 0 ? null : readVarLong();
+        }
+
+        private String readString() {
+            int length = (int) readVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (position + length > bytes.length) {
+                throw new ArrayIndexOutOfBoundsException(position + length);
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
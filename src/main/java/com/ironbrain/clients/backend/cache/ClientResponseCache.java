@@ -0,0 +1,95 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized single client responses, kept in process only. An entry is served only for the
+ * version it was written for, so a client changed on another node is never answered from here.
+ */
+@Slf4j
+@Component
+public class ClientResponseCache {
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Entry> responses;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ClientResponseCache(ClientProperties clientProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        ClientProperties.ResponseBytes properties = clientProperties.getCache().getResponseBytes();
+
+        this.enabled = properties.isEnabled();
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .build();
+        this.hits = getCounter(meterRegistry, "hit");
+        this.misses = getCounter(meterRegistry, "miss");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<byte[]> get(Long id, Long version) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Entry entry = responses.getIfPresent(id);
+        if (entry != null && entry.version.equals(version)) {
+            hits.increment();
+            return Optional.of(entry.bytes);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public Optional<byte[]> put(Long id, Long version, Object response) {
+        if (!enabled || id == null || version == null) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+            responses.put(id, new Entry(version, bytes));
+            return Optional.of(bytes);
+        } catch (JsonProcessingException ex) {
+            log.warn("The response of the Client with Id = {} couldn't be serialized", id, ex);
+            return Optional.empty();
+        }
+    }
+
+    public void evict(Long id) {
+        if (enabled) {
+            responses.invalidate(id);
+        }
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("client.cache.response.bytes")
+                .description("Single client reads answered with cached response bytes")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+
+        private final Long version;
+        private final byte[] bytes;
+    }
+}
@@ -0,0 +1,180 @@
+package com.ironbrain.clients.backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Serves hits from a bounded in-process cache and falls back to the shared remote cache.
+ * Every write goes to both tiers and is broadcast so the other nodes drop their local copy.
+ * Values loaded from the database fill both tiers without a broadcast, nothing changed for the
+ * other nodes and their local copies stay hot.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final CacheInvalidationPublisher publisher;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoLevelCache(String name, Cache remote, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         CacheInvalidationPublisher publisher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.publisher = publisher;
+        this.localHits = getCounter(meterRegistry, "local", "hit");
+        this.localMisses = getCounter(meterRegistry, "local", "miss");
+        this.remoteHits = getCounter(meterRegistry, "remote", "hit");
+        this.remoteMisses = getCounter(meterRegistry, "remote", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = String.valueOf(key);
+
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value == NullValue.INSTANCE ? null : value);
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper;
+        try {
+            wrapper = remote.get(key);
+        } catch (SerializationException ex) {
+            // Written by a node with a newer value format, treat it as a miss
+            log.debug("The cached value for {} in {} couldn't be read: {}", key, name, ex.getMessage());
+            wrapper = null;
+        }
+
+        if (wrapper == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+
+        local.put(localKey, wrapper.get() == null ? NullValue.INSTANCE : wrapper.get());
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        putLoaded(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(String.valueOf(key), value == null ? NullValue.INSTANCE : value);
+        publisher.publishEvict(name, key);
+    }
+
+    public void putLoaded(Object key, Object value) {
+        remote.put(key, value);
+        local.put(String.valueOf(key), value == null ? NullValue.INSTANCE : value);
+    }
+
+    // Only fills a missing entry, so there is nothing for the other nodes to drop
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing == null ? value : existing.get();
+        local.put(String.valueOf(key), current == null ? NullValue.INSTANCE : current);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(String.valueOf(key));
+        publisher.publishEvict(name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        local.invalidate(String.valueOf(key));
+        publisher.publishEvict(name, key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        local.invalidateAll();
+        publisher.publishClear(name);
+        return present;
+    }
+
+    public void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("client.cache.gets")
+                .description("Cache lookups per tier")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher publisher;
+    private final MeterRegistry meterRegistry;
+    private final long localMaximumSize;
+    private final Duration localExpireAfterWrite;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    // Told about the evictions made by other nodes, with a null key when the whole cache was cleared
+    private final List<BiConsumer<String, String>> evictionListeners = new CopyOnWriteArrayList<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, CacheInvalidationPublisher publisher, MeterRegistry meterRegistry,
+                                long localMaximumSize, Duration localExpireAfterWrite) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.publisher = publisher;
+        this.meterRegistry = meterRegistry;
+        this.localMaximumSize = localMaximumSize;
+        this.localExpireAfterWrite = localExpireAfterWrite;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            if (remote == null) {
+                return null;
+            }
+
+            return new TwoLevelCache(
+                    cacheName,
+                    remote,
+                    Caffeine.newBuilder()
+                            .maximumSize(localMaximumSize)
+                            .expireAfterWrite(localExpireAfterWrite)
+                            .build(),
+                    publisher,
+                    meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    public void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+        evictionListeners.forEach(listener -> listener.accept(cacheName, key));
+    }
+
+    public void clearLocal(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+        evictionListeners.forEach(listener -> listener.accept(cacheName, null));
+    }
+
+    public void addEvictionListener(BiConsumer<String, String> listener) {
+        evictionListeners.add(listener);
+    }
+}
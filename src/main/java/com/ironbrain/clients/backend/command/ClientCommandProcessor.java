@@ -0,0 +1,253 @@
+package com.ironbrain.clients.backend.command;
+
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
+import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientBatchResult;
+import com.ironbrain.clients.backend.model.ClientBatchStatus;
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandState;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import com.ironbrain.clients.backend.service.ClientService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Applies a batch of commands in the order they were published. Consecutive commands of the same
+ * type are coalesced: saves and updates go through the batched saveAll/updateAll, only the last
+ * update of a client is written, repeated toggles of a client collapse to their parity and repeated
+ * deletes to one. An update carrying an expected version is never coalesced, it is checked alone.
+ * <p>
+ * A command is rejected for a business outcome, a missing client, a duplicate, a stale version or
+ * a row the database refuses. Any other failure is counted against the command and thrown so the
+ * batch is delivered again, the commands an earlier delivery already settled are skipped when it
+ * comes back. A command that failed maxAttempts times is rejected, so one command that can never
+ * be applied doesn't hold back the queue. The passwords were hashed before publishing, they are
+ * written as they are.
+ */
+@Slf4j
+public class ClientCommandProcessor {
+
+    private final ClientService clientService;
+    private final ClientCommandTracker tracker;
+    private final Timer batchTimer;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    public ClientCommandProcessor(ClientService clientService, ClientCommandTracker tracker, MeterRegistry meterRegistry,
+                                  int maxAttempts) {
+        this.clientService = clientService;
+        this.tracker = tracker;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.batchTimer = Timer.builder("client.commands.batch")
+                .description("Time to apply one batch of client commands")
+                .register(meterRegistry);
+    }
+
+    public void process(List<ClientCommand> received) {
+        List<ClientCommand> commands = received.stream().filter(this::isPending).collect(Collectors.toList());
+        batchTimer.record(() -> {
+            int from = 0;
+            while (from < commands.size()) {
+                int to = from + 1;
+                while (to < commands.size() && isCoalescable(commands.get(from), commands.get(to))) {
+                    to++;
+                }
+                apply(commands.subList(from, to));
+                from = to;
+            }
+        });
+        log.info("The batch of {} Client commands was applied", commands.size());
+    }
+
+    private boolean isPending(ClientCommand command) {
+        return tracker.get(command.getTrackingId())
+                .map(status -> status.getState() == ClientCommandState.PENDING)
+                .orElse(true);
+    }
+
+    private boolean isCoalescable(ClientCommand first, ClientCommand next) {
+        return first.getType() == next.getType() && !isVersioned(first) && !isVersioned(next);
+    }
+
+    private boolean isVersioned(ClientCommand command) {
+        return command.getType() == ClientCommandType.UPDATE && command.getClient().getVersion() != null;
+    }
+
+    private void apply(List<ClientCommand> run) {
+        Map<ClientCommand, String> failed = new LinkedHashMap<>();
+        try {
+            switch (run.get(0).getType()) {
+                case SAVE:
+                    applySaves(run, failed);
+                    break;
+                case UPDATE:
+                    if (isVersioned(run.get(0))) {
+                        applyVersionedUpdate(run.get(0));
+                    } else {
+                        applyUpdates(run, failed);
+                    }
+                    break;
+                case TOGGLE:
+                    getByClientId(run).forEach(this::applyToggles);
+                    break;
+                case DELETE:
+                    getByClientId(run).forEach(this::applyDeletes);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown Client command " + run.get(0).getType());
+            }
+        } catch (RuntimeException ex) {
+            if (isRejection(ex)) {
+                run.forEach(command -> rejected(command, ex.getLocalizedMessage()));
+                return;
+            }
+            log.error("The Client commands from {} couldn't be applied", run.get(0).getTrackingId(), ex);
+            // The toggles and deletes of the clients before the failing one are already settled
+            run.stream().filter(this::isPending).forEach(command -> failed.put(command, ex.getLocalizedMessage()));
+            if (retryOrReject(failed)) {
+                throw ex;
+            }
+            return;
+        }
+
+        if (retryOrReject(failed)) {
+            throw new IllegalStateException(String.format("%1d Client commands couldn't be written: %2s",
+                    failed.size(), failed.values().iterator().next()));
+        }
+    }
+
+    // Counts the failed attempt of every command, true while one of them has attempts left
+    private boolean retryOrReject(Map<ClientCommand, String> failed) {
+        boolean retry = false;
+        for (Map.Entry<ClientCommand, String> entry : failed.entrySet()) {
+            int attempts = tracker.failed(entry.getKey(), entry.getValue()).getAttempts();
+            if (attempts < maxAttempts) {
+                retry = true;
+            } else {
+                log.warn("The Client command {} failed {} times and was rejected", entry.getKey().getTrackingId(), attempts);
+                rejected(entry.getKey(), String.format("The Client command failed %1d times: %2s", attempts, entry.getValue()));
+            }
+        }
+        return retry;
+    }
+
+    private boolean isRejection(RuntimeException ex) {
+        return ex instanceof NotFoundException
+                || ex instanceof DuplicateClientException
+                || ex instanceof PreconditionFailedException
+                || ex instanceof OptimisticLockingFailureException
+                || ex instanceof DataIntegrityViolationException
+                || ex instanceof IllegalArgumentException;
+    }
+
+    private void applySaves(List<ClientCommand> run, Map<ClientCommand, String> failed) {
+        List<Client> clients = new ArrayList<>(run.size());
+        run.forEach(command -> clients.add(command.getClient()));
+
+        List<ClientBatchResult> results = clientService.saveAllHashed(clients);
+        for (int index = 0; index < run.size(); index++) {
+            complete(run.get(index), results.get(index), failed);
+        }
+    }
+
+    private void applyUpdates(List<ClientCommand> run, Map<ClientCommand, String> failed) {
+        Map<Long, List<ClientCommand>> byClientId = getByClientId(run);
+        List<Client> clients = new ArrayList<>(byClientId.size());
+        byClientId.forEach((id, commands) -> {
+            Client latest = commands.get(commands.size() - 1).getClient();
+            latest.setId(id);
+            clients.add(latest);
+        });
+
+        List<ClientBatchResult> results = clientService.updateAllHashed(clients);
+        int index = 0;
+        for (List<ClientCommand> commands : byClientId.values()) {
+            ClientBatchResult result = results.get(index++);
+            commands.forEach(command -> complete(command, result, failed));
+        }
+    }
+
+    private void applyVersionedUpdate(ClientCommand command) {
+        Client updated = clientService.updateHashedById(command.getClient(), command.getClientId());
+        applied(command, updated.getId(), "Client updated successfully !!!");
+    }
+
+    private void applyToggles(Long id, List<ClientCommand> commands) {
+        try {
+            String message;
+            if (commands.size() % 2 == 1) {
+                Client toggled = clientService.activateAndDeactivateClientById(id);
+                message = "Client " + (toggled.getIsActive() ? "activated" : "deactivated") + " successfully !!!";
+            } else if (clientService.existsById(id)) {
+                message = "Client toggled back to its previous state successfully !!!";
+            } else {
+                commands.forEach(command -> rejected(command, getNotFoundMessage(id)));
+                return;
+            }
+            commands.forEach(command -> applied(command, id, message));
+        } catch (NotFoundException ex) {
+            commands.forEach(command -> rejected(command, ex.getLocalizedMessage()));
+        }
+    }
+
+    private void applyDeletes(Long id, List<ClientCommand> commands) {
+        try {
+            clientService.deleteById(id);
+            commands.forEach(command -> applied(command, id, "Client deleted successfully !!!"));
+        } catch (NotFoundException ex) {
+            commands.forEach(command -> rejected(command, ex.getLocalizedMessage()));
+        }
+    }
+
+    private Map<Long, List<ClientCommand>> getByClientId(List<ClientCommand> run) {
+        Map<Long, List<ClientCommand>> byClientId = new LinkedHashMap<>();
+        run.forEach(command -> byClientId.computeIfAbsent(command.getClientId(), id -> new ArrayList<>()).add(command));
+        return byClientId;
+    }
+
+    // A FAILED row is left pending, the others are settled before the batch is thrown back
+    private void complete(ClientCommand command, ClientBatchResult result, Map<ClientCommand, String> failed) {
+        if (result.getStatus() == ClientBatchStatus.SAVED || result.getStatus() == ClientBatchStatus.UPDATED) {
+            applied(command, result.getClient().getId(), result.getMessage());
+        } else if (result.getStatus() == ClientBatchStatus.FAILED) {
+            failed.put(command, result.getMessage());
+        } else {
+            rejected(command, result.getMessage());
+        }
+    }
+
+    private void applied(ClientCommand command, Long clientId, String message) {
+        tracker.applied(command, clientId, message);
+        count(command, "applied");
+    }
+
+    private void rejected(ClientCommand command, String message) {
+        tracker.rejected(command, message);
+        count(command, "rejected");
+    }
+
+    private void count(ClientCommand command, String result) {
+        Counter.builder("client.commands")
+                .description("Client commands applied from the queue")
+                .tag("type", command.getType().name().toLowerCase())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String getNotFoundMessage(Long id) {
+        return String.format("The Client with the Id = %1d does not exist !!!", id);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ironbrain.clients.backend.command;
+
+import com.ironbrain.clients.backend.model.ClientCommand;
+
+public interface ClientCommandPublisher {
+
+    void publish(ClientCommand command);
+}
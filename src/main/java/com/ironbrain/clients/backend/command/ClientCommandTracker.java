@@ -0,0 +1,62 @@
+package com.ironbrain.clients.backend.command;
+
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandState;
+import com.ironbrain.clients.backend.model.ClientCommandStatus;
+import java.util.Date;
+import java.util.Optional;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Keeps the state of every accepted command in the shared cache, so the status can be asked on
+ * any node no matter which one consumed the command. Statuses live as long as the cache entries.
+ */
+public class ClientCommandTracker {
+
+    public static final String commandsCacheName = "client-commands";
+
+    private final Cache commands;
+
+    public ClientCommandTracker(CacheManager cacheManager) {
+        this.commands = cacheManager.getCache(commandsCacheName);
+    }
+
+    public ClientCommandStatus accepted(ClientCommand command) {
+        return put(command, ClientCommandState.PENDING, command.getClientId(), "Client command accepted !!!", null, 0);
+    }
+
+    // Still PENDING, the attempt is counted so the processor can give up on a command that never succeeds
+    public ClientCommandStatus failed(ClientCommand command, String message) {
+        int attempts = get(command.getTrackingId()).map(ClientCommandStatus::getAttempts).orElse(0) + 1;
+        return put(command, ClientCommandState.PENDING, command.getClientId(), message, null, attempts);
+    }
+
+    public ClientCommandStatus applied(ClientCommand command, Long clientId, String message) {
+        return put(command, ClientCommandState.APPLIED, clientId, message, new Date(), 0);
+    }
+
+    public ClientCommandStatus rejected(ClientCommand command, String message) {
+        return put(command, ClientCommandState.REJECTED, command.getClientId(), message, new Date(), 0);
+    }
+
+    public Optional<ClientCommandStatus> get(String trackingId) {
+        return Optional.ofNullable(commands.get(trackingId, ClientCommandStatus.class));
+    }
+
+    private ClientCommandStatus put(ClientCommand command, ClientCommandState state, Long clientId, String message,
+                                    Date completedAt, int attempts) {
+        ClientCommandStatus status = ClientCommandStatus.builder()
+                .trackingId(command.getTrackingId())
+                .type(command.getType())
+                .state(state)
+                .clientId(clientId)
+                .message(message)
+                .acceptedAt(new Date(command.getAcceptedAt()))
+                .completedAt(completedAt)
+                .attempts(attempts)
+                .build();
+        commands.put(command.getTrackingId(), status);
+        return status;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ironbrain.clients.backend.command;
+
+import com.ironbrain.clients.backend.model.ClientCommand;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stands in for the broker on a single node and in tests. One thread drains the queue in
+ * batches of up to batchSize, waiting at most receiveTimeout for a batch to fill, so commands
+ * are applied in the order they were published. A batch that fails is retried after
+ * retryInterval, like a requeue, until the processor gives up on the failing commands. Pending
+ * commands are lost on shutdown.
+ */
+@Slf4j
+public class InMemoryClientCommandPublisher implements ClientCommandPublisher {
+
+    private final BlockingQueue<ClientCommand> queue = new LinkedBlockingQueue<>();
+    private final ClientCommandProcessor processor;
+    private final int batchSize;
+    private final Duration receiveTimeout;
+    private final Duration retryInterval;
+    private final Thread consumer;
+
+    private volatile boolean running;
+
+    public InMemoryClientCommandPublisher(ClientCommandProcessor processor, int batchSize, Duration receiveTimeout,
+                                          Duration retryInterval) {
+        this.processor = processor;
+        this.batchSize = batchSize;
+        this.receiveTimeout = receiveTimeout;
+        this.retryInterval = retryInterval;
+        this.consumer = new Thread(this::consume, "client-commands");
+        this.consumer.setDaemon(true);
+    }
+
+    @Override
+    public void publish(ClientCommand command) {
+        queue.add(command);
+    }
+
+    public void start() {
+        running = true;
+        consumer.start();
+    }
+
+    public void stop() {
+        running = false;
+        consumer.interrupt();
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    private void consume() {
+        List<ClientCommand> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + receiveTimeout.toNanos();
+                while (batch.size() < batchSize) {
+                    ClientCommand next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                apply(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<ClientCommand> batch) throws InterruptedException {
+        while (true) {
+            try {
+                processor.process(new ArrayList<>(batch));
+                return;
+            } catch (RuntimeException ex) {
+                log.error("The batch of {} Client commands couldn't be applied, retrying", batch.size(), ex);
+                TimeUnit.MILLISECONDS.sleep(retryInterval.toMillis());
+            }
+        }
+    }
+}
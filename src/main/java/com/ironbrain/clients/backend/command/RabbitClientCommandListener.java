@@ -0,0 +1,62 @@
+package com.ironbrain.clients.backend.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.model.ClientCommand;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+/**
+ * Receives the commands in batches from a single consumer, which keeps them in publish order.
+ * Unreadable messages are dropped, a failure while applying requeues the whole batch after the
+ * retry interval, so a broken dependency isn't hammered by the same batch in a tight loop.
+ */
+@Slf4j
+public class RabbitClientCommandListener {
+
+    private final ClientCommandProcessor processor;
+    private final ObjectMapper objectMapper;
+    private final Duration retryInterval;
+
+    public RabbitClientCommandListener(ClientCommandProcessor processor, ObjectMapper objectMapper, Duration retryInterval) {
+        this.processor = processor;
+        this.objectMapper = objectMapper;
+        this.retryInterval = retryInterval;
+    }
+
+    @RabbitListener(queues = "${clients.commands.queue}", containerFactory = "clientCommandContainerFactory")
+    public void onCommands(List<Message> messages) {
+        List<ClientCommand> commands = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                commands.add(objectMapper.readValue(message.getBody(), ClientCommand.class));
+            } catch (IOException ex) {
+                log.error("The Client command {} couldn't be read and was dropped", message.getMessageProperties().getMessageId(), ex);
+            }
+        }
+
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        try {
+            processor.process(commands);
+        } catch (RuntimeException ex) {
+            log.warn("The batch of {} Client commands failed, requeued in {}", commands.size(), retryInterval);
+            backOff();
+            throw ex;
+        }
+    }
+
+    private void backOff() {
+        try {
+            Thread.sleep(retryInterval.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
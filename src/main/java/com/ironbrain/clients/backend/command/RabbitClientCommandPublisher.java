@@ -0,0 +1,69 @@
+package com.ironbrain.clients.backend.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.model.ClientCommand;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Publishes every command as a persistent message and waits for the broker to confirm it, so a
+ * 202 is only answered for a command the broker has taken. A nack or a missing confirm fails the
+ * publish and the write is answered with 503.
+ */
+public class RabbitClientCommandPublisher implements ClientCommandPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final String queue;
+    private final Duration confirmTimeout;
+
+    public RabbitClientCommandPublisher(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper, String queue, Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = queue;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    @Override
+    public void publish(ClientCommand command) {
+        Message message;
+        try {
+            message = MessageBuilder.withBody(objectMapper.writeValueAsBytes(command))
+                    .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                    .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                    .setMessageId(command.getTrackingId())
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("The Client command couldn't be written", ex);
+        }
+
+        CorrelationData correlationData = new CorrelationData(command.getTrackingId());
+        rabbitTemplate.send("", queue, message, correlationData);
+        awaitConfirm(correlationData);
+    }
+
+    private void awaitConfirm(CorrelationData correlationData) {
+        CorrelationData.Confirm confirm;
+        try {
+            confirm = correlationData.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted while waiting for the confirm of " + correlationData.getId(), ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new AmqpException("The Client command " + correlationData.getId() + " was not confirmed", ex);
+        }
+        if (!confirm.isAck()) {
+            throw new AmqpException("The Client command " + correlationData.getId() + " was nacked: " + confirm.getReason());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ironbrain.clients.backend.config;
+
+import com.ironbrain.clients.backend.cache.CacheInvalidationListener;
+import com.ironbrain.clients.backend.cache.CacheInvalidationPublisher;
+import com.ironbrain.clients.backend.cache.ClientRedisSerializer;
+import com.ironbrain.clients.backend.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate, ClientProperties clientProperties) {
+        return new CacheInvalidationPublisher(redisTemplate, clientProperties.getCache().getInvalidationChannel());
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                             CacheProperties cacheProperties,
+                                             ClientProperties clientProperties,
+                                             CacheInvalidationPublisher cacheInvalidationPublisher,
+                                             MeterRegistry meterRegistry) {
+        RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new ClientRedisSerializer(clientProperties.getCache().getCodec(), getClass().getClassLoader())));
+        if (cacheProperties.getRedis().getTimeToLive() != null) {
+            redisCacheConfiguration = redisCacheConfiguration.entryTtl(cacheProperties.getRedis().getTimeToLive());
+        }
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(redisCacheConfiguration)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        ClientProperties.Local local = clientProperties.getCache().getLocal();
+        return new TwoLevelCacheManager(
+                redisCacheManager,
+                cacheInvalidationPublisher,
+                meterRegistry,
+                local.getMaximumSize(),
+                local.getExpireAfterWrite());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            TwoLevelCacheManager cacheManager,
+                                                                            CacheInvalidationPublisher cacheInvalidationPublisher,
+                                                                            ClientProperties clientProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                new CacheInvalidationListener(cacheManager, cacheInvalidationPublisher.getNodeId()),
+                new ChannelTopic(clientProperties.getCache().getInvalidationChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,178 @@
+package com.ironbrain.clients.backend.config;
+
+import com.ironbrain.clients.backend.cache.CacheValueCodec;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "clients")
+public class ClientProperties {
+
+    private Batch batch = new Batch();
+    private Pagination pagination = new Pagination();
+    private Cache cache = new Cache();
+    private Security security = new Security();
+    private Reactive reactive = new Reactive();
+    private Commands commands = new Commands();
+    private Outbox outbox = new Outbox();
+    private Search search = new Search();
+    private Uniqueness uniqueness = new Uniqueness();
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        // Keep aligned with spring.jpa.properties.hibernate.jdbc.batch_size
+        private int size = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Pagination {
+
+        // Largest size a cursor page accepts, larger ones are refused with 406
+        private int maxSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        private Local local = new Local();
+        private String invalidationChannel = "clients-cache-invalidation";
+        private CacheValueCodec codec = CacheValueCodec.BINARY;
+        private ResponseBytes responseBytes = new ResponseBytes();
+        private RefreshAhead refreshAhead = new RefreshAhead();
+        private Negative negative = new Negative();
+        private Warmup warmup = new Warmup();
+    }
+
+    @Getter
+    @Setter
+    public static class Warmup {
+
+        private boolean enabled = true;
+        private int maximumClients = 10000;
+        private int chunkSize = 500;
+        private int parallelism = 4;
+        private Duration timeBudget = Duration.ofSeconds(60);
+    }
+
+    @Getter
+    @Setter
+    public static class Negative {
+
+        private boolean enabled = true;
+        private long maximumSize = 100000;
+        private Duration timeToLive = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class RefreshAhead {
+
+        private boolean enabled = true;
+        private double beta = 1.0;
+        private int threads = 2;
+        private int queueSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseBytes {
+
+        private boolean enabled = false;
+        private long maximumSize = 10000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Local {
+
+        private long maximumSize = 10000;
+        private Duration expireAfterWrite = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Security {
+
+        private CredentialsCache credentialsCache = new CredentialsCache();
+        private PasswordHashing passwordHashing = new PasswordHashing();
+    }
+
+    @Getter
+    @Setter
+    public static class CredentialsCache {
+
+        private long maximumSize = 1000;
+        private Duration expireAfterWrite = Duration.ofSeconds(60);
+    }
+
+    @Getter
+    @Setter
+    public static class PasswordHashing {
+
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 64;
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Reactive {
+
+        private boolean enabled = false;
+        private int fetchSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Commands {
+
+        private boolean enabled = false;
+        private String broker = "rabbit";
+        private String queue = "client-commands";
+        private int batchSize = 50;
+        private Duration receiveTimeout = Duration.ofMillis(200);
+        private Duration confirmTimeout = Duration.ofSeconds(5);
+        private int maxAttempts = 5;
+        private Duration retryInterval = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        private boolean enabled = false;
+        private String exchange = "clients.changes";
+        private int batchSize = 100;
+        private Duration pollInterval = Duration.ofMillis(500);
+        private Duration confirmTimeout = Duration.ofSeconds(5);
+        private int maxAttempts = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        private int defaultResults = 10;
+        private int maxResults = 50;
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Uniqueness {
+
+        private long expectedClients = 1_000_000;
+        private double falsePositiveRate = 0.01;
+        private Duration rebuildInterval = Duration.ofHours(1);
+    }
+}
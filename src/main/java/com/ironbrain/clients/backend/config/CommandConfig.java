@@ -0,0 +1,106 @@
+package com.ironbrain.clients.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.command.ClientCommandProcessor;
+import com.ironbrain.clients.backend.command.ClientCommandTracker;
+import com.ironbrain.clients.backend.command.InMemoryClientCommandPublisher;
+import com.ironbrain.clients.backend.command.RabbitClientCommandListener;
+import com.ironbrain.clients.backend.command.RabbitClientCommandPublisher;
+import com.ironbrain.clients.backend.command.ClientCommandPublisher;
+import com.ironbrain.clients.backend.security.ClientPasswordHasher;
+import com.ironbrain.clients.backend.service.ClientCommandService;
+import com.ironbrain.clients.backend.service.ClientService;
+import com.ironbrain.clients.backend.service.impl.ClientCommandServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "clients.commands.enabled", havingValue = "true")
+public class CommandConfig {
+
+    @Bean
+    public ClientCommandTracker clientCommandTracker(CacheManager cacheManager) {
+        return new ClientCommandTracker(cacheManager);
+    }
+
+    @Bean
+    public ClientCommandProcessor clientCommandProcessor(ClientService clientService,
+                                                         ClientCommandTracker clientCommandTracker,
+                                                         MeterRegistry meterRegistry,
+                                                         ClientProperties clientProperties) {
+        return new ClientCommandProcessor(clientService, clientCommandTracker, meterRegistry,
+                clientProperties.getCommands().getMaxAttempts());
+    }
+
+    @Bean
+    public ClientCommandService clientCommandService(ClientCommandPublisher clientCommandPublisher,
+                                                     ClientCommandTracker clientCommandTracker,
+                                                     ClientPasswordHasher clientPasswordHasher) {
+        return new ClientCommandServiceImpl(clientCommandPublisher, clientCommandTracker, clientPasswordHasher);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "clients.commands.broker", havingValue = "rabbit", matchIfMissing = true)
+    static class RabbitCommandConfig {
+
+        @Bean
+        public Queue clientCommandQueue(ClientProperties clientProperties) {
+            return new Queue(clientProperties.getCommands().getQueue(), true);
+        }
+
+        @Bean
+        public ClientCommandPublisher clientCommandPublisher(RabbitTemplate rabbitTemplate,
+                                                             ObjectMapper objectMapper,
+                                                             ClientProperties clientProperties) {
+            ClientProperties.Commands commands = clientProperties.getCommands();
+            return new RabbitClientCommandPublisher(rabbitTemplate, objectMapper, commands.getQueue(), commands.getConfirmTimeout());
+        }
+
+        // A single consumer keeps the commands of a client in publish order
+        @Bean
+        public SimpleRabbitListenerContainerFactory clientCommandContainerFactory(ConnectionFactory connectionFactory,
+                                                                                  ClientProperties clientProperties) {
+            ClientProperties.Commands commands = clientProperties.getCommands();
+            SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+            factory.setConnectionFactory(connectionFactory);
+            factory.setConcurrentConsumers(1);
+            factory.setMaxConcurrentConsumers(1);
+            factory.setPrefetchCount(commands.getBatchSize());
+            factory.setBatchListener(true);
+            factory.setConsumerBatchEnabled(true);
+            factory.setBatchSize(commands.getBatchSize());
+            factory.setReceiveTimeout(commands.getReceiveTimeout().toMillis());
+            // A failed batch goes back to the queue, the processor rejects the commands that used up max-attempts
+            factory.setDefaultRequeueRejected(true);
+            return factory;
+        }
+
+        @Bean
+        public RabbitClientCommandListener rabbitClientCommandListener(ClientCommandProcessor clientCommandProcessor,
+                                                                       ObjectMapper objectMapper,
+                                                                       ClientProperties clientProperties) {
+            return new RabbitClientCommandListener(clientCommandProcessor, objectMapper,
+                    clientProperties.getCommands().getRetryInterval());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "clients.commands.broker", havingValue = "in-memory")
+    static class InMemoryCommandConfig {
+
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        public InMemoryClientCommandPublisher clientCommandPublisher(ClientCommandProcessor clientCommandProcessor,
+                                                                     ClientProperties clientProperties) {
+            ClientProperties.Commands commands = clientProperties.getCommands();
+            return new InMemoryClientCommandPublisher(clientCommandProcessor, commands.getBatchSize(),
+                    commands.getReceiveTimeout(), commands.getRetryInterval());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ironbrain.clients.backend.config;
+
+import com.ironbrain.clients.backend.outbox.ClientOutboxRelay;
+import com.ironbrain.clients.backend.repository.ClientOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Configuration
+@ConditionalOnProperty(name = "clients.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public TopicExchange clientChangesExchange(ClientProperties clientProperties) {
+        return new TopicExchange(clientProperties.getOutbox().getExchange(), true, false);
+    }
+
+    @Bean
+    public ClientOutboxRelay clientOutboxRelay(ClientOutboxRepository clientOutboxRepository,
+                                               TransactionOperations transactionOperations,
+                                               RabbitTemplate rabbitTemplate,
+                                               ClientProperties clientProperties,
+                                               MeterRegistry meterRegistry) {
+        return new ClientOutboxRelay(clientOutboxRepository, transactionOperations, rabbitTemplate,
+                clientProperties.getOutbox(), meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ironbrain.clients.backend.config;
+
+import com.ironbrain.clients.backend.cache.ClientRedisSerializer;
+import com.ironbrain.clients.backend.reactive.ReactiveClientCache;
+import com.ironbrain.clients.backend.reactive.ReactiveClientRepository;
+import com.ironbrain.clients.backend.reactive.ReactiveClientService;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+@ConditionalOnProperty(name = "clients.reactive.enabled", havingValue = "true")
+@EnableConfigurationProperties(CacheProperties.class)
+public class ReactiveConfig {
+
+    @Bean
+    public ReactiveRedisTemplate<String, Object> clientReactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                             ClientProperties clientProperties) {
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(StringRedisSerializer.UTF_8)
+                .value(new ClientRedisSerializer(clientProperties.getCache().getCodec(), getClass().getClassLoader()))
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    @Bean
+    public ReactiveClientService reactiveClientService(DatabaseClient databaseClient,
+                                                       ReactiveRedisTemplate<String, Object> clientReactiveRedisTemplate,
+                                                       CacheProperties cacheProperties,
+                                                       ClientProperties clientProperties) {
+        return new ReactiveClientService(
+                new ReactiveClientRepository(databaseClient, clientProperties.getReactive().getFetchSize()),
+                new ReactiveClientCache(clientReactiveRedisTemplate, cacheProperties.getRedis().getTimeToLive()));
+    }
+}
@@ -1,14 +1,19 @@
 package com.ironbrain.clients.backend.config;
 
+import com.ironbrain.clients.backend.security.CachingAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 
 @Configuration
 @EnableWebSecurity
@@ -20,13 +25,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Value("${spring.security.user.password}")
     private String password;
 
+    private final ClientProperties clientProperties;
+    private final MeterRegistry meterRegistry;
+
+    public SecurityConfig(ClientProperties clientProperties, MeterRegistry meterRegistry) {
+        this.clientProperties = clientProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth
-                .inMemoryAuthentication()
-                .withUser(username)
-                .password(passwordEncoder().encode(password))
-                .roles("ADMIN");
+        auth.authenticationProvider(cachingAuthenticationProvider());
     }
 
     @Override
@@ -35,7 +44,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .csrf()
                 .disable()
                 .authorizeRequests()
-                .antMatchers("/client/*")
+                .antMatchers("/client/*", "/client/commands/**", "/reactive/client/**")
                 .hasRole("ADMIN")
                 .and()
                 .httpBasic();
@@ -45,4 +54,24 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    @Bean
+    public InMemoryUserDetailsManager userDetailsManager() {
+        return new InMemoryUserDetailsManager(User
+                .withUsername(username)
+                .password(passwordEncoder().encode(password))
+                .roles("ADMIN")
+                .build());
+    }
+
+    @Bean
+    public CachingAuthenticationProvider cachingAuthenticationProvider() {
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider();
+        delegate.setUserDetailsService(userDetailsManager());
+        delegate.setPasswordEncoder(passwordEncoder());
+
+        ClientProperties.CredentialsCache credentialsCache = clientProperties.getSecurity().getCredentialsCache();
+        return new CachingAuthenticationProvider(delegate, userDetailsManager(), credentialsCache.getMaximumSize(),
+                credentialsCache.getExpireAfterWrite(), meterRegistry);
+    }
 }
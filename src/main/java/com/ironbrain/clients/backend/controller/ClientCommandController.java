@@ -0,0 +1,154 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.dto.ClientCommandResponse;
+import com.ironbrain.clients.backend.dto.ClientRequest;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientCommandStatus;
+import com.ironbrain.clients.backend.service.ClientCommandService;
+import com.ironbrain.clients.backend.validation.ClientRequestValidator;
+import io.micrometer.core.annotation.Timed;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import java.net.URI;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Asynchronous writes: the request is validated, queued and answered with 202 and a tracking id,
+ * the change is applied later in a batch. The Location header points to the command status.
+ * Errors are answered by the {@link ClientExceptionHandler}.
+ */
+@CrossOrigin(origins = "http://localhost:4200/", maxAge = 3600)
+@RestController
+@RequestMapping(path = "/client/commands")
+@ConditionalOnProperty(name = "clients.commands.enabled", havingValue = "true")
+@AllArgsConstructor
+public class ClientCommandController {
+
+    private ClientCommandService clientCommandService;
+    private ClientRequestValidator clientRequestValidator;
+
+    @Timed(value = "client.commands.save")
+    @ApiOperation(value = "Queue a Client to be saved")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Client was accepted and will be saved", code = 202),
+            @ApiResponse(message = "The Client information was validated and has errors", code = 406),
+            @ApiResponse(message = "The command queue is not available, try again later", code = 503)
+    })
+    @PostMapping(path = "/save", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> save(@RequestBody ClientRequest clientRequest) {
+        List<String> errors = clientRequestValidator.validatePostAndPutRequest(clientRequest);
+        if (!errors.isEmpty()) {
+            return ClientExceptionHandler.getValidationFailed(errors);
+        }
+
+        return getAccepted(clientCommandService.save(getClient(clientRequest, null)));
+    }
+
+    @Timed(value = "client.commands.updateById")
+    @ApiOperation(value = "Queue a Client to be updated by Id")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Client was accepted and will be updated", code = 202),
+            @ApiResponse(message = "The Client information was validated and has errors", code = 406),
+            @ApiResponse(message = "The If-Match ETag doesn't belong to this Client", code = 412),
+            @ApiResponse(message = "The command queue is not available, try again later", code = 503)
+    })
+    @PutMapping(path = "/update/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> updateById(@RequestBody ClientRequest clientRequest, @PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        List<String> errors = clientRequestValidator.validatePostAndPutRequest(clientRequest);
+        if (!errors.isEmpty()) {
+            return ClientExceptionHandler.getValidationFailed(errors);
+        }
+        Long expectedVersion = ClientETag.getExpectedVersion(ifMatch, id);
+
+        return getAccepted(clientCommandService.updateById(getClient(clientRequest, expectedVersion), id));
+    }
+
+    @Timed(value = "client.commands.activateAndDeactivateById")
+    @ApiOperation(value = "Queue a Client to be activated/deactivated")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Client was accepted and will be activated/deactivated", code = 202),
+            @ApiResponse(message = "The command queue is not available, try again later", code = 503)
+    })
+    @PutMapping(path = "/toggle/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClientCommandResponse> activateAndDeactivateById(@PathVariable Long id) {
+        return getAccepted(clientCommandService.activateAndDeactivateClientById(id));
+    }
+
+    @Timed(value = "client.commands.deleteById")
+    @ApiOperation(value = "Queue a Client to be deleted by Id")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Client was accepted and will be deleted", code = 202),
+            @ApiResponse(message = "The command queue is not available, try again later", code = 503)
+    })
+    @DeleteMapping(path = "/delete/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClientCommandResponse> deleteById(@PathVariable Long id) {
+        return getAccepted(clientCommandService.deleteById(id));
+    }
+
+    @ApiOperation(value = "Find the status of a queued Client command")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The command is PENDING, APPLIED or REJECTED", code = 200),
+            @ApiResponse(message = "The command is unknown or its status expired", code = 404)
+    })
+    @GetMapping(path = "/status/{trackingId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClientCommandResponse> findStatus(@PathVariable String trackingId) {
+        return clientCommandService.findStatus(trackingId)
+                .map(status -> ResponseEntity.ok(getClientCommandResponse(status)))
+                .orElseGet(() -> getResponseEntity(
+                        String.format("The Client command %1s is unknown or expired", trackingId), HttpStatus.NOT_FOUND));
+    }
+
+    private ResponseEntity<ClientCommandResponse> getAccepted(ClientCommandStatus status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/client/commands/status/" + status.getTrackingId()))
+                .body(getClientCommandResponse(status));
+    }
+
+    private ResponseEntity<ClientCommandResponse> getResponseEntity(String messageError, HttpStatus httpStatus) {
+        return new ResponseEntity<>(
+                ClientCommandResponse.builder()
+                        .message(messageError)
+                        .build(),
+                httpStatus);
+    }
+
+    private ClientCommandResponse getClientCommandResponse(ClientCommandStatus status) {
+        return ClientCommandResponse.builder()
+                .trackingId(status.getTrackingId())
+                .state(status.getState().name())
+                .clientId(status.getClientId())
+                .message(status.getMessage())
+                .build();
+    }
+
+    private Client getClient(ClientRequest clientRequest, Long expectedVersion) {
+        return Client.builder()
+                .firstName(clientRequest.getFirstName())
+                .middleName(clientRequest.getMiddleName())
+                .lastName(clientRequest.getLastName())
+                .email(clientRequest.getEmail())
+                .username(clientRequest.getUsername())
+                .password(clientRequest.getPassword())
+                .isActive(clientRequest.getIsActive())
+                .version(expectedVersion)
+                .build();
+    }
+}
@@ -1,35 +1,51 @@
 package com.ironbrain.clients.backend.controller;
 
+import com.ironbrain.clients.backend.cache.ClientResponseCache;
+import com.ironbrain.clients.backend.dto.BatchClientResponse;
+import com.ironbrain.clients.backend.dto.BatchClientResponseItem;
 import com.ironbrain.clients.backend.dto.ClientRequest;
 import com.ironbrain.clients.backend.dto.ClientResponse;
-import com.ironbrain.clients.backend.dto.ClientResponseBody;
 import com.ironbrain.clients.backend.dto.ListClientResponse;
-import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.export.ClientExportFormat;
+import com.ironbrain.clients.backend.export.ClientExportWriter;
 import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientBatchResult;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
 import com.ironbrain.clients.backend.service.ClientService;
 import com.ironbrain.clients.backend.validation.ClientRequestValidator;
 import io.micrometer.core.annotation.Timed;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 import javax.websocket.server.PathParam;
 import lombok.AllArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @CrossOrigin(origins = "http://localhost:4200/", maxAge = 3600)
 @RestController
@@ -39,6 +55,7 @@ public class ClientController {
 
     private ClientService clientService;
     private ClientRequestValidator clientRequestValidator;
+    private ClientResponseCache clientResponseCache;
 
     @Timed(value = "client.save")
     @ApiOperation(value = "Save Client")
@@ -50,31 +67,28 @@ public class ClientController {
     })
     @PostMapping(path = "/", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ClientResponse> save(@RequestBody ClientRequest clientRequest) {
-        try {
-
-            clientRequestValidator.validatePostAndPutRequest(clientRequest);
-
-            Client clientResult = clientService.save(
-                    Client.builder()
-                            .firstName(clientRequest.getFirstName())
-                            .middleName(clientRequest.getMiddleName())
-                            .lastName(clientRequest.getLastName())
-                            .email(clientRequest.getEmail())
-                            .username(clientRequest.getUsername())
-                            .password(clientRequest.getPassword())
-                            .build()
-            );
-
-            return new ResponseEntity<>(
-                    ClientResponse.builder()
-                            .body(getClientResponseBody(clientResult))
-                            .message("Client saved successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
-
-        } catch (RuntimeException ex) {
-            return returnException(ex);
+        List<String> errors = clientRequestValidator.validatePostAndPutRequest(clientRequest);
+        if (!errors.isEmpty()) {
+            return ClientExceptionHandler.getValidationFailed(errors);
         }
+
+        Client clientResult = clientService.save(
+                Client.builder()
+                        .firstName(clientRequest.getFirstName())
+                        .middleName(clientRequest.getMiddleName())
+                        .lastName(clientRequest.getLastName())
+                        .email(clientRequest.getEmail())
+                        .username(clientRequest.getUsername())
+                        .password(clientRequest.getPassword())
+                        .build()
+        );
+
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .body(clientResult)
+                        .message("Client saved successfully !!!")
+                        .build(),
+                HttpStatus.OK);
     }
 
     @Timed(value = "client.updateById")
@@ -83,59 +97,152 @@ public class ClientController {
             @ApiResponse(message = "The Client was updated successfully", code = 200),
             @ApiResponse(message = "The Client already exists on the DB", code = 404),
             @ApiResponse(message = "The Client information was validated and has errors", code = 406),
+            @ApiResponse(message = "The Client changed since the If-Match ETag", code = 412),
             @ApiResponse(message = "Something happened on the server, try again", code = 500)
     })
     @PutMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ClientResponse> updateById(@RequestBody ClientRequest clientRequest, @PathVariable Long id) {
-        try {
-
-            clientRequestValidator.validatePostAndPutRequest(clientRequest);
-
-            Client clientResult = clientService.updateById(
-                    Client.builder()
-                            .firstName(clientRequest.getFirstName())
-                            .middleName(clientRequest.getMiddleName())
-                            .lastName(clientRequest.getLastName())
-                            .email(clientRequest.getEmail())
-                            .username(clientRequest.getUsername())
-                            .password(clientRequest.getPassword())
-                            .isActive(clientRequest.getIsActive())
-                            .build(), id
-            );
-
-            return new ResponseEntity<>(
-                    ClientResponse.builder()
-                            .body(getClientResponseBody(clientResult))
-                            .message("Client updated successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
-
-        } catch (RuntimeException ex) {
-            return returnException(ex);
+    public ResponseEntity<ClientResponse> updateById(@RequestBody ClientRequest clientRequest, @PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        List<String> errors = clientRequestValidator.validatePostAndPutRequest(clientRequest);
+        if (!errors.isEmpty()) {
+            return ClientExceptionHandler.getValidationFailed(errors);
+        }
+        Long expectedVersion = ClientETag.getExpectedVersion(ifMatch, id);
+
+        Client clientResult = clientService.updateById(
+                Client.builder()
+                        .firstName(clientRequest.getFirstName())
+                        .middleName(clientRequest.getMiddleName())
+                        .lastName(clientRequest.getLastName())
+                        .email(clientRequest.getEmail())
+                        .username(clientRequest.getUsername())
+                        .password(clientRequest.getPassword())
+                        .isActive(clientRequest.getIsActive())
+                        .version(expectedVersion)
+                        .build(), id
+        );
+
+        return ResponseEntity.ok()
+                .eTag(ClientETag.of(clientResult))
+                .body(ClientResponse.builder()
+                        .body(clientResult)
+                        .message("Client updated successfully !!!")
+                        .build());
+    }
+
+    @Timed(value = "client.patchById")
+    @ApiOperation(value = "Update only the supplied fields of a Client by Id")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Client was updated successfully", code = 200),
+            @ApiResponse(message = "The Email or Username already exists on the DB", code = 400),
+            @ApiResponse(message = "The Client doesn't exists on the DB", code = 404),
+            @ApiResponse(message = "The Client information was validated and has errors", code = 406),
+            @ApiResponse(message = "The Client changed since the If-Match ETag", code = 412),
+            @ApiResponse(message = "Something happened on the server, try again", code = 500)
+    })
+    @PatchMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClientResponse> patchById(@RequestBody ClientRequest clientRequest, @PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        List<String> errors = clientRequestValidator.validatePatchRequest(clientRequest);
+        if (!errors.isEmpty()) {
+            return ClientExceptionHandler.getValidationFailed(errors);
         }
+
+        Client changes = getClient(clientRequest);
+        changes.setIsActive(clientRequest.getIsActive());
+        changes.setVersion(ClientETag.getExpectedVersion(ifMatch, id));
+        Client clientResult = clientService.patchById(changes, id);
+
+        return ResponseEntity.ok()
+                .eTag(ClientETag.of(clientResult))
+                .body(ClientResponse.builder()
+                        .body(clientResult)
+                        .message("Client updated successfully !!!")
+                        .build());
+    }
+
+    @Timed(value = "client.saveAll")
+    @ApiOperation(value = "Save Clients in Batch")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The batch was processed, every item carries its own status", code = 200),
+            @ApiResponse(message = "The batch is empty", code = 406),
+            @ApiResponse(message = "Something happened on the server, try again", code = 500)
+    })
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchClientResponse> saveAll(@RequestBody List<ClientRequest> clientRequests) {
+        return processBatch(clientRequests, false);
+    }
+
+    @Timed(value = "client.updateAll")
+    @ApiOperation(value = "Update Clients in Batch")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The batch was processed, every item carries its own status", code = 200),
+            @ApiResponse(message = "The batch is empty", code = 406),
+            @ApiResponse(message = "Something happened on the server, try again", code = 500)
+    })
+    @PutMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchClientResponse> updateAll(@RequestBody List<ClientRequest> clientRequests) {
+        return processBatch(clientRequests, true);
     }
 
     @Timed(value = "client.findById")
     @ApiOperation(value = "Find Client by Id")
     @ApiResponses(value = {
             @ApiResponse(message = "The Client was founded successfully", code = 200),
+            @ApiResponse(message = "The Client didn't change since the If-None-Match ETag", code = 304),
             @ApiResponse(message = "The Client doesn't exists on the DB", code = 404),
             @ApiResponse(message = "Something happened on the server, try again", code = 500)
     })
     @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ClientResponse> findById(@PathVariable Long id) {
-
-        try {
-            Client clientResult = clientService.findById(id);
-            return  new ResponseEntity<>(
-                    ClientResponse.builder()
-                            .body(getClientResponseBody(clientResult))
-                            .message("Client founded successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
-        } catch (NotFoundException ex) {
-            return returnException(ex);
+    public ResponseEntity<?> findById(@PathVariable Long id,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (ifNoneMatch != null || clientResponseCache.isEnabled()) {
+            Optional<Long> cachedVersion = clientService.findCachedVersion(id);
+            if (cachedVersion.isPresent()) {
+                String cachedETag = ClientETag.of(id, cachedVersion.get());
+                if (ClientETag.matchesNoneMatch(ifNoneMatch, cachedETag)) {
+                    return getNotModified(cachedETag);
+                }
+
+                Optional<byte[]> cachedBytes = clientResponseCache.get(id, cachedVersion.get());
+                if (cachedBytes.isPresent()) {
+                    return getJsonBytes(cachedETag, cachedBytes.get());
+                }
+            }
         }
+
+        Client clientResult = clientService.findById(id);
+        String eTag = ClientETag.of(clientResult);
+        if (ClientETag.matchesNoneMatch(ifNoneMatch, eTag)) {
+            return getNotModified(eTag);
+        }
+
+        ClientResponse clientResponse = ClientResponse.builder()
+                .body(clientResult)
+                .message("Client founded successfully !!!")
+                .build();
+        Optional<byte[]> bytes = clientResponseCache.put(clientResult.getId(), clientResult.getVersion(), clientResponse);
+        if (bytes.isPresent()) {
+            return getJsonBytes(eTag, bytes.get());
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(clientResponse);
+    }
+
+    @Timed(value = "client.existsById")
+    @ApiOperation(value = "Check if a Client exists by Id")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Client exists", code = 200),
+            @ApiResponse(message = "The Client doesn't exists on the DB", code = 404)
+    })
+    @RequestMapping(path = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> existsById(@PathVariable Long id) {
+        return clientService.existsById(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
     }
 
     @Timed(value = "client.findByUsernameAndPassword")
@@ -144,25 +251,24 @@ public class ClientController {
             @ApiResponse(message = "The Client was founded successfully", code = 200),
             @ApiResponse(message = "The Client wasn't founded on the DB", code = 404),
             @ApiResponse(message = "The Client information was validated and has errors", code = 406),
-            @ApiResponse(message = "Something happened on the server, try again", code = 500)
+            @ApiResponse(message = "Something happened on the server, try again", code = 500),
+            @ApiResponse(message = "Too many logins are being verified, try again later", code = 503)
     })
     @PostMapping(path = "/findByUsernameAndPassword", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ClientResponse> findByUsernameAndPassword(@RequestBody ClientRequest clientRequest) {
-        try {
-
-            clientRequestValidator.validateUsernameAndPasswordRequest(clientRequest);
+        List<String> errors = clientRequestValidator.validateUsernameAndPasswordRequest(clientRequest);
+        if (!errors.isEmpty()) {
+            return ClientExceptionHandler.getValidationFailed(errors);
+        }
 
-            Client clientResult = clientService.findByUsernameAndPassword(clientRequest.getUsername(), clientRequest.getPassword());
+        Client clientResult = clientService.findByUsernameAndPassword(clientRequest.getUsername(), clientRequest.getPassword());
 
-            return new ResponseEntity<>(
-                    ClientResponse.builder()
-                            .body(getClientResponseBody(clientResult))
-                            .message("Client founded successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
-            } catch (RuntimeException ex) {
-            return returnException(ex);
-        }
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .body(clientResult)
+                        .message("Client founded successfully !!!")
+                        .build(),
+                HttpStatus.OK);
     }
 
     @Timed(value = "client.activateAndDeactivateById")
@@ -174,72 +280,146 @@ public class ClientController {
     })
     @PutMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ClientResponse> activateAndDeactivateById(@PathVariable Long id) {
-        try {
-
-            Client clientResult = clientService.activateAndDeactivateClientById(id);
-
-            String status = clientResult.getIsActive() ? "activated" : "deactivated";
+        Client clientResult = clientService.activateAndDeactivateClientById(id);
 
-            return new ResponseEntity<>(
-                    ClientResponse.builder()
-                            .body(getClientResponseBody(clientResult))
-                            .message("Client " + status + " successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
+        String status = clientResult.getIsActive() ? "activated" : "deactivated";
 
-        } catch (RuntimeException ex) {
-            return returnException(ex);
-        }
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .body(clientResult)
+                        .message("Client " + status + " successfully !!!")
+                        .build(),
+                HttpStatus.OK);
     }
 
     @Timed(value = "client.findAll")
     @ApiOperation(value = "Find All Clients")
     @ApiResponses(value = {
             @ApiResponse(message = "The Clients were founded successfully", code = 200),
-            @ApiResponse(message = "The Clients were empty on the DB", code = 404)
+            @ApiResponse(message = "The Clients were empty on the DB", code = 404),
+            @ApiResponse(message = "The fields are not valid", code = 406)
     })
     @GetMapping(value = "/", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ListClientResponse> findAll() {
-
-        try {
-            List<Client> clientsResult = clientService.findAll();
-
-            return new ResponseEntity<>(
-                    ListClientResponse.builder()
-                            .body( clientsResult.stream().map(
-                                    this::getClientResponseBody
-                            ).collect(Collectors.toList()))
-                            .message("Clients founded successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
-        } catch (RuntimeException ex) {
-            return returnListException(ex);
-        }
+    public ResponseEntity<ListClientResponse> findAll(@RequestParam(value = "fields", required = false) String fields) {
+
+        Set<ClientField> clientFields = ClientField.fromNames(fields);
+        List<Client> clientsResult = clientService.findAll(clientFields);
+
+        return new ResponseEntity<>(
+                ListClientResponse.builder()
+                        .body(clientsResult)
+                        .message("Clients founded successfully !!!")
+                        .fields(clientFields)
+                        .build(),
+                HttpStatus.OK);
     }
 
     @Timed(value = "client.findAll.paged")
     @ApiOperation(value = "Find All Client with Paged")
     @ApiResponses(value = {
             @ApiResponse(message = "The Clients were founded successfully", code = 200),
-            @ApiResponse(message = "The Clients were empty on the DB", code = 404)
+            @ApiResponse(message = "The Clients were empty on the DB", code = 404),
+            @ApiResponse(message = "The fields are not valid", code = 406)
     })
     @GetMapping(value = "/paged", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ListClientResponse> findAllPaged(@PathParam(value = "page") int page, @PathParam(value = "size") int size) {
-
-        try {
-            Page<Client> clientsResult = clientService.findAllPaged(page, size);
-
-            return new ResponseEntity<>(
-                    ListClientResponse.builder()
-                            .body( clientsResult.stream().map(
-                                    this::getClientResponseBody
-                            ).collect(Collectors.toList()))
-                            .message("Clients founded successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
-        } catch (RuntimeException ex) {
-            return returnListException(ex);
+    public ResponseEntity<ListClientResponse> findAllPaged(@PathParam(value = "page") int page, @PathParam(value = "size") int size,
+                                                           @RequestParam(value = "fields", required = false) String fields,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        Set<ClientField> clientFields = ClientField.fromNames(fields);
+        Page<Client> clientsResult = clientService.findAllPaged(page, size, clientFields);
+        String eTag = ClientETag.of(clientsResult.getContent(), clientFields);
+        if (ClientETag.matchesNoneMatch(ifNoneMatch, eTag)) {
+            return getNotModified(eTag);
         }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(ListClientResponse.builder()
+                        .body(clientsResult.getContent())
+                        .message("Clients founded successfully !!!")
+                        .fields(clientFields)
+                        .build());
+    }
+
+    @Timed(value = "client.findAll.sliced")
+    @ApiOperation(value = "Find All Clients with Cursor, used when no page is given")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Clients were founded successfully", code = 200),
+            @ApiResponse(message = "The Clients were empty on the DB", code = 404),
+            @ApiResponse(message = "The cursor, sort key, size or fields are not valid", code = 406)
+    })
+    @GetMapping(value = "/paged", params = "!page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ListClientResponse> findAllSliced(@RequestParam(value = "after", required = false) String after,
+                                                            @RequestParam(value = "sort", defaultValue = "id") String sort,
+                                                            @RequestParam(value = "size", defaultValue = "20") int size,
+                                                            @RequestParam(value = "fields", required = false) String fields,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        ClientCursor cursor = after == null ? null : ClientCursor.decode(after);
+        ClientSortKey sortKey = cursor == null ? ClientSortKey.fromKey(sort) : cursor.getSortKey();
+        Set<ClientField> clientFields = ClientField.fromNames(fields);
+
+        Slice<Client> clientsResult = clientService.findAllSliced(cursor, sortKey, size, clientFields);
+        List<Client> clients = clientsResult.getContent();
+        String eTag = ClientETag.of(clients, sortKey, clientsResult.hasNext(), clientFields);
+        if (ClientETag.matchesNoneMatch(ifNoneMatch, eTag)) {
+            return getNotModified(eTag);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(ListClientResponse.builder()
+                        .body(clients)
+                        .message("Clients founded successfully !!!")
+                        .hasNext(clientsResult.hasNext())
+                        .next(clientsResult.hasNext() ? ClientCursor.of(sortKey, clients.get(clients.size() - 1)).encode() : null)
+                        .fields(clientFields)
+                        .build());
+    }
+
+    @Timed(value = "client.search")
+    @ApiOperation(value = "Search Clients by name, email or username as the user types")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The best matches, possibly none, were returned", code = 200),
+            @ApiResponse(message = "The query, limit or fields are not valid", code = 406)
+    })
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ListClientResponse> search(@RequestParam(value = "q", required = false) String query,
+                                                     @RequestParam(value = "limit", required = false) Integer limit,
+                                                     @RequestParam(value = "fields", required = false) String fields) {
+
+        Set<ClientField> clientFields = ClientField.fromNames(fields);
+        List<Client> clientsResult = clientService.search(query, limit);
+
+        return new ResponseEntity<>(
+                ListClientResponse.builder()
+                        .body(clientsResult)
+                        .message("Clients founded successfully !!!")
+                        .fields(clientFields)
+                        .build(),
+                HttpStatus.OK);
+    }
+
+    @Timed(value = "client.export")
+    @ApiOperation(value = "Export All Clients as NDJSON or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Clients are streamed in the requested format", code = 200),
+            @ApiResponse(message = "The requested format isn't supported", code = 406)
+    })
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+
+        return ClientExportFormat.fromExtension(format)
+                .map(exportFormat -> ResponseEntity.ok()
+                        .contentType(exportFormat.getMediaType())
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=clients." + exportFormat.getExtension())
+                        .body((StreamingResponseBody) outputStream -> {
+                            try (ClientExportWriter writer = new ClientExportWriter(outputStream, exportFormat)) {
+                                clientService.exportAll(writer::write);
+                            }
+                        }))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build());
     }
 
     @Timed(value = "client.deleteById")
@@ -251,81 +431,111 @@ public class ClientController {
     })
     @DeleteMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ClientResponse> deleteById(@PathVariable Long id) {
-        try {
+        clientService.deleteById(id);
 
-            clientService.deleteById(id);
-
-            return new ResponseEntity<>(
-                    ClientResponse.builder()
-                            .message("Client deleted successfully !!!")
-                            .build(),
-                    HttpStatus.OK);
-
-        } catch (RuntimeException ex) {
-            return returnException(ex);
-        }
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .message("Client deleted successfully !!!")
+                        .build(),
+                HttpStatus.OK);
     }
 
-    private ResponseEntity<ClientResponse> returnException(RuntimeException ex) {
-        String messageError = ex.getLocalizedMessage();
-
-        if (ex instanceof DataIntegrityViolationException) {
+    private ResponseEntity<BatchClientResponse> processBatch(List<ClientRequest> clientRequests, boolean update) {
+        if (clientRequests == null || clientRequests.isEmpty()) {
+            return getBatchResponseEntity("The list of clients can't be empty", HttpStatus.NOT_ACCEPTABLE);
+        }
 
-            String value;
+        List<BatchClientResponseItem> items = new ArrayList<>(Collections.nCopies(clientRequests.size(), null));
+        List<Client> clients = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int index = 0; index < clientRequests.size(); index++) {
+            ClientRequest clientRequest = clientRequests.get(index);
+            List<String> errors = update
+                    ? clientRequestValidator.validateBatchPutRequest(clientRequest)
+                    : clientRequestValidator.validatePostAndPutRequest(clientRequest);
+            if (!errors.isEmpty()) {
+                items.set(index, getBatchItem(index, HttpStatus.NOT_ACCEPTABLE, String.join(", ", errors), null));
+                continue;
+            }
 
-            if (ex.getLocalizedMessage().contains("EMAIL")) {
-                value = "Email";
-            } else {
-                value = "Username";
+            Client client = getClient(clientRequest);
+            if (update) {
+                client.setId(clientRequest.getId());
             }
-            messageError = String.format("Already exists this %1s in the System !!!", value);
+            clients.add(client);
+            positions.add(index);
+        }
 
-            return getResponseEntity(messageError, HttpStatus.BAD_REQUEST);
-        } else if (ex instanceof IllegalArgumentException) {
-            return getResponseEntity(messageError, HttpStatus.NOT_ACCEPTABLE);
-        } else if (ex instanceof NotFoundException) {
-            return getResponseEntity(messageError, HttpStatus.NOT_FOUND);
+        if (!clients.isEmpty()) {
+            List<ClientBatchResult> results = update ? clientService.updateAll(clients) : clientService.saveAll(clients);
+            for (ClientBatchResult result : results) {
+                int position = positions.get(result.getIndex());
+                items.set(position, getBatchItem(position, getBatchItemStatus(result), result.getMessage(), result.getClient()));
+            }
         }
 
-        return getResponseEntity(messageError, HttpStatus.INTERNAL_SERVER_ERROR);
-    }
+        long failed = items.stream().filter(item -> item.getStatus() != HttpStatus.OK.value()).count();
 
-    private ResponseEntity<ListClientResponse> returnListException(RuntimeException ex) {
-        String messageError = ex.getLocalizedMessage();
+        return new ResponseEntity<>(
+                BatchClientResponse.builder()
+                        .body(items)
+                        .message(String.format("Clients processed: %1d succeeded, %2d failed !!!", items.size() - failed, failed))
+                        .build(),
+                HttpStatus.OK);
+    }
 
-        if (ex instanceof NotFoundException) {
-            return getListResponseEntity(messageError, HttpStatus.NOT_FOUND);
+    private HttpStatus getBatchItemStatus(ClientBatchResult result) {
+        switch (result.getStatus()) {
+            case SAVED:
+            case UPDATED:
+                return HttpStatus.OK;
+            case DUPLICATED:
+            case INVALID:
+                return HttpStatus.BAD_REQUEST;
+            case NOT_FOUND:
+                return HttpStatus.NOT_FOUND;
+            default:
+                return HttpStatus.INTERNAL_SERVER_ERROR;
         }
+    }
 
-        return getListResponseEntity(messageError, HttpStatus.INTERNAL_SERVER_ERROR);
+    private BatchClientResponseItem getBatchItem(int index, HttpStatus httpStatus, String message, Client client) {
+        return BatchClientResponseItem.builder()
+                .index(index)
+                .status(httpStatus.value())
+                .message(message)
+                .body(client)
+                .build();
     }
 
-    private ResponseEntity<ClientResponse> getResponseEntity(String messageError, HttpStatus httpStatus) {
+    private ResponseEntity<BatchClientResponse> getBatchResponseEntity(String messageError, HttpStatus httpStatus) {
         return new ResponseEntity<>(
-                ClientResponse.builder()
+                BatchClientResponse.builder()
                         .message(messageError)
                         .build(),
                 httpStatus);
     }
 
-    private ResponseEntity<ListClientResponse> getListResponseEntity(String messageError, HttpStatus httpStatus) {
-        return new ResponseEntity<>(
-                ListClientResponse.builder()
-                        .message(messageError)
-                        .build(),
-                httpStatus);
+    private ResponseEntity<byte[]> getJsonBytes(String eTag, byte[] bytes) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bytes);
+    }
+
+    private <T> ResponseEntity<T> getNotModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
     }
 
-    private ClientResponseBody getClientResponseBody(Client  client) {
-        return ClientResponseBody.builder()
-                .id(client.getId())
-                .firstName(client.getFirstName())
-                .middleName(client.getMiddleName())
-                .lastName(client.getLastName())
-                .email(client.getEmail())
-                .username(client.getUsername())
-                .password(client.getPassword())
-                .isActive(client.getIsActive())
+    private Client getClient(ClientRequest clientRequest) {
+        return Client.builder()
+                .firstName(clientRequest.getFirstName())
+                .middleName(clientRequest.getMiddleName())
+                .lastName(clientRequest.getLastName())
+                .email(clientRequest.getEmail())
+                .username(clientRequest.getUsername())
+                .password(clientRequest.getPassword())
                 .build();
     }
 }
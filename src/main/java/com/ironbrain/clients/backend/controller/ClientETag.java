@@ -0,0 +1,79 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.model.Client;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Strong ETags for client representations. A single client is tagged with its id and optimistic
+ * lock version, a list with a digest of the ids and versions it holds.
+ */
+final class ClientETag {
+
+    private static final String anyTag = "*";
+    private static final String weakPrefix = "W/";
+
+    private ClientETag() {
+    }
+
+    static String of(Client client) {
+        return of(client.getId(), client.getVersion());
+    }
+
+    static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(Collection<Client> clients, Object... qualifiers) {
+        StringBuilder content = new StringBuilder(clients.size() * 16);
+        for (Client client : clients) {
+            content.append(client.getId()).append(':').append(client.getVersion()).append(';');
+        }
+        for (Object qualifier : qualifiers) {
+            content.append(qualifier).append(';');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // If-None-Match uses the weak comparison
+    static boolean matchesNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith(weakPrefix)) {
+                value = value.substring(weakPrefix.length());
+            }
+            if (anyTag.equals(value) || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version the client must still have for an If-Match to hold, null when there is no
+     * precondition or it is "*". Weak or foreign tags can never match, they fail straight away.
+     */
+    static Long getExpectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || anyTag.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith(prefix) && value.endsWith("\"") && value.length() > prefix.length() + 1) {
+                try {
+                    return Long.valueOf(value.substring(prefix.length(), value.length() - 1));
+                } catch (NumberFormatException ex) {
+                    break;
+                }
+            }
+        }
+        throw new PreconditionFailedException(String.format("The Client with the Id = %1d was modified by someone else !!!", id));
+    }
+}
@@ -0,0 +1,88 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
+import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns what the {@link ClientController} and the {@link ClientCommandController} throw into their
+ * error responses. Spring picks the handler by exception type once and caches it, so the controller
+ * methods carry no try/catch. An error is written as a ClientResponse, its JSON is the same as the
+ * ListClientResponse, BatchClientResponse and ClientCommandResponse of the other endpoints since
+ * only the message is set.
+ */
+@Slf4j
+@RestControllerAdvice(assignableTypes = {ClientController.class, ClientCommandController.class})
+public class ClientExceptionHandler {
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ClientResponse> handleNotFound(NotFoundException ex) {
+        return getResponseEntity(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ClientResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return getResponseEntity(ex.getMessage(), HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    @ExceptionHandler(DuplicateClientException.class)
+    public ResponseEntity<ClientResponse> handleDuplicate(DuplicateClientException ex) {
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .message(ex.getMessage())
+                        .field(ex.getField())
+                        .build(),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    // The services turn a taken username or email into a DuplicateClientException, what is left has no field to name
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ClientResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        log.warn("The Client breaks a data constraint: {}", ex.getMostSpecificCause().getMessage());
+        return getResponseEntity("The Client breaks a constraint of the stored data !!!", HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ClientResponse> handlePreconditionFailed(RuntimeException ex) {
+        return getResponseEntity(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ClientResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return getResponseEntity(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ClientResponse> handleRuntime(RuntimeException ex) {
+        log.error("The Client request failed", ex);
+        return getResponseEntity(ex.getLocalizedMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // Validation errors come back from the ClientRequestValidator as a value, not thrown
+    static ResponseEntity<ClientResponse> getValidationFailed(List<String> errors) {
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .message(String.join(", ", errors))
+                        .errors(errors)
+                        .build(),
+                HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    private ResponseEntity<ClientResponse> getResponseEntity(String messageError, HttpStatus httpStatus) {
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .message(messageError)
+                        .build(),
+                httpStatus);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.dto.ListClientResponse;
+import com.ironbrain.clients.backend.reactive.ReactiveClientService;
+import io.micrometer.core.annotation.Timed;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads with the same response contract as ClientController. The Mono and Flux
+ * results are completed on async servlet requests, so no Tomcat thread waits on the database
+ * or on Redis while they are in flight.
+ */
+@CrossOrigin(origins = "http://localhost:4200/", maxAge = 3600)
+@RestController
+@RequestMapping(path = "/reactive/client")
+@ConditionalOnProperty(name = "clients.reactive.enabled", havingValue = "true")
+@AllArgsConstructor
+public class ReactiveClientController {
+
+    private static final String emptyListMsg = "The list of clients is empty";
+
+    private final ReactiveClientService reactiveClientService;
+
+    @Timed(value = "client.reactive.findById")
+    @ApiOperation(value = "Find Client by Id without blocking")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Client was founded successfully", code = 200),
+            @ApiResponse(message = "The Client didn't change since the If-None-Match ETag", code = 304),
+            @ApiResponse(message = "The Client doesn't exists on the DB", code = 404),
+            @ApiResponse(message = "Something happened on the server, try again", code = 500)
+    })
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ClientResponse>> findById(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return reactiveClientService.findById(id)
+                .map(clientResult -> {
+                    String eTag = ClientETag.of(clientResult);
+                    if (ClientETag.matchesNoneMatch(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<ClientResponse>build();
+                    }
+
+                    return ResponseEntity.ok()
+                            .eTag(eTag)
+                            .body(ClientResponse.builder()
+                                    .body(clientResult)
+                                    .message("Client founded successfully !!!")
+                                    .build());
+                })
+                .defaultIfEmpty(getResponseEntity(
+                        String.format("The Client with the Id = %1d does not exist !!!", id), HttpStatus.NOT_FOUND))
+                .onErrorResume(RuntimeException.class, ex ->
+                        Mono.just(getResponseEntity(ex.getLocalizedMessage(), HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @Timed(value = "client.reactive.findAll.paged")
+    @ApiOperation(value = "Find All Client with Paged without blocking")
+    @ApiResponses(value = {
+            @ApiResponse(message = "The Clients were founded successfully", code = 200),
+            @ApiResponse(message = "The Clients were empty on the DB", code = 404),
+            @ApiResponse(message = "The page or size are not valid", code = 406)
+    })
+    @GetMapping(value = "/paged", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ListClientResponse>> findAllPaged(@RequestParam(value = "page", defaultValue = "0") int page,
+                                                                 @RequestParam(value = "size", defaultValue = "20") int size,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return reactiveClientService.findAllPaged(page, size)
+                .collectList()
+                .map(clientsResult -> {
+                    if (clientsResult.isEmpty()) {
+                        return getListResponseEntity(emptyListMsg, HttpStatus.NOT_FOUND);
+                    }
+
+                    String eTag = ClientETag.of(clientsResult);
+                    if (ClientETag.matchesNoneMatch(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<ListClientResponse>build();
+                    }
+
+                    return ResponseEntity.ok()
+                            .eTag(eTag)
+                            .body(ListClientResponse.builder()
+                                    .body(clientsResult)
+                                    .message("Clients founded successfully !!!")
+                                    .build());
+                })
+                .onErrorResume(RuntimeException.class, ex -> Mono.just(getListResponseEntity(ex.getLocalizedMessage(),
+                        ex instanceof IllegalArgumentException ? HttpStatus.NOT_ACCEPTABLE : HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    // Every line is a ClientResponse, written straight from the Client like the other endpoints
+    @ApiOperation(value = "Stream All Clients as newline delimited JSON, written as fast as the reader consumes them")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ClientResponse> streamAll() {
+        return reactiveClientService.streamAll()
+                .map(client -> ClientResponse.builder()
+                        .body(client)
+                        .message("Client founded successfully !!!")
+                        .build());
+    }
+
+    private ResponseEntity<ClientResponse> getResponseEntity(String messageError, HttpStatus httpStatus) {
+        return new ResponseEntity<>(
+                ClientResponse.builder()
+                        .message(messageError)
+                        .build(),
+                httpStatus);
+    }
+
+    private ResponseEntity<ListClientResponse> getListResponseEntity(String messageError, HttpStatus httpStatus) {
+        return new ResponseEntity<>(
+                ListClientResponse.builder()
+                        .message(messageError)
+                        .build(),
+                httpStatus);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ironbrain.clients.backend.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class BatchClientResponse {
+
+    private List<BatchClientResponseItem> body;
+
+    private String message;
+
+}
@@ -0,0 +1,20 @@
+package com.ironbrain.clients.backend.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ironbrain.clients.backend.model.Client;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class BatchClientResponseItem {
+
+    private int index;
+    private int status;
+    private String message;
+    @ApiModelProperty(dataType = "com.ironbrain.clients.backend.dto.ClientResponseBody")
+    @JsonSerialize(using = ClientJsonSerializer.Body.class)
+    private Client body;
+
+}
@@ -0,0 +1,22 @@
+package com.ironbrain.clients.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class ClientCommandResponse {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String trackingId;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String state;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long clientId;
+
+    private String message;
+
+}
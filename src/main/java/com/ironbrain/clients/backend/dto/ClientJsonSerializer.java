@@ -0,0 +1,148 @@
+package com.ironbrain.clients.backend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientField;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the responses straight from the Client entities to the generator, without copying each
+ * one into a ClientResponseBody first or mapping a list into another list. The output is the
+ * one the bean serializer gave for the DTOs: same names, same order, nulls written except for
+ * the NON_NULL fields, and the ClientResponseBody fields only, never the dates or the version.
+ * A list response can narrow the body to the fields it was asked for.
+ */
+public final class ClientJsonSerializer {
+
+    private ClientJsonSerializer() {
+    }
+
+    private static void writeClient(Client client, Set<ClientField> fields, JsonGenerator generator) throws IOException {
+        if (client == null) {
+            generator.writeNull();
+            return;
+        }
+
+        generator.writeStartObject();
+        if (fields == null || fields.contains(ClientField.ID)) {
+            writeLong(generator, "id", client.getId());
+        }
+        if (fields == null || fields.contains(ClientField.FIRST_NAME)) {
+            generator.writeStringField("firstName", client.getFirstName());
+        }
+        if (fields == null || fields.contains(ClientField.MIDDLE_NAME)) {
+            generator.writeStringField("middleName", client.getMiddleName());
+        }
+        if (fields == null || fields.contains(ClientField.LAST_NAME)) {
+            generator.writeStringField("lastName", client.getLastName());
+        }
+        if (fields == null || fields.contains(ClientField.EMAIL)) {
+            generator.writeStringField("email", client.getEmail());
+        }
+        if (fields == null || fields.contains(ClientField.USERNAME)) {
+            generator.writeStringField("username", client.getUsername());
+        }
+        if (fields == null || fields.contains(ClientField.PASSWORD)) {
+            generator.writeStringField("password", client.getPassword());
+        }
+        if (fields == null || fields.contains(ClientField.IS_ACTIVE)) {
+            writeBoolean(generator, "isActive", client.getIsActive());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeClients(List<Client> clients, Set<ClientField> fields, JsonGenerator generator) throws IOException {
+        if (clients == null) {
+            generator.writeNull();
+            return;
+        }
+
+        generator.writeStartArray();
+        for (Client client : clients) {
+            writeClient(client, fields, generator);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeLong(JsonGenerator generator, String name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator generator, String name, Boolean value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(value);
+        }
+    }
+
+    public static class Body extends StdSerializer<Client> {
+
+        public Body() {
+            super(Client.class);
+        }
+
+        @Override
+        public void serialize(Client client, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeClient(client, null, generator);
+        }
+    }
+
+    public static class Response extends StdSerializer<ClientResponse> {
+
+        public Response() {
+            super(ClientResponse.class);
+        }
+
+        @Override
+        public void serialize(ClientResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName("body");
+            writeClient(response.getBody(), null, generator);
+            generator.writeStringField("message", response.getMessage());
+            if (response.getField() != null) {
+                generator.writeStringField("field", response.getField());
+            }
+            if (response.getErrors() != null) {
+                generator.writeArrayFieldStart("errors");
+                for (String error : response.getErrors()) {
+                    generator.writeString(error);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    public static class ListResponse extends StdSerializer<ListClientResponse> {
+
+        public ListResponse() {
+            super(ListClientResponse.class);
+        }
+
+        @Override
+        public void serialize(ListClientResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName("body");
+            writeClients(response.getBody(), response.getFields(), generator);
+            generator.writeStringField("message", response.getMessage());
+            if (response.getHasNext() != null) {
+                writeBoolean(generator, "hasNext", response.getHasNext());
+            }
+            if (response.getNext() != null) {
+                generator.writeStringField("next", response.getNext());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
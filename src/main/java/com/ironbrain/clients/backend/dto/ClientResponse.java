@@ -1,15 +1,28 @@
 package com.ironbrain.clients.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ironbrain.clients.backend.model.Client;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
 
 @Builder
 @Getter
+@JsonSerialize(using = ClientJsonSerializer.Response.class)
 public class ClientResponse {
 
-    private ClientResponseBody body;
+    @ApiModelProperty(dataType = "com.ironbrain.clients.backend.dto.ClientResponseBody")
+    private Client body;
 
     private String message;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String field;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> errors;
+
 }
 
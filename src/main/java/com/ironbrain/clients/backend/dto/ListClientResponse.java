@@ -1,15 +1,33 @@
 package com.ironbrain.clients.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientField;
+import io.swagger.annotations.ApiModelProperty;
 import java.util.List;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 
 @Builder
 @Getter
+@JsonSerialize(using = ClientJsonSerializer.ListResponse.class)
 public class ListClientResponse {
 
-    private List<ClientResponseBody> body;
+    @ApiModelProperty(dataType = "List[com.ironbrain.clients.backend.dto.ClientResponseBody]")
+    private List<Client> body;
 
     private String message;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+
+    // The Client fields written in the body, all of them when null
+    @ApiModelProperty(hidden = true)
+    private Set<ClientField> fields;
+
 }
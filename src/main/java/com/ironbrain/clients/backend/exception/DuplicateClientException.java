@@ -0,0 +1,19 @@
+package com.ironbrain.clients.backend.exception;
+
+/**
+ * A username or email that another Client already holds, answered with 400 and the taken field.
+ * Like NotFoundException it is an expected outcome and carries no stack trace.
+ */
+public class DuplicateClientException extends RuntimeException {
+
+    private final String field;
+
+    public DuplicateClientException(String field, String errorMessage) {
+        super(errorMessage, null, false, false);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -1,8 +1,12 @@
 package com.ironbrain.clients.backend.exception;
 
+/**
+ * A lookup that found nothing, the usual cause of a 404. It is an expected outcome rather than a
+ * fault, so it carries no stack trace and an instance with a fixed message can be thrown again.
+ */
 public class NotFoundException extends RuntimeException {
 
     public NotFoundException(String errorMessage) {
-        super(errorMessage);
+        super(errorMessage, null, false, false);
     }
 }
@@ -0,0 +1,12 @@
+package com.ironbrain.clients.backend.exception;
+
+/**
+ * A write whose expected version no longer matches the stored Client, answered with 412. It is an
+ * expected outcome of optimistic locking, so it carries no stack trace.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String errorMessage) {
+        super(errorMessage, null, false, false);
+    }
+}
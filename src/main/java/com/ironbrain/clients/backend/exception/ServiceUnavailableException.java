@@ -0,0 +1,8 @@
+package com.ironbrain.clients.backend.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String errorMessage) {
+        super(errorMessage);
+    }
+}
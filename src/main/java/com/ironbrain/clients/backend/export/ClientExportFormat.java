@@ -0,0 +1,24 @@
+package com.ironbrain.clients.backend.export;
+
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+@AllArgsConstructor
+public enum ClientExportFormat {
+
+    NDJSON("ndjson", new MediaType("application", "x-ndjson")),
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    public static Optional<ClientExportFormat> fromExtension(String extension) {
+        return Arrays.stream(values())
+                .filter(format -> format.getExtension().equalsIgnoreCase(extension))
+                .findFirst();
+    }
+}
@@ -0,0 +1,107 @@
+package com.ironbrain.clients.backend.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ironbrain.clients.backend.model.Client;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class ClientExportWriter implements Closeable {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final String csvHeader = "id,firstName,middleName,lastName,email,username,isActive\n";
+
+    private final ClientExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator generator;
+
+    public ClientExportWriter(OutputStream outputStream, ClientExportFormat format) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.generator = jsonFactory.createGenerator(writer);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+
+        if (format == ClientExportFormat.CSV) {
+            writer.write(csvHeader);
+        }
+    }
+
+    public void write(Client client) {
+        try {
+            if (format == ClientExportFormat.CSV) {
+                writeCsv(client);
+            } else {
+                writeJson(client);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        writer.flush();
+    }
+
+    private void writeJson(Client client) throws IOException {
+        generator.writeStartObject();
+        if (client.getId() == null) {
+            generator.writeNullField("id");
+        } else {
+            generator.writeNumberField("id", client.getId());
+        }
+        generator.writeStringField("firstName", client.getFirstName());
+        generator.writeStringField("middleName", client.getMiddleName());
+        generator.writeStringField("lastName", client.getLastName());
+        generator.writeStringField("email", client.getEmail());
+        generator.writeStringField("username", client.getUsername());
+        generator.writeFieldName("isActive");
+        if (client.getIsActive() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(client.getIsActive());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsv(Client client) throws IOException {
+        writeCsvValue(client.getId() == null ? null : client.getId().toString());
+        writer.write(',');
+        writeCsvValue(client.getFirstName());
+        writer.write(',');
+        writeCsvValue(client.getMiddleName());
+        writer.write(',');
+        writeCsvValue(client.getLastName());
+        writer.write(',');
+        writeCsvValue(client.getEmail());
+        writer.write(',');
+        writeCsvValue(client.getUsername());
+        writer.write(',');
+        writeCsvValue(client.getIsActive() == null ? null : client.getIsActive().toString());
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -8,9 +8,11 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.PrePersist;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Version;
 import java.util.Date;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,8 +20,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Table(name = "clients")
 @Builder
 @Getter
@@ -30,7 +34,8 @@ import lombok.ToString;
 public class Client implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_id_generator")
+    @SequenceGenerator(name = "clients_id_generator", sequenceName = "clients_id_seq", allocationSize = 50)
     @Column(name = "id_client", nullable = false, updatable = false)
     private Long id;
 
@@ -67,6 +72,10 @@ public class Client implements Serializable {
     @Column(name = "updated_at")
     private Date updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     private void prePersist() {
         this.isActive = true;
@@ -0,0 +1,14 @@
+package com.ironbrain.clients.backend.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class ClientBatchResult {
+
+    private int index;
+    private Client client;
+    private ClientBatchStatus status;
+    private String message;
+}
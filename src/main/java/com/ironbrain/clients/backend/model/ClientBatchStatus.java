@@ -0,0 +1,10 @@
+package com.ironbrain.clients.backend.model;
+
+public enum ClientBatchStatus {
+    SAVED,
+    UPDATED,
+    DUPLICATED,
+    NOT_FOUND,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.ironbrain.clients.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientCommand {
+
+    private String trackingId;
+    private ClientCommandType type;
+    private Long clientId;
+    // The requested values for save and update, the version is the one expected by If-Match
+    private Client client;
+    private long acceptedAt;
+}
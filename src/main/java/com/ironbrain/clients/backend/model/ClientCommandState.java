@@ -0,0 +1,7 @@
+package com.ironbrain.clients.backend.model;
+
+public enum ClientCommandState {
+    PENDING,
+    APPLIED,
+    REJECTED
+}
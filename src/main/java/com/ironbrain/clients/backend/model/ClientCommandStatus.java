@@ -0,0 +1,21 @@
+package com.ironbrain.clients.backend.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class ClientCommandStatus implements Serializable {
+
+    private String trackingId;
+    private ClientCommandType type;
+    private ClientCommandState state;
+    private Long clientId;
+    private String message;
+    private Date acceptedAt;
+    private Date completedAt;
+    // Deliveries that failed for something other than a business outcome
+    private int attempts;
+}
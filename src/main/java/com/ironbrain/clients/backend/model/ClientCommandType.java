@@ -0,0 +1,8 @@
+package com.ironbrain.clients.backend.model;
+
+public enum ClientCommandType {
+    SAVE,
+    UPDATE,
+    TOGGLE,
+    DELETE
+}
@@ -0,0 +1,49 @@
+package com.ironbrain.clients.backend.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The Client fields a list response can be narrowed to with <code>?fields=</code>. The name is
+ * both the JSON name and the entity attribute, the setter fills a Client from a selected column.
+ */
+@Getter
+@AllArgsConstructor
+public enum ClientField {
+
+    ID("id", (client, value) -> client.setId((Long) value)),
+    FIRST_NAME("firstName", (client, value) -> client.setFirstName((String) value)),
+    MIDDLE_NAME("middleName", (client, value) -> client.setMiddleName((String) value)),
+    LAST_NAME("lastName", (client, value) -> client.setLastName((String) value)),
+    EMAIL("email", (client, value) -> client.setEmail((String) value)),
+    USERNAME("username", (client, value) -> client.setUsername((String) value)),
+    PASSWORD("password", (client, value) -> client.setPassword((String) value)),
+    IS_ACTIVE("isActive", (client, value) -> client.setIsActive((Boolean) value));
+
+    private final String name;
+    private final BiConsumer<Client, Object> setter;
+
+    public static ClientField fromName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("The field %1s isn't supported", name)));
+    }
+
+    // A comma separated list, every field when it is missing or blank
+    public static Set<ClientField> fromNames(String names) {
+        if (names == null || names.isBlank()) {
+            return EnumSet.allOf(ClientField.class);
+        }
+
+        Set<ClientField> fields = EnumSet.noneOf(ClientField.class);
+        for (String name : names.split(",")) {
+            fields.add(fromName(name.trim()));
+        }
+        return fields;
+    }
+}
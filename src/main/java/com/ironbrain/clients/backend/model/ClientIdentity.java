@@ -0,0 +1,8 @@
+package com.ironbrain.clients.backend.model;
+
+public interface ClientIdentity {
+
+    String getUsername();
+
+    String getEmail();
+}
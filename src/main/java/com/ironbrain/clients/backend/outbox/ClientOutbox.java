@@ -0,0 +1,92 @@
+package com.ironbrain.clients.backend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientChangeType;
+import com.ironbrain.clients.backend.model.ClientOutboxEvent;
+import com.ironbrain.clients.backend.repository.ClientOutboxRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Appends the change events in the transaction of the write that caused them, so an event exists
+ * if and only if its change was committed. The payload carries the version, never the password.
+ */
+@Component
+public class ClientOutbox {
+
+    private final ClientOutboxRepository clientOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public ClientOutbox(ClientOutboxRepository clientOutboxRepository, ObjectMapper objectMapper, ClientProperties clientProperties) {
+        this.clientOutboxRepository = clientOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = clientProperties.getOutbox().isEnabled();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ClientChangeType type, Client client) {
+        if (enabled) {
+            clientOutboxRepository.save(getEvent(type, client.getId(), getPayload(type, client)));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(ClientChangeType type, Collection<Client> clients) {
+        if (enabled && !clients.isEmpty()) {
+            List<ClientOutboxEvent> events = new ArrayList<>(clients.size());
+            clients.forEach(client -> events.add(getEvent(type, client.getId(), getPayload(type, client))));
+            clientOutboxRepository.saveAll(events);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDeleted(Long id) {
+        if (enabled) {
+            ObjectNode payload = objectMapper.createObjectNode()
+                    .put("type", ClientChangeType.DELETED.name())
+                    .put("id", id);
+            clientOutboxRepository.save(getEvent(ClientChangeType.DELETED, id, write(payload)));
+        }
+    }
+
+    private ClientOutboxEvent getEvent(ClientChangeType type, Long clientId, String payload) {
+        return ClientOutboxEvent.builder()
+                .clientId(clientId)
+                .type(type)
+                .payload(payload)
+                .createdAt(new Date())
+                .build();
+    }
+
+    private String getPayload(ClientChangeType type, Client client) {
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("type", type.name())
+                .put("id", client.getId())
+                .put("version", client.getVersion())
+                .put("firstName", client.getFirstName())
+                .put("middleName", client.getMiddleName())
+                .put("lastName", client.getLastName())
+                .put("email", client.getEmail())
+                .put("username", client.getUsername())
+                .put("isActive", client.getIsActive());
+        return write(payload);
+    }
+
+    private String write(ObjectNode payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("The Client change event couldn't be written", ex);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.ironbrain.clients.backend.outbox;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.ClientOutboxEvent;
+import com.ironbrain.clients.backend.repository.ClientOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Drains the outbox in id order and publishes every event with a publisher confirm, removing it
+ * only once the broker acknowledged it. A batch is sent in waves holding at most one event per
+ * client, each wave is confirmed before the next one goes out, and a client whose event failed
+ * gets nothing more from that batch, so the events of a client always arrive in commit order.
+ * Failed events are retried on the next run until max-attempts, then they stay parked in the table.
+ */
+@Slf4j
+public class ClientOutboxRelay {
+
+    private final ClientOutboxRepository clientOutboxRepository;
+    private final TransactionOperations transactionOperations;
+    private final RabbitTemplate rabbitTemplate;
+    private final ClientProperties.Outbox outbox;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+    private final Counter parked;
+    private final Timer batchTimer;
+
+    public ClientOutboxRelay(ClientOutboxRepository clientOutboxRepository,
+                             TransactionOperations transactionOperations,
+                             RabbitTemplate rabbitTemplate,
+                             ClientProperties.Outbox outbox,
+                             MeterRegistry meterRegistry) {
+        this.clientOutboxRepository = clientOutboxRepository;
+        this.transactionOperations = transactionOperations;
+        this.rabbitTemplate = rabbitTemplate;
+        this.outbox = outbox;
+        this.published = Counter.builder("client.outbox.published")
+                .description("Change events confirmed by the broker")
+                .register(meterRegistry);
+        this.failed = Counter.builder("client.outbox.failed")
+                .description("Change event publications that were not confirmed")
+                .register(meterRegistry);
+        this.parked = Counter.builder("client.outbox.parked")
+                .description("Change events that ran out of attempts")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("client.outbox.relay")
+                .description("Time to relay one batch of change events")
+                .register(meterRegistry);
+        Gauge.builder("client.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest change event still waiting to be relayed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // @Scheduled reads the raw property, not the bound Duration, so the default is repeated here
+    @Scheduled(fixedDelayString = "${clients.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        int confirmed;
+        do {
+            confirmed = batchTimer.record(() -> transactionOperations.execute(status -> relayBatch()));
+        } while (confirmed == outbox.getBatchSize());
+
+        lagMillis.set(clientOutboxRepository.findOldestCreatedAt(outbox.getMaxAttempts())
+                .map(oldest -> Math.max(0, System.currentTimeMillis() - oldest.getTime()))
+                .orElse(0L));
+    }
+
+    private int relayBatch() {
+        List<ClientOutboxEvent> events = clientOutboxRepository.findNextBatch(outbox.getMaxAttempts(),
+                PageRequest.of(0, outbox.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> confirmed = new ArrayList<>();
+        List<Long> unconfirmed = new ArrayList<>();
+        Set<Long> blockedClients = new HashSet<>();
+
+        for (List<ClientOutboxEvent> wave : getWaves(events)) {
+            Map<ClientOutboxEvent, CorrelationData> sent = new LinkedHashMap<>();
+            for (ClientOutboxEvent event : wave) {
+                if (blockedClients.contains(event.getClientId())) {
+                    continue;
+                }
+                CorrelationData correlationData = new CorrelationData(String.valueOf(event.getId()));
+                try {
+                    rabbitTemplate.send(outbox.getExchange(), getRoutingKey(event), getMessage(event), correlationData);
+                    sent.put(event, correlationData);
+                } catch (AmqpException ex) {
+                    log.warn("The change event {} couldn't be sent: {}", event.getId(), ex.getLocalizedMessage());
+                    fail(event, unconfirmed, blockedClients);
+                }
+            }
+
+            long deadline = System.nanoTime() + outbox.getConfirmTimeout().toNanos();
+            for (Map.Entry<ClientOutboxEvent, CorrelationData> entry : sent.entrySet()) {
+                if (isConfirmed(entry.getValue(), deadline)) {
+                    confirmed.add(entry.getKey().getId());
+                } else {
+                    fail(entry.getKey(), unconfirmed, blockedClients);
+                }
+            }
+        }
+
+        if (!confirmed.isEmpty()) {
+            clientOutboxRepository.deleteByIds(confirmed);
+            published.increment(confirmed.size());
+        }
+        if (!unconfirmed.isEmpty()) {
+            clientOutboxRepository.incrementAttempts(unconfirmed);
+            failed.increment(unconfirmed.size());
+        }
+
+        log.debug("Relayed {} change events, {} were not confirmed", confirmed.size(), unconfirmed.size());
+        return confirmed.size();
+    }
+
+    // The n-th wave holds the n-th pending event of every client in the batch
+    private List<List<ClientOutboxEvent>> getWaves(List<ClientOutboxEvent> events) {
+        List<List<ClientOutboxEvent>> waves = new ArrayList<>();
+        Map<Long, Integer> seen = new HashMap<>();
+        for (ClientOutboxEvent event : events) {
+            int wave = seen.merge(event.getClientId(), 1, Integer::sum) - 1;
+            if (wave == waves.size()) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(wave).add(event);
+        }
+        return waves;
+    }
+
+    private void fail(ClientOutboxEvent event, List<Long> unconfirmed, Set<Long> blockedClients) {
+        unconfirmed.add(event.getId());
+        blockedClients.add(event.getClientId());
+        if (event.getAttempts() + 1 >= outbox.getMaxAttempts()) {
+            parked.increment();
+            log.error("The change event {} of the Client with Id = {} ran out of attempts and was parked",
+                    event.getId(), event.getClientId());
+        }
+    }
+
+    private boolean isConfirmed(CorrelationData correlationData, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlationData.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return confirm.isAck();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException ex) {
+            return false;
+        }
+    }
+
+    private String getRoutingKey(ClientOutboxEvent event) {
+        return "client." + event.getType().name().toLowerCase();
+    }
+
+    private Message getMessage(ClientOutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(String.valueOf(event.getId()))
+                .setTimestamp(event.getCreatedAt())
+                .setHeader("client-id", event.getClientId())
+                .build();
+    }
+}
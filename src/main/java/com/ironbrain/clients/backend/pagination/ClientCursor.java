@@ -0,0 +1,39 @@
+package com.ironbrain.clients.backend.pagination;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ClientCursor {
+
+    private static final String invalidCursorMsg = "The cursor is not valid";
+
+    private final ClientSortKey sortKey;
+    private final Long id;
+    private final String value;
+
+    public static ClientCursor of(ClientSortKey sortKey, Client client) {
+        return new ClientCursor(sortKey, client.getId(), sortKey.getValue().apply(client));
+    }
+
+    public String encode() {
+        String raw = sortKey.getKey() + ":" + id + ":" + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ClientCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(invalidCursorMsg);
+            }
+            return new ClientCursor(ClientSortKey.fromKey(parts[0]), Long.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(invalidCursorMsg, ex);
+        }
+    }
+}
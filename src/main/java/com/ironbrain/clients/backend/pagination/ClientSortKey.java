@@ -0,0 +1,30 @@
+package com.ironbrain.clients.backend.pagination;
+
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientField;
+import java.util.Arrays;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+@Getter
+@AllArgsConstructor
+public enum ClientSortKey {
+
+    ID("id", ClientField.ID, Sort.by("id"), client -> null),
+    USERNAME("username", ClientField.USERNAME, Sort.by("username", "id"), Client::getUsername),
+    EMAIL("email", ClientField.EMAIL, Sort.by("email", "id"), Client::getEmail);
+
+    private final String key;
+    private final ClientField field;
+    private final Sort sort;
+    private final Function<Client, String> value;
+
+    public static ClientSortKey fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(sortKey -> sortKey.getKey().equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("The sort key %1s isn't supported", key)));
+    }
+}
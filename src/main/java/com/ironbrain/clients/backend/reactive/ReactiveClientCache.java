@@ -0,0 +1,50 @@
+package com.ironbrain.clients.backend.reactive;
+
+import com.ironbrain.clients.backend.cache.ClientCache;
+import com.ironbrain.clients.backend.model.Client;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads and fills the same Redis entries the RedisCacheManager writes, the keys follow its
+ * default "cacheName::key" prefix and the values go through the same ClientRedisSerializer.
+ * Only the primary entry is written, the username alias is left to the blocking side.
+ */
+@Slf4j
+public class ReactiveClientCache {
+
+    private static final String clientsKeyPrefix = ClientCache.clientsCacheName + "::";
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final Duration timeToLive;
+
+    public ReactiveClientCache(ReactiveRedisTemplate<String, Object> redisTemplate, Duration timeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.timeToLive = timeToLive;
+    }
+
+    // A broken or unreachable cache is a miss, the database still answers
+    public Mono<Client> getById(Long id) {
+        return redisTemplate.opsForValue().get(clientsKeyPrefix + id)
+                .ofType(Client.class)
+                .onErrorResume(RuntimeException.class, ex -> {
+                    log.warn("The cached Client with the Id = {} couldn't be read: {}", id, ex.getLocalizedMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // A miss fill, SET NX so a row a write cached while this one was loaded isn't overwritten
+    public Mono<Boolean> putIfAbsent(Client client) {
+        String key = clientsKeyPrefix + client.getId();
+        Mono<Boolean> set = timeToLive == null || timeToLive.isZero()
+                ? redisTemplate.opsForValue().setIfAbsent(key, client)
+                : redisTemplate.opsForValue().setIfAbsent(key, client, timeToLive);
+
+        return set.onErrorResume(RuntimeException.class, ex -> {
+            log.warn("The Client with the Id = {} couldn't be cached: {}", client.getId(), ex.getLocalizedMessage());
+            return Mono.just(false);
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.ironbrain.clients.backend.reactive;
+
+import com.ironbrain.clients.backend.model.Client;
+import io.r2dbc.spi.Row;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the clients table over R2DBC with explicit SQL, the rows are mapped by hand so the
+ * JPA entity stays a plain value here and nothing is lazily loaded.
+ */
+public class ReactiveClientRepository {
+
+    private static final String columns = "id_client, first_name, midlle_name, last_name, email, username, password, "
+            + "is_active, created_at, updated_at, version";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveClientRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<Client> findById(Long id) {
+        return databaseClient.sql("SELECT " + columns + " FROM clients WHERE id_client = :id")
+                .bind("id", id)
+                .map((row, metadata) -> getClient(row))
+                .one();
+    }
+
+    public Flux<Client> findPage(int page, int size) {
+        return databaseClient.sql("SELECT " + columns + " FROM clients ORDER BY id_client LIMIT :size OFFSET :offset")
+                .bind("size", size)
+                .bind("offset", (long) page * size)
+                .map((row, metadata) -> getClient(row))
+                .all();
+    }
+
+    // The driver pulls fetchSize rows per round trip, so a slow reader holds back the query instead of the heap
+    public Flux<Client> streamAll() {
+        return databaseClient.sql("SELECT " + columns + " FROM clients ORDER BY id_client")
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, metadata) -> getClient(row))
+                .all()
+                .limitRate(fetchSize);
+    }
+
+    private Client getClient(Row row) {
+        return Client.builder()
+                .id(row.get("id_client", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .middleName(row.get("midlle_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .username(row.get("username", String.class))
+                .password(row.get("password", String.class))
+                .isActive(row.get("is_active", Boolean.class))
+                .createdAt(getDate(row.get("created_at", LocalDate.class)))
+                .updatedAt(getDate(row.get("updated_at", LocalDate.class)))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private Date getDate(LocalDate date) {
+        return date == null ? null : Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,30 @@
+package com.ironbrain.clients.backend.reactive;
+
+import com.ironbrain.clients.backend.model.Client;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+public class ReactiveClientService {
+
+    private final ReactiveClientRepository repository;
+    private final ReactiveClientCache clientCache;
+
+    public Mono<Client> findById(Long id) {
+        return clientCache.getById(id)
+                .switchIfEmpty(Mono.defer(() -> repository.findById(id)
+                        .flatMap(client -> clientCache.putIfAbsent(client).thenReturn(client))));
+    }
+
+    public Flux<Client> findAllPaged(int page, int size) {
+        if (page < 0 || size < 1) {
+            return Flux.error(new IllegalArgumentException("The page must be 0 or more and the size 1 or more"));
+        }
+        return repository.findPage(page, size);
+    }
+
+    public Flux<Client> streamAll() {
+        return repository.streamAll();
+    }
+}
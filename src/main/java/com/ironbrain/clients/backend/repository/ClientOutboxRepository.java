@@ -0,0 +1,35 @@
+package com.ironbrain.clients.backend.repository;
+
+import com.ironbrain.clients.backend.model.ClientOutboxEvent;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientOutboxRepository extends JpaRepository<ClientOutboxEvent, Long> {
+
+    // Locked so relays on other nodes wait instead of publishing the same events out of order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from ClientOutboxEvent e where e.attempts < :maxAttempts order by e.id")
+    List<ClientOutboxEvent> findNextBatch(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    @Query("select min(e.createdAt) from ClientOutboxEvent e where e.attempts < :maxAttempts")
+    Optional<Date> findOldestCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("delete from ClientOutboxEvent e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update ClientOutboxEvent e set e.attempts = e.attempts + 1 where e.id in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+}
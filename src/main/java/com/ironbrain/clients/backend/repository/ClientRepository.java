@@ -1,13 +1,64 @@
 package com.ironbrain.clients.backend.repository;
 
 import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientIdentity;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientRepositoryCustom {
 
-    Optional<Client> findClientByUsernameAndPassword(String username, String password);
+    Optional<Client> findByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Client c where c.id = :id")
+    int deleteClientById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Client c set c.password = :password, c.version = c.version + 1 where c.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Locks the row so the username read is still the one the following UPDATE replaces
+    @Query(value = "SELECT username FROM clients WHERE id_client = :id FOR UPDATE", nativeQuery = true)
+    Optional<String> findUsernameByIdForUpdate(@Param("id") Long id);
+
+    boolean existsByUsername(String username);
+
+    boolean existsByUsernameAndIdNot(String username, Long id);
+
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    List<Client> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails);
+
+    @Query("select c.id from Client c order by c.updatedAt desc, c.id desc")
+    List<Long> findRecentlyUpdatedIds(Pageable pageable);
+
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select c from Client c order by c.id")
+    Stream<Client> streamAll();
+
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select c.username as username, c.email as email from Client c")
+    Stream<ClientIdentity> streamIdentities();
 
 }
@@ -0,0 +1,28 @@
+package com.ironbrain.clients.backend.repository;
+
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface ClientRepositoryCustom {
+
+    Optional<Client> toggleActive(Long id);
+
+    // A non null version on the changes is the expected current version
+    Optional<Client> patch(Long id, Client changes);
+
+    // The projections hand back detached Clients holding the given fields, the id and the version only
+    List<Client> findAllProjected(Set<ClientField> fields);
+
+    Page<Client> findAllProjected(Set<ClientField> fields, Pageable pageable);
+
+    // The first slice when after is null, the sort column is always selected to build the next cursor
+    Slice<Client> findNextProjected(Set<ClientField> fields, ClientSortKey sortKey, ClientCursor after, int size);
+}
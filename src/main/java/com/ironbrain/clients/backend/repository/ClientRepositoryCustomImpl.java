@@ -0,0 +1,191 @@
+package com.ironbrain.clients.backend.repository;
+
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Single-statement writes that hand back the row as written, so the caller never reads it
+ * before or after the UPDATE. PostgreSQL uses UPDATE ... RETURNING, H2 (load tests) has no
+ * RETURNING and gets the same rows through SELECT * FROM FINAL TABLE (UPDATE ...).
+ * The list reads select only the columns asked for as tuples and build detached Clients from
+ * them, nothing is put in the persistence context or snapshotted for dirty checking.
+ */
+public class ClientRepositoryCustomImpl implements ClientRepositoryCustom {
+
+    private static final String postgresProductName = "PostgreSQL";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean returningSupported;
+
+    @Transactional
+    @Override
+    public Optional<Client> toggleActive(Long id) {
+        String update = "UPDATE clients SET is_active = NOT COALESCE(is_active, FALSE), updated_at = CURRENT_DATE,"
+                + " version = version + 1 WHERE id_client = :id";
+
+        return getSingleResult(createReturningQuery(update).setParameter("id", id));
+    }
+
+    @Transactional
+    @Override
+    public Optional<Client> patch(Long id, Client changes) {
+        Map<String, Object> columns = getSuppliedColumns(changes);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be supplied");
+        }
+
+        String assignments = columns.keySet().stream()
+                .map(column -> column + " = :" + column)
+                .collect(Collectors.joining(", "));
+        String condition = changes.getVersion() == null ? "" : " AND version = :version";
+        Query query = createReturningQuery("UPDATE clients SET " + assignments
+                + ", updated_at = CURRENT_DATE, version = version + 1 WHERE id_client = :id" + condition)
+                .setParameter("id", id);
+        columns.forEach(query::setParameter);
+        if (changes.getVersion() != null) {
+            query.setParameter("version", changes.getVersion());
+        }
+
+        return getSingleResult(query);
+    }
+
+    @Override
+    public List<Client> findAllProjected(Set<ClientField> fields) {
+        List<ClientField> selected = getSelectedFields(fields, ClientField.ID);
+        return getClients(selected, createProjectedQuery(selected, "", " order by c.id").getResultList());
+    }
+
+    @Override
+    public Page<Client> findAllProjected(Set<ClientField> fields, Pageable pageable) {
+        List<ClientField> selected = getSelectedFields(fields, ClientField.ID);
+        TypedQuery<Tuple> query = createProjectedQuery(selected, "", " order by c.id");
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        List<Client> content = getClients(selected, query.getResultList());
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> entityManager.createQuery("select count(c) from Client c", Long.class).getSingleResult());
+    }
+
+    @Override
+    public Slice<Client> findNextProjected(Set<ClientField> fields, ClientSortKey sortKey, ClientCursor after, int size) {
+        List<ClientField> selected = getSelectedFields(fields, sortKey.getField());
+        String sortColumn = "c." + sortKey.getField().getName();
+
+        String condition = "";
+        String order = " order by c.id";
+        if (sortKey != ClientSortKey.ID) {
+            order = " order by " + sortColumn + ", c.id";
+            if (after != null) {
+                condition = " where " + sortColumn + " > :value or (" + sortColumn + " = :value and c.id > :id)";
+            }
+        } else if (after != null) {
+            condition = " where c.id > :id";
+        }
+
+        TypedQuery<Tuple> query = createProjectedQuery(selected, condition, order).setMaxResults(size + 1);
+        if (after != null) {
+            query.setParameter("id", after.getId());
+            if (sortKey != ClientSortKey.ID) {
+                query.setParameter("value", after.getValue());
+            }
+        }
+
+        // One row past the slice tells whether there is a next one, without a count
+        List<Tuple> rows = query.getResultList();
+        boolean hasNext = rows.size() > size;
+        List<Client> content = getClients(selected, hasNext ? rows.subList(0, size) : rows);
+        return new SliceImpl<>(content, PageRequest.of(0, size, sortKey.getSort()), hasNext);
+    }
+
+    // The id is always selected, with the field the caller needs on top of the requested ones
+    private List<ClientField> getSelectedFields(Set<ClientField> fields, ClientField required) {
+        Set<ClientField> selected = EnumSet.of(ClientField.ID, required);
+        selected.addAll(fields);
+        return new ArrayList<>(selected);
+    }
+
+    private TypedQuery<Tuple> createProjectedQuery(List<ClientField> selected, String condition, String order) {
+        String columns = selected.stream()
+                .map(field -> "c." + field.getName())
+                .collect(Collectors.joining(", "));
+        return entityManager.createQuery("select c.version, " + columns + " from Client c" + condition + order, Tuple.class);
+    }
+
+    private List<Client> getClients(List<ClientField> selected, List<Tuple> rows) {
+        List<Client> clients = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Client client = new Client();
+            client.setVersion((Long) row.get(0));
+            for (int i = 0; i < selected.size(); i++) {
+                selected.get(i).getSetter().accept(client, row.get(i + 1));
+            }
+            clients.add(client);
+        }
+        return clients;
+    }
+
+    private Map<String, Object> getSuppliedColumns(Client changes) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        putIfSupplied(columns, "first_name", changes.getFirstName());
+        putIfSupplied(columns, "midlle_name", changes.getMiddleName());
+        putIfSupplied(columns, "last_name", changes.getLastName());
+        putIfSupplied(columns, "email", changes.getEmail());
+        putIfSupplied(columns, "username", changes.getUsername());
+        putIfSupplied(columns, "password", changes.getPassword());
+        putIfSupplied(columns, "is_active", changes.getIsActive());
+        return columns;
+    }
+
+    private void putIfSupplied(Map<String, Object> columns, String column, Object value) {
+        if (value != null) {
+            columns.put(column, value);
+        }
+    }
+
+    private Query createReturningQuery(String update) {
+        String sql = isReturningSupported() ? update + " RETURNING *" : "SELECT * FROM FINAL TABLE (" + update + ")";
+        return entityManager.createNativeQuery(sql, Client.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<Client> getSingleResult(Query query) {
+        List<Client> result = query.getResultList();
+        return result.stream().findFirst();
+    }
+
+    private boolean isReturningSupported() {
+        if (returningSupported == null) {
+            String productName = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+            returningSupported = postgresProductName.equalsIgnoreCase(productName);
+        }
+        return returningSupported;
+    }
+}
@@ -0,0 +1,320 @@
+package com.ironbrain.clients.backend.search;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Type-ahead index over the names, email and username of every client. Each value is indexed as a
+ * whole and split into words, every word is posted under its trigrams and, for one and two letter
+ * queries, under its first one and two letters. A query word matches a client when one of its
+ * words contains it, or, from three letters on, when they share most of their trigrams, which
+ * absorbs a typo. Exact words rank over prefixes, prefixes over substrings, substrings over typos.
+ */
+@Slf4j
+@Component
+public class ClientSearchIndex {
+
+    private static final Pattern marks = Pattern.compile("\\p{M}+");
+    private static final Pattern separators = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int gramLength = 3;
+    private static final double fuzzyThreshold = 0.6;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+
+    // Writes made while a rebuild streams the table, replayed on the new index before it is swapped in
+    private List<Consumer<Index>> pending;
+
+    public void put(Client client) {
+        Client document = getDocument(client);
+        write(index -> index.put(document));
+    }
+
+    public void remove(Long id) {
+        write(index -> index.remove(id));
+    }
+
+    public void rebuild(Consumer<Consumer<Client>> source) {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            source.accept(client -> rebuilt.put(getDocument(client)));
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("The Client search index was rebuilt with {} Clients", rebuilt.documents.size());
+    }
+
+    public List<Client> search(String query, int limit) {
+        List<String> terms = getWords(query);
+        if (terms.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The password never goes into the index
+    private Client getDocument(Client client) {
+        return Client.builder()
+                .id(client.getId())
+                .firstName(client.getFirstName())
+                .middleName(client.getMiddleName())
+                .lastName(client.getLastName())
+                .email(client.getEmail())
+                .username(client.getUsername())
+                .isActive(client.getIsActive())
+                .version(client.getVersion())
+                .build();
+    }
+
+    private static Set<String> getTokens(Client client) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String value : new String[]{client.getFirstName(), client.getMiddleName(), client.getLastName(),
+                client.getEmail(), client.getUsername()}) {
+            if (value != null && !value.isBlank()) {
+                String normalized = normalize(value.trim());
+                tokens.add(normalized);
+                tokens.addAll(getWords(normalized));
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> getWords(String value) {
+        List<String> words = new ArrayList<>();
+        if (value != null) {
+            for (String word : separators.split(normalize(value))) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    // Lower case without accents, so a query typed without them still matches
+    private static String normalize(String value) {
+        return marks.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> getGrams(String token) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start + gramLength <= token.length(); start++) {
+            grams.add(token.substring(start, start + gramLength));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+
+        private final Client client;
+        private final Set<String> tokens;
+
+        private Document(Client client, Set<String> tokens) {
+            this.client = client;
+            this.tokens = tokens;
+        }
+    }
+
+    private static final class Match {
+
+        private final Document document;
+        private final double score;
+
+        private Match(Document document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    private static final class Index {
+
+        private static final Comparator<Match> ranking = Comparator.<Match>comparingDouble(match -> match.score)
+                .thenComparing(match -> match.document.client.getId(), Comparator.reverseOrder());
+
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<String, Set<Long>> grams = new HashMap<>();
+        private final Map<String, Set<Long>> prefixes = new HashMap<>();
+
+        private void put(Client client) {
+            remove(client.getId());
+
+            Document document = new Document(client, getTokens(client));
+            documents.put(client.getId(), document);
+            for (String token : document.tokens) {
+                getGrams(token).forEach(gram -> grams.computeIfAbsent(gram, key -> new HashSet<>()).add(client.getId()));
+                for (int length = 1; length < gramLength && length <= token.length(); length++) {
+                    prefixes.computeIfAbsent(token.substring(0, length), key -> new HashSet<>()).add(client.getId());
+                }
+            }
+        }
+
+        private void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+
+            for (String token : document.tokens) {
+                getGrams(token).forEach(gram -> removePosting(grams, gram, id));
+                for (int length = 1; length < gramLength && length <= token.length(); length++) {
+                    removePosting(prefixes, token.substring(0, length), id);
+                }
+            }
+        }
+
+        private void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+
+        private List<Client> search(List<String> terms, int limit) {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = getScores(term, scores);
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, ranking);
+            scores.forEach((id, score) -> {
+                top.add(new Match(documents.get(id), score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+
+            List<Client> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(top.poll().document.client);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        // Only the clients that matched the previous terms are considered
+        private Map<Long, Double> getScores(String term, Map<Long, Double> previous) {
+            Map<Long, Double> scores = new HashMap<>();
+
+            if (term.length() < gramLength) {
+                for (Long id : prefixes.getOrDefault(term, Collections.emptySet())) {
+                    if (previous == null || previous.containsKey(id)) {
+                        scores.put(id, getScore(previous, id) + getContainsScore(documents.get(id), term));
+                    }
+                }
+                return scores;
+            }
+
+            Set<String> termGrams = getGrams(term);
+            Map<Long, Integer> shared = new HashMap<>();
+            for (String gram : termGrams) {
+                for (Long id : grams.getOrDefault(gram, Collections.emptySet())) {
+                    if (previous == null || previous.containsKey(id)) {
+                        shared.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+
+            int required = (int) Math.ceil(termGrams.size() * fuzzyThreshold);
+            shared.forEach((id, count) -> {
+                if (count < required) {
+                    return;
+                }
+                double score = count == termGrams.size() ? getContainsScore(documents.get(id), term) : 0;
+                if (score == 0) {
+                    score = 0.5 * count / termGrams.size();
+                }
+                scores.put(id, getScore(previous, id) + score);
+            });
+            return scores;
+        }
+
+        private double getScore(Map<Long, Double> previous, Long id) {
+            return previous == null ? 0 : previous.get(id);
+        }
+
+        private double getContainsScore(Document document, String term) {
+            double best = 0;
+            for (String token : document.tokens) {
+                if (token.equals(term)) {
+                    return 3;
+                } else if (token.startsWith(term)) {
+                    best = Math.max(best, 2);
+                } else if (best < 1 && token.contains(term)) {
+                    best = 1;
+                }
+            }
+            return best;
+        }
+    }
+}
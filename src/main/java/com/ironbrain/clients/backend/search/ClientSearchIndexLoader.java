@@ -0,0 +1,40 @@
+package com.ironbrain.clients.backend.search;
+
+import com.ironbrain.clients.backend.service.ClientService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the search index from the table before the application accepts traffic, then rebuilds it
+ * periodically so the writes made on other nodes show up in the results of this one.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ClientSearchIndexLoader {
+
+    private ClientService clientService;
+    private ClientSearchIndex clientSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${clients.search.rebuild-interval}", fixedDelayString = "${clients.search.rebuild-interval}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        try {
+            clientSearchIndex.rebuild(clientService::exportAll);
+        } catch (RuntimeException ex) {
+            log.error("The Client search index couldn't be rebuilt, it keeps the previous Clients", ex);
+        }
+    }
+}
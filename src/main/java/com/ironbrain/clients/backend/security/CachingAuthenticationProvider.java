@@ -0,0 +1,141 @@
+package com.ironbrain.clients.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Remembers successful verifications for a short time so a repeat caller costs an HMAC and a
+ * map lookup instead of a full password hash check. The cache key is an HMAC of the presented
+ * credentials under a per-process random secret, the plaintext is never stored.
+ */
+@Slf4j
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String hmacAlgorithm = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, Verification> verifications;
+    private final ThreadLocal<Mac> mac;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                         long maximumSize, Duration expireAfterWrite, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, hmacAlgorithm);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(hmacAlgorithm);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        this.hits = getCounter(meterRegistry, "hit");
+        this.misses = getCounter(meterRegistry, "miss");
+        Gauge.builder("client.security.credentials.cache.size", verifications, Cache::estimatedSize)
+                .description("Cached credential verifications")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = getKey(username, credentials.toString());
+        Verification verification = verifications.getIfPresent(key);
+        if (verification != null && isStillValid(verification)) {
+            hits.increment();
+            return verification.authentication;
+        }
+
+        misses.increment();
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated() && result.getPrincipal() instanceof UserDetails) {
+            verifications.put(key, new Verification(username, ((UserDetails) result.getPrincipal()).getPassword(), result));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    public void evictUser(String username) {
+        verifications.asMap().values().removeIf(verification -> verification.username.equals(username));
+    }
+
+    // The user store lookup is cheap, it catches password changes, locks and removals without a hash check
+    private boolean isStillValid(Verification verification) {
+        try {
+            UserDetails current = userDetailsService.loadUserByUsername(verification.username);
+            if (current.isEnabled() && current.isAccountNonLocked() && current.isAccountNonExpired()
+                    && current.isCredentialsNonExpired() && current.getPassword().equals(verification.encodedPassword)) {
+                return true;
+            }
+        } catch (UsernameNotFoundException ex) {
+            log.debug("The user {} no longer exists", verification.username);
+        }
+
+        evictUser(verification.username);
+        return false;
+    }
+
+    private String getKey(String username, String password) {
+        Mac instance = mac.get();
+        instance.update(username.getBytes(StandardCharsets.UTF_8));
+        instance.update((byte) 0);
+        return Base64.getEncoder().encodeToString(instance.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("client.security.credentials.cache")
+                .description("Credential verifications served from the cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @AllArgsConstructor
+    private static final class Verification {
+
+        private final String username;
+        private final String encodedPassword;
+        private final Authentication authentication;
+    }
+}
@@ -0,0 +1,197 @@
+package com.ironbrain.clients.backend.security;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Password checks and hashes run on a small dedicated pool with a bounded queue. When the pool is
+ * saturated the call is rejected straight away, so a burst of logins or writes holds at most pool
+ * size plus queue capacity request threads and never competes for the CPU with more hashes than
+ * the pool allows.
+ */
+@Slf4j
+@Component
+public class ClientPasswordHasher {
+
+    private static final String executorName = "client.password.hashing";
+    private static final String busyMsg = "The login service is busy, try again later";
+    private static final String hashingBusyMsg = "The password hashing service is busy, try again later";
+    private static final Pattern encodedPattern = Pattern.compile("\\A\\$2([ayb])?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int poolSize;
+    private final long timeoutMillis;
+    // Checked against when the username doesn't exist, so that answer costs as much as a wrong password
+    private final String dummyHash;
+
+    private final Timer verifications;
+    private final Timer encodings;
+    private final Counter rejections;
+
+    public ClientPasswordHasher(PasswordEncoder passwordEncoder, ClientProperties clientProperties, MeterRegistry meterRegistry) {
+        ClientProperties.PasswordHashing properties = clientProperties.getSecurity().getPasswordHashing();
+        AtomicInteger threads = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.poolSize = properties.getPoolSize();
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(), properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, executorName, Tags.empty()).bindTo(meterRegistry);
+        this.verifications = Timer.builder("client.password.verification")
+                .description("Password verification latency, queue wait included")
+                .register(meterRegistry);
+        this.encodings = Timer.builder("client.password.encoding")
+                .description("Password hashing latency, queue wait included")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("client.password.verification.rejected")
+                .description("Password checks and hashes rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        if (rawPassword == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            return await(submit(() -> passwordEncoder.encode(rawPassword), hashingBusyMsg), timeoutMillis, hashingBusyMsg);
+        } finally {
+            encodings.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Hashes a batch with at most one task per pool thread, each one taking every pool size-th
+     * password, so a batch takes a few queue slots and still uses the whole pool.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        String[] encoded = new String[rawPasswords.size()];
+        int tasks = Math.min(poolSize, rawPasswords.size());
+        if (tasks == 0) {
+            return Arrays.asList(encoded);
+        }
+
+        long start = System.nanoTime();
+        List<Future<Void>> results = new ArrayList<>(tasks);
+        try {
+            for (int task = 0; task < tasks; task++) {
+                int first = task;
+                results.add(submit(() -> {
+                    for (int index = first; index < encoded.length; index += tasks) {
+                        String rawPassword = rawPasswords.get(index);
+                        encoded[index] = rawPassword == null ? null : passwordEncoder.encode(rawPassword);
+                    }
+                    return null;
+                }, hashingBusyMsg));
+            }
+
+            long perTask = (encoded.length + tasks - 1) / tasks;
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis * perTask);
+            for (Future<Void> result : results) {
+                await(result, TimeUnit.NANOSECONDS.toMillis(Math.max(0, deadline - System.nanoTime())), hashingBusyMsg);
+            }
+        } catch (RuntimeException ex) {
+            results.forEach(result -> result.cancel(true));
+            throw ex;
+        } finally {
+            encodings.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return Arrays.asList(encoded);
+    }
+
+    public boolean isEncoded(String storedPassword) {
+        return storedPassword != null && encodedPattern.matcher(storedPassword).matches();
+    }
+
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isEncoded(storedPassword)) {
+            // Rows written before hashing was introduced, upgraded by the caller after a successful login
+            return MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+
+        long start = System.nanoTime();
+        try {
+            return await(submit(() -> passwordEncoder.matches(rawPassword, storedPassword), busyMsg), timeoutMillis, busyMsg);
+        } finally {
+            verifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Only spends the time a check against an existing username would take, nothing can match
+    public void matchDummy(String rawPassword) {
+        matches(rawPassword == null ? "" : rawPassword, dummyHash);
+    }
+
+    private <T> Future<T> submit(Callable<T> task, String rejectedMsg) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejections.increment();
+            log.warn("A password hash was rejected, {} are queued", executor.getQueue().size());
+            throw new ServiceUnavailableException(rejectedMsg);
+        }
+    }
+
+    private <T> T await(Future<T> result, long timeoutMillis, String timeoutMsg) {
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            throw new ServiceUnavailableException(timeoutMsg);
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(timeoutMsg);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ironbrain.clients.backend.service;
+
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientCommandStatus;
+import java.util.Optional;
+
+public interface ClientCommandService {
+
+    ClientCommandStatus save(Client client);
+    ClientCommandStatus updateById(Client client, Long id);
+
+    ClientCommandStatus activateAndDeactivateClientById(Long id);
+
+    ClientCommandStatus deleteById(Long id);
+
+    Optional<ClientCommandStatus> findStatus(String trackingId);
+}
@@ -1,22 +1,47 @@
 package com.ironbrain.clients.backend.service;
 
 import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientBatchResult;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface ClientService {
 
     Client save(Client client);
     Client updateById(Client client, Long id);
+    Client patchById(Client changes, Long id);
+
+    List<ClientBatchResult> saveAll(List<Client> clients);
+    List<ClientBatchResult> updateAll(List<Client> clients);
+
+    // The command queue hashes the passwords before publishing, these write them as they come
+    Client updateHashedById(Client client, Long id);
+    List<ClientBatchResult> saveAllHashed(List<Client> clients);
+    List<ClientBatchResult> updateAllHashed(List<Client> clients);
 
     Client findById(Long id);
+    boolean existsById(Long id);
+    Optional<Long> findCachedVersion(Long id);
     Client findByUsernameAndPassword(String username, String password);
 
     Client activateAndDeactivateClientById(Long id);
 
-    List<Client> findAll();
+    List<Client> findAll(Set<ClientField> fields);
+
+    Page<Client> findAllPaged(int page, int size, Set<ClientField> fields);
+
+    Slice<Client> findAllSliced(ClientCursor after, ClientSortKey sortKey, int size, Set<ClientField> fields);
+
+    void exportAll(Consumer<Client> action);
 
-    Page<Client> findAllPaged(int page, int size);
+    List<Client> search(String query, Integer limit);
 
     void deleteById(Long id);
 }
@@ -0,0 +1,76 @@
+package com.ironbrain.clients.backend.service.impl;
+
+import com.ironbrain.clients.backend.command.ClientCommandPublisher;
+import com.ironbrain.clients.backend.command.ClientCommandTracker;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandStatus;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import com.ironbrain.clients.backend.security.ClientPasswordHasher;
+import com.ironbrain.clients.backend.service.ClientCommandService;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@AllArgsConstructor
+public class ClientCommandServiceImpl implements ClientCommandService {
+
+    private ClientCommandPublisher clientCommandPublisher;
+    private ClientCommandTracker clientCommandTracker;
+    private ClientPasswordHasher clientPasswordHasher;
+
+    @Override
+    public ClientCommandStatus save(Client client) {
+        return submit(ClientCommandType.SAVE, null, client);
+    }
+
+    @Override
+    public ClientCommandStatus updateById(Client client, Long id) {
+        return submit(ClientCommandType.UPDATE, id, client);
+    }
+
+    @Override
+    public ClientCommandStatus activateAndDeactivateClientById(Long id) {
+        return submit(ClientCommandType.TOGGLE, id, null);
+    }
+
+    @Override
+    public ClientCommandStatus deleteById(Long id) {
+        return submit(ClientCommandType.DELETE, id, null);
+    }
+
+    @Override
+    public Optional<ClientCommandStatus> findStatus(String trackingId) {
+        return clientCommandTracker.get(trackingId);
+    }
+
+    // The password is hashed before it goes into a durable message, the processor writes it as it is.
+    // The status is written before publishing, a fast consumer must never be overwritten by PENDING
+    private ClientCommandStatus submit(ClientCommandType type, Long id, Client client) {
+        if (client != null && client.getPassword() != null) {
+            client.setPassword(clientPasswordHasher.encode(client.getPassword()));
+        }
+        ClientCommand command = ClientCommand.builder()
+                .trackingId(UUID.randomUUID().toString())
+                .type(type)
+                .clientId(id)
+                .client(client)
+                .acceptedAt(System.currentTimeMillis())
+                .build();
+
+        ClientCommandStatus status = clientCommandTracker.accepted(command);
+        try {
+            clientCommandPublisher.publish(command);
+        } catch (RuntimeException ex) {
+            log.error("The Client command {} couldn't be published", command.getTrackingId(), ex);
+            clientCommandTracker.rejected(command, ex.getLocalizedMessage());
+            throw new ServiceUnavailableException("The command queue is not available, try again later");
+        }
+
+        log.info("The Client command {} {} was accepted", type, command.getTrackingId());
+        return status;
+    }
+}
@@ -1,21 +1,49 @@
 package com.ironbrain.clients.backend.service.impl;
 
+import com.ironbrain.clients.backend.cache.ClientCache;
+import com.ironbrain.clients.backend.cache.ClientCacheLoader;
+import com.ironbrain.clients.backend.cache.ClientNegativeCache;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
 import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
 import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientBatchResult;
+import com.ironbrain.clients.backend.model.ClientBatchStatus;
+import com.ironbrain.clients.backend.model.ClientChangeType;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.outbox.ClientOutbox;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
 import com.ironbrain.clients.backend.repository.ClientRepository;
+import com.ironbrain.clients.backend.search.ClientSearchIndex;
+import com.ironbrain.clients.backend.security.ClientPasswordHasher;
 import com.ironbrain.clients.backend.service.ClientService;
+import com.ironbrain.clients.backend.uniqueness.ClientUniquenessGuard;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Slf4j
 @Service
@@ -23,122 +51,558 @@ import org.springframework.transaction.annotation.Transactional;
 public class ClientServiceImpl implements ClientService {
 
     private ClientRepository clientRepository;
+    private TransactionOperations transactionOperations;
+    private ClientCache clientCache;
+    private ClientProperties clientProperties;
+    private EntityManager entityManager;
+    private ClientPasswordHasher clientPasswordHasher;
+    private ClientOutbox clientOutbox;
+    private ClientSearchIndex clientSearchIndex;
+    private ClientUniquenessGuard clientUniquenessGuard;
+    private ClientCacheLoader clientCacheLoader;
+    private ClientNegativeCache clientNegativeCache;
 
     private static final String emptyListMsg = "The list of clients is empty";
+    private static final NotFoundException emptyListException = new NotFoundException(emptyListMsg);
 
-    @Cacheable(value = "usernames")
     @Override
     public Client save(Client client) {
+        clientUniquenessGuard.check(client.getUsername(), client.getEmail(), null);
+        client.setPassword(clientPasswordHasher.encode(client.getPassword()));
+
+        Client clientResult;
+        try {
+            clientResult = transactionOperations.execute(status -> {
+                Client saved = clientRepository.save(client);
+                clientOutbox.append(ClientChangeType.CREATED, saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw getDuplicate(ex, client.getUsername(), client.getEmail(), null);
+        }
+        clientCache.put(clientResult);
+        clientSearchIndex.put(clientResult);
+        clientUniquenessGuard.add(clientResult);
+
         log.info("The Client with Username = {} was saved successfully", client.getUsername());
-        return clientRepository.save(client);
+        return clientResult;
     }
 
-    @CachePut(value = "usernames", key = "#id")
     @Override
     public Client updateById(Client client, Long id) {
+        return updateById(client, id, true);
+    }
+
+    @Override
+    public Client updateHashedById(Client client, Long id) {
+        return updateById(client, id, false);
+    }
+
+    private Client updateById(Client client, Long id, boolean encode) {
         Optional<Client> clientResult = clientRepository.findById(id);
         if (clientResult.isPresent()) {
-            clientResult.get().setEmail(client.getEmail());
-            clientResult.get().setUsername(client.getUsername());
-            clientResult.get().setPassword(client.getPassword());
-            clientResult.get().setFirstName(client.getFirstName());
-            clientResult.get().setMiddleName(client.getMiddleName());
-            clientResult.get().setLastName(client.getLastName());
-            clientResult.get().setUpdatedAt(new Date());
-            clientResult.get().setIsActive(clientResult.get().getIsActive());
+            checkVersion(client.getVersion(), clientResult.get());
+            clientUniquenessGuard.check(client.getUsername(), client.getEmail(), id);
+            String previousUsername = clientResult.get().getUsername();
+            if (encode) {
+                client.setPassword(clientPasswordHasher.encode(client.getPassword()));
+            }
+            copyChanges(client, clientResult.get());
+
+            // Flushed so the event carries the incremented version
+            Client updated;
+            try {
+                updated = transactionOperations.execute(status -> {
+                    Client saved = clientRepository.saveAndFlush(clientResult.get());
+                    clientOutbox.append(ClientChangeType.UPDATED, saved);
+                    return saved;
+                });
+            } catch (DataIntegrityViolationException ex) {
+                throw getDuplicate(ex, client.getUsername(), client.getEmail(), id);
+            }
+            clientCache.replace(previousUsername, updated);
+            clientSearchIndex.put(updated);
+            clientUniquenessGuard.add(updated);
 
             log.info("The Client with Username = {} was updated successfully", client.getUsername());
-            return clientRepository.save(clientResult.get());
+            return updated;
         } else {
-            String message = String.format("The Client with Username = %1s does not exist !!!", client.getUsername());
-            log.error(message);
-            throw new NotFoundException(message);
+            log.debug("The Client with Id = {} does not exist", id);
+            throw new NotFoundException("The Client with Username = " + client.getUsername() + " does not exist !!!");
         }
     }
 
-    @Cacheable(value = "usernames", key = "#id", unless = "#result == null")
-    @Transactional(readOnly = true)
+    @Override
+    public Client patchById(Client changes, Long id) {
+        clientUniquenessGuard.check(changes.getUsername(), changes.getEmail(), id);
+        changes.setPassword(clientPasswordHasher.encode(changes.getPassword()));
+
+        // The previous username is only read when it changes, its alias is dropped from the cache
+        AtomicReference<String> previousUsername = new AtomicReference<>();
+        Optional<Client> result;
+        try {
+            result = transactionOperations.execute(status -> {
+                if (changes.getUsername() != null) {
+                    previousUsername.set(clientRepository.findUsernameByIdForUpdate(id).orElse(null));
+                }
+                Optional<Client> patched = clientRepository.patch(id, changes);
+                patched.ifPresent(client -> clientOutbox.append(ClientChangeType.UPDATED, client));
+                return patched;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw getDuplicate(ex, changes.getUsername(), changes.getEmail(), id);
+        }
+        if (result.isEmpty() && changes.getVersion() != null && clientRepository.existsById(id)) {
+            throw executePreconditionFailedException(id);
+        }
+        Client patched = result.orElseThrow(() -> executeNotFoundException(id));
+        clientCache.replace(previousUsername.get(), patched);
+        clientSearchIndex.put(patched);
+        clientUniquenessGuard.add(patched);
+
+        log.info("The Client with Username = {} was patched successfully", patched.getUsername());
+        return patched;
+    }
+
+    @Override
+    public List<ClientBatchResult> saveAll(List<Client> clients) {
+        return saveAll(clients, true);
+    }
+
+    @Override
+    public List<ClientBatchResult> saveAllHashed(List<Client> clients) {
+        return saveAll(clients, false);
+    }
+
+    private List<ClientBatchResult> saveAll(List<Client> clients, boolean encode) {
+        List<ClientBatchResult> results = writeAll(clients, false, encode);
+
+        // Cached like a single save, which also forgets the username on every node that saw it missing
+        results.stream()
+                .filter(result -> result.getStatus() == ClientBatchStatus.SAVED)
+                .forEach(result -> {
+                    clientCache.put(result.getClient());
+                    clientSearchIndex.put(result.getClient());
+                    clientUniquenessGuard.add(result.getClient());
+                });
+        return results;
+    }
+
+    @Override
+    public List<ClientBatchResult> updateAll(List<Client> clients) {
+        return updateAll(clients, true);
+    }
+
+    @Override
+    public List<ClientBatchResult> updateAllHashed(List<Client> clients) {
+        return updateAll(clients, false);
+    }
+
+    private List<ClientBatchResult> updateAll(List<Client> clients, boolean encode) {
+        List<ClientBatchResult> results = writeAll(clients, true, encode);
+
+        results.stream()
+                .filter(result -> result.getStatus() == ClientBatchStatus.UPDATED)
+                .forEach(result -> {
+                    clientCache.put(result.getClient());
+                    clientSearchIndex.put(result.getClient());
+                    clientUniquenessGuard.add(result.getClient());
+                });
+        return results;
+    }
+
+    // No transaction here, the callers waiting on a shared load must not hold a connection
     @Override
     public Client findById(Long id) throws NotFoundException {
-        Optional<Client> result = clientRepository.findById(id);
+        Optional<Client> result = clientCacheLoader.getById(id);
         if(result.isPresent()) {
-            log.info("The Client with Id = {} was founded successfully", id);
+            log.debug("The Client with Id = {} was founded successfully", id);
             return result.get();
         }
 
         throw executeNotFoundException(id);
     }
 
-    @Cacheable(value = "usernames", key = "#username", unless = "#result == null")
-    @Transactional(readOnly = true)
+    @Override
+    public boolean existsById(Long id) {
+        if (clientCache.getById(id).isPresent()) {
+            return true;
+        }
+        if (clientNegativeCache.isMissingId(id)) {
+            return false;
+        }
+
+        boolean exists = clientRepository.existsById(id);
+        if (!exists) {
+            clientNegativeCache.putMissingId(id);
+        }
+        return exists;
+    }
+
+    @Override
+    public Optional<Long> findCachedVersion(Long id) {
+        return clientCache.getById(id).map(Client::getVersion);
+    }
+
+    // No transaction here, the connection must not be held while the password hash is checked
     @Override
     public Client findByUsernameAndPassword(String username, String password) {
-        Optional<Client> result = clientRepository.findClientByUsernameAndPassword(username, password);
-        if (result.isPresent()) {
+        Optional<Client> result = clientCache.getByUsername(username);
+        if (result.isEmpty() && !clientNegativeCache.isMissingUsername(username)) {
+            long stamp = clientCache.getStamp();
+            result = clientRepository.findByUsername(username);
+            if (result.isPresent()) {
+                clientCache.putLoadedByUsername(result.get(), stamp);
+            } else {
+                clientNegativeCache.putMissingUsername(username);
+            }
+        }
+
+        if (result.isEmpty()) {
+            // A missing username costs as much as a wrong password, the timing doesn't tell them apart
+            clientPasswordHasher.matchDummy(password);
+        } else if (clientPasswordHasher.matches(password, result.get().getPassword())) {
+            Client found = result.get();
+            if (!clientPasswordHasher.isEncoded(found.getPassword())) {
+                found = upgradePassword(found, password);
+            }
             log.info("The Client with Username = {} was founded successfully", username);
-            return result.get();
+            return found;
         }
-        String message = String.format("The Client with Username = %1s wasn't founded", username);
-        log.info(message);
-        throw new NotFoundException(message);
+        log.debug("The Client with Username = {} wasn't founded", username);
+        throw new NotFoundException("The Client with Username = " + username + " wasn't founded");
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Page<Client> findAllPaged(int page, int size) {
-        Page<Client> clientList = clientRepository.findAll(PageRequest.of(page, size));
+    public Page<Client> findAllPaged(int page, int size, Set<ClientField> fields) {
+        Page<Client> clientList = clientRepository.findAllProjected(fields, PageRequest.of(page, size));
         if (!clientList.isEmpty()) {
             log.info("The Clients with Paged were consulted successfully");
             return clientList;
         }
 
-        log.info(emptyListMsg);
-        throw new NotFoundException(emptyListMsg);
+        log.debug(emptyListMsg);
+        throw emptyListException;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<Client> findAllSliced(ClientCursor after, ClientSortKey sortKey, int size, Set<ClientField> fields) {
+        int maxSize = clientProperties.getPagination().getMaxSize();
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException("The size must be between 1 and " + maxSize);
+        }
+
+        Slice<Client> clientList = clientRepository.findNextProjected(fields, sortKey, after, size);
+        if (clientList.hasContent()) {
+            log.info("The Clients with Cursor were consulted successfully");
+            return clientList;
+        }
+
+        log.debug(emptyListMsg);
+        throw emptyListException;
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<Client> findAll() {
-        List<Client> clientList = clientRepository.findAll();
+    public List<Client> findAll(Set<ClientField> fields) {
+        List<Client> clientList = clientRepository.findAllProjected(fields);
         if (!clientList.isEmpty()) {
             log.info("The Clients were consulted successfully");
             return clientList;
         }
 
-        log.info(emptyListMsg);
-        throw new NotFoundException(emptyListMsg);
+        log.debug(emptyListMsg);
+        throw emptyListException;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(Consumer<Client> action) {
+        try (Stream<Client> clients = clientRepository.streamAll()) {
+            clients.forEach(client -> {
+                action.accept(client);
+                entityManager.detach(client);
+            });
+        }
+        log.info("The Clients were exported successfully");
+    }
+
+    // Served from the in-memory index, the database isn't queried while the user types
+    @Override
+    public List<Client> search(String query, Integer limit) {
+        ClientProperties.Search search = clientProperties.getSearch();
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("The search query can't be empty");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("The limit must be greater than zero");
+        }
+
+        int results = Math.min(limit == null ? search.getDefaultResults() : limit, search.getMaxResults());
+        List<Client> clients = clientSearchIndex.search(query, results);
+        log.debug("The search of '{}' matched {} Clients", query, clients.size());
+        return clients;
     }
 
-    @CachePut(value = "usernames", key = "#id")
     @Override
     public Client activateAndDeactivateClientById(Long id) {
-        Optional<Client> clientResult = clientRepository.findById(id);
-        if(clientResult.isPresent()) {
+        // A toggle keeps the username, an alias the cached entry still names from an older rename goes with it
+        String previousUsername = clientCache.getById(id).map(Client::getUsername).orElse(null);
+        Client updated = transactionOperations.execute(status -> {
+            Optional<Client> toggled = clientRepository.toggleActive(id);
+            toggled.ifPresent(client -> clientOutbox.append(ClientChangeType.UPDATED, client));
+            return toggled;
+        }).orElseThrow(() -> executeNotFoundException(id));
+        clientCache.replace(previousUsername, updated);
+        clientSearchIndex.put(updated);
 
-            clientResult.get().setIsActive(!clientResult.get().getIsActive());
+        log.info("The Client with Username = {} were activated/deactivated successfully", updated.getUsername());
+        return updated;
+    }
 
-            log.info("The Client with Username = {} were activated/deactivated successfully", clientResult.get().getUsername());
-            return clientRepository.save(clientResult.get());
-        } else {
+    @Override
+    public void deleteById(Long id) {
+        int deleted = transactionOperations.execute(status -> {
+            int rows = clientRepository.deleteClientById(id);
+            if (rows > 0) {
+                clientOutbox.appendDeleted(id);
+            }
+            return rows;
+        });
+        if (deleted == 0) {
             throw executeNotFoundException(id);
         }
+
+        clientCache.evictById(id);
+        clientSearchIndex.remove(id);
+        log.info("The Client with the Id = {} was removed successfully", id);
     }
 
-    @CacheEvict(value = "usernames", key = "#id")
-    @Override
-    public void deleteById(Long id) {
-        Optional<Client> clientResult = clientRepository.findById(id);
-        if(clientResult.isPresent()) {
-            log.info("The Client with the Username = {} was removed successfully", clientResult.get().getUsername());
-            clientRepository.deleteById(id);
+    private List<ClientBatchResult> writeAll(List<Client> clients, boolean update, boolean encode) {
+        List<ClientBatchResult> results = new ArrayList<>(Collections.nCopies(clients.size(), null));
+        int batchSize = clientProperties.getBatch().getSize();
+
+        for (int from = 0; from < clients.size(); from += batchSize) {
+            writeChunk(clients, from, Math.min(from + batchSize, clients.size()), update, encode, results);
+        }
+
+        log.info("The batch of {} Clients was processed successfully", clients.size());
+        return results;
+    }
+
+    private void writeChunk(List<Client> clients, int from, int to, boolean update, boolean encode,
+                            List<ClientBatchResult> results) {
+        List<Client> chunk = clients.subList(from, to);
+        Map<String, Long> usernames = new HashMap<>();
+        Map<String, Long> emails = new HashMap<>();
+
+        // Only the values the filters can't rule out are looked up, often none
+        Set<String> knownUsernames = chunk.stream().map(Client::getUsername)
+                .filter(clientUniquenessGuard::mightHaveUsername).collect(Collectors.toSet());
+        Set<String> knownEmails = chunk.stream().map(Client::getEmail)
+                .filter(clientUniquenessGuard::mightHaveEmail).collect(Collectors.toSet());
+        if (!knownUsernames.isEmpty() || !knownEmails.isEmpty()) {
+            clientRepository.findByUsernameInOrEmailIn(knownUsernames, knownEmails).forEach(existing -> {
+                usernames.put(existing.getUsername(), existing.getId());
+                emails.put(existing.getEmail(), existing.getId());
+            });
+        }
+
+        List<Integer> pending = new ArrayList<>();
+        for (int index = from; index < to; index++) {
+            Client client = clients.get(index);
+            Long ownerId = update ? client.getId() : null;
+
+            if (isTakenByOther(emails, client.getEmail(), ownerId)) {
+                results.set(index, getBatchResult(index, null, ClientBatchStatus.DUPLICATED, getAlreadyExistsMessage("Email")));
+            } else if (isTakenByOther(usernames, client.getUsername(), ownerId)) {
+                results.set(index, getBatchResult(index, null, ClientBatchStatus.DUPLICATED, getAlreadyExistsMessage("Username")));
+            } else {
+                usernames.put(client.getUsername(), ownerId);
+                emails.put(client.getEmail(), ownerId);
+                pending.add(index);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Hashed on the hashing pool before the transaction, no connection is held while it runs.
+        // A busy pool fails this chunk only, the chunks already written keep their results.
+        if (encode) {
+            List<String> passwords;
+            try {
+                passwords = clientPasswordHasher.encodeAll(pending.stream()
+                        .map(index -> clients.get(index).getPassword())
+                        .collect(Collectors.toList()));
+            } catch (ServiceUnavailableException ex) {
+                log.warn("The batch of Clients from {} to {} wasn't hashed: {}", from, to - 1, ex.getMessage());
+                pending.forEach(index -> results.set(index, getBatchResult(index, null, ClientBatchStatus.FAILED, ex.getMessage())));
+                return;
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                clients.get(pending.get(i)).setPassword(passwords.get(i));
+            }
+        }
+
+        try {
+            Map<Integer, Client> written = transactionOperations.execute(status -> writePending(clients, pending, update));
+            pending.forEach(index -> results.set(index, getWrittenResult(index, written.get(index), clients.get(index), update)));
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("The batch of Clients from {} to {} was rejected, retrying one by one", from, to - 1);
+            pending.forEach(index -> results.set(index, writeOne(clients.get(index), index, update)));
+        }
+    }
+
+    private Map<Integer, Client> writePending(List<Client> clients, List<Integer> pending, boolean update) {
+        Map<Integer, Client> written = new HashMap<>();
+
+        if (update) {
+            Map<Long, Client> existing = clientRepository.findAllById(
+                    pending.stream().map(index -> clients.get(index).getId()).collect(Collectors.toList())
+            ).stream().collect(Collectors.toMap(Client::getId, Function.identity()));
+
+            for (Integer index : pending) {
+                Client target = existing.get(clients.get(index).getId());
+                if (target != null) {
+                    copyChanges(clients.get(index), target);
+                    written.put(index, target);
+                }
+            }
         } else {
-            throw executeNotFoundException(id);
+            pending.forEach(index -> written.put(index, clients.get(index)));
+            clientRepository.saveAll(written.values());
+        }
+
+        clientRepository.flush();
+        clientOutbox.appendAll(update ? ClientChangeType.UPDATED : ClientChangeType.CREATED, written.values());
+        return written;
+    }
+
+    private ClientBatchResult writeOne(Client client, int index, boolean update) {
+        try {
+            Client written = transactionOperations.execute(status -> {
+                if (update) {
+                    return clientRepository.findById(client.getId())
+                            .map(target -> clientRepository.saveAndFlush(copyChanges(client, target)))
+                            .map(target -> appendChange(ClientChangeType.UPDATED, target))
+                            .orElse(null);
+                }
+                client.setId(null);
+                return appendChange(ClientChangeType.CREATED, clientRepository.saveAndFlush(client));
+            });
+            return getWrittenResult(index, written, client, update);
+        } catch (DataIntegrityViolationException ex) {
+            // The constraint name differs between databases, the guard looks up which value is taken
+            DuplicateClientException duplicate = clientUniquenessGuard.getDuplicate(
+                    client.getUsername(), client.getEmail(), update ? client.getId() : null);
+            if (duplicate != null) {
+                return getBatchResult(index, null, ClientBatchStatus.DUPLICATED, duplicate.getMessage());
+            }
+            // Not a duplicate, the row itself breaks a constraint and writing it again won't help
+            log.warn("The Client with Username = {} was refused by the database", client.getUsername(), ex);
+            return getBatchResult(index, null, ClientBatchStatus.INVALID, ex.getLocalizedMessage());
+        } catch (RuntimeException ex) {
+            log.error("The Client with Username = {} couldn't be written", client.getUsername(), ex);
+            return getBatchResult(index, null, ClientBatchStatus.FAILED, ex.getLocalizedMessage());
+        }
+    }
+
+    private RuntimeException getDuplicate(DataIntegrityViolationException ex, String username, String email, Long ownerId) {
+        DuplicateClientException duplicate = clientUniquenessGuard.getDuplicate(username, email, ownerId);
+        return duplicate != null ? duplicate : ex;
+    }
+
+    private Client appendChange(ClientChangeType type, Client client) {
+        clientOutbox.append(type, client);
+        return client;
+    }
+
+    private ClientBatchResult getWrittenResult(int index, Client written, Client requested, boolean update) {
+        if (written == null) {
+            String message = String.format("The Client with the Id = %1d does not exist !!!", requested.getId());
+            return getBatchResult(index, null, ClientBatchStatus.NOT_FOUND, message);
+        }
+
+        return update
+                ? getBatchResult(index, written, ClientBatchStatus.UPDATED, "Client updated successfully !!!")
+                : getBatchResult(index, written, ClientBatchStatus.SAVED, "Client saved successfully !!!");
+    }
+
+    private ClientBatchResult getBatchResult(int index, Client client, ClientBatchStatus status, String message) {
+        return ClientBatchResult.builder()
+                .index(index)
+                .client(client)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private boolean isTakenByOther(Map<String, Long> owners, String value, Long ownerId) {
+        return owners.containsKey(value) && (ownerId == null || !ownerId.equals(owners.get(value)));
+    }
+
+    private String getAlreadyExistsMessage(String value) {
+        return String.format("Already exists this %1s in the System !!!", value);
+    }
+
+    private Client copyChanges(Client source, Client target) {
+        target.setEmail(source.getEmail());
+        target.setUsername(source.getUsername());
+        target.setPassword(source.getPassword());
+        target.setFirstName(source.getFirstName());
+        target.setMiddleName(source.getMiddleName());
+        target.setLastName(source.getLastName());
+        target.setUpdatedAt(new Date());
+        return target;
+    }
+
+    // The cached entry may be shared with other readers, the upgrade goes into a copy with the bumped version
+    private Client upgradePassword(Client client, String password) {
+        String encoded = clientPasswordHasher.encode(password);
+        int updated = transactionOperations.execute(status -> clientRepository.updatePassword(client.getId(), encoded));
+        if (updated == 0) {
+            clientCache.evictById(client.getId());
+            return client;
+        }
+
+        Client upgraded = Client.builder()
+                .id(client.getId())
+                .firstName(client.getFirstName())
+                .middleName(client.getMiddleName())
+                .lastName(client.getLastName())
+                .email(client.getEmail())
+                .username(client.getUsername())
+                .password(encoded)
+                .isActive(client.getIsActive())
+                .createdAt(client.getCreatedAt())
+                .updatedAt(client.getUpdatedAt())
+                .version(client.getVersion() + 1)
+                .build();
+        clientCache.put(upgraded);
+        log.info("The password of the Client with Username = {} was upgraded to a hash", client.getUsername());
+        return upgraded;
+    }
+
+    // A concurrent write between this check and the save is still caught by the @Version check on merge
+    private void checkVersion(Long expectedVersion, Client current) {
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw executePreconditionFailedException(current.getId());
         }
     }
 
+    private PreconditionFailedException executePreconditionFailedException(Long id) {
+        String message = String.format("The Client with the Id = %1d was modified by someone else !!!", id);
+        log.warn(message);
+        return new PreconditionFailedException(message);
+    }
+
+    // A missing id is an ordinary 404, it is logged at debug and the message skips String.format
     private NotFoundException executeNotFoundException(Long id) throws NotFoundException {
-        String message = String.format("The Client with the Id = %1d does not exist !!!", id);
-        log.error(message);
-        return new NotFoundException(message);
+        log.debug("The Client with the Id = {} does not exist", id);
+        return new NotFoundException("The Client with the Id = " + id + " does not exist !!!");
     }
 }
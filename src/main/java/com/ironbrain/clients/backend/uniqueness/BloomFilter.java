@@ -0,0 +1,89 @@
+package com.ironbrain.clients.backend.uniqueness;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of strings that answers "definitely absent" or "maybe present". Sized from the expected
+ * number of values and the wanted false positive rate, values can be added concurrently but
+ * never removed. The k bit positions come from the two halves of one 64 bit hash.
+ */
+public class BloomFilter {
+
+    private static final long fnvOffset = 0xcbf29ce484222325L;
+    private static final long fnvPrime = 0x100000001b3L;
+    // The positions are non negative ints, more than 2^31 bits would never be used
+    private static final int maxWords = 1 << 25;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedValues, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        }
+
+        long values = Math.max(1, expectedValues);
+        long bits = (long) Math.ceil(-values * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(maxWords, Math.max(1, (bits + 63) / 64));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / values * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = getBit(first, second, i);
+            long mask = 1L << bit;
+            words.accumulateAndGet((int) (bit >>> 6), mask, (word, bits) -> word | bits);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = getBit(first, second, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long getBit(int first, int second, int i) {
+        int combined = first + i * second;
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    // FNV-1a over the chars, then the MurmurHash3 finalizer to spread the bits
+    private long hash(String value) {
+        long hash = fnvOffset;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= fnvPrime;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ironbrain.clients.backend.uniqueness;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientIdentity;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects a duplicated username or email before the INSERT. Bloom filters of every stored value
+ * say when a value is new for sure, then no query is made. Only a value that might exist is
+ * looked up on its unique index. The unique constraints stay the last word, a value written on
+ * another node since the last rebuild reaches them and is reported by {@link #getDuplicate}.
+ * Until the first load every value is looked up.
+ */
+@Slf4j
+@Component
+public class ClientUniquenessGuard {
+
+    private static final String usernameField = "username";
+    private static final String emailField = "email";
+
+    private final ClientRepository clientRepository;
+    private final ClientProperties.Uniqueness uniqueness;
+    private final Counter skipped;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+
+    private volatile Filters current;
+
+    // Filled by a running rebuild, the writes made meanwhile are added to it as well
+    private volatile Filters next;
+
+    public ClientUniquenessGuard(ClientRepository clientRepository, ClientProperties clientProperties, MeterRegistry meterRegistry) {
+        this.clientRepository = clientRepository;
+        this.uniqueness = clientProperties.getUniqueness();
+        this.skipped = getCounter(meterRegistry, "skipped");
+        this.confirmed = getCounter(meterRegistry, "duplicated");
+        this.falsePositives = getCounter(meterRegistry, "false_positive");
+    }
+
+    public void check(String username, String email, Long ownerId) {
+        if (email != null && isTaken(emailField, email, ownerId)) {
+            throw getDuplicateException(emailField);
+        }
+        if (username != null && isTaken(usernameField, username, ownerId)) {
+            throw getDuplicateException(usernameField);
+        }
+    }
+
+    public boolean mightHaveUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames.mightContain(username);
+    }
+
+    public boolean mightHaveEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails.mightContain(email);
+    }
+
+    public void add(Client client) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(client.getUsername(), client.getEmail());
+        }
+        Filters rebuilding = next;
+        if (rebuilding != null) {
+            rebuilding.add(client.getUsername(), client.getEmail());
+        }
+    }
+
+    public synchronized void rebuild(Consumer<Consumer<ClientIdentity>> source) {
+        Filters rebuilt = new Filters(uniqueness.getExpectedClients(), uniqueness.getFalsePositiveRate());
+        AtomicLong count = new AtomicLong();
+        next = rebuilt;
+        try {
+            source.accept(identity -> {
+                rebuilt.add(identity.getUsername(), identity.getEmail());
+                count.incrementAndGet();
+            });
+            current = rebuilt;
+        } finally {
+            next = null;
+        }
+
+        if (count.get() > uniqueness.getExpectedClients()) {
+            log.warn("There are {} Clients and the uniqueness filters expect {}, raise clients.uniqueness.expected-clients",
+                    count.get(), uniqueness.getExpectedClients());
+        }
+        log.info("The uniqueness filters were rebuilt with {} Clients", count.get());
+    }
+
+    // Tells which unique value a rejected write collided with, null when it wasn't a duplicate
+    public DuplicateClientException getDuplicate(String username, String email, Long ownerId) {
+        if (email != null && exists(emailField, email, ownerId)) {
+            return getDuplicateException(emailField);
+        }
+        if (username != null && exists(usernameField, username, ownerId)) {
+            return getDuplicateException(usernameField);
+        }
+        return null;
+    }
+
+    private boolean isTaken(String field, String value, Long ownerId) {
+        boolean mightExist = emailField.equals(field) ? mightHaveEmail(value) : mightHaveUsername(value);
+        if (!mightExist) {
+            skipped.increment();
+            return false;
+        }
+
+        boolean exists = exists(field, value, ownerId);
+        (exists ? confirmed : falsePositives).increment();
+        return exists;
+    }
+
+    private boolean exists(String field, String value, Long ownerId) {
+        if (emailField.equals(field)) {
+            return ownerId == null ? clientRepository.existsByEmail(value) : clientRepository.existsByEmailAndIdNot(value, ownerId);
+        }
+        return ownerId == null ? clientRepository.existsByUsername(value) : clientRepository.existsByUsernameAndIdNot(value, ownerId);
+    }
+
+    private DuplicateClientException getDuplicateException(String field) {
+        String label = emailField.equals(field) ? "Email" : "Username";
+        String message = String.format("Already exists this %1s in the System !!!", label);
+        log.info(message);
+        return new DuplicateClientException(field, message);
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("client.uniqueness.checks")
+                .description("Username and email checks made before a write")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long expectedClients, double falsePositiveRate) {
+            this.usernames = new BloomFilter(expectedClients, falsePositiveRate);
+            this.emails = new BloomFilter(expectedClients, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.put(username);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ironbrain.clients.backend.uniqueness;
+
+import com.ironbrain.clients.backend.model.ClientIdentity;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Loads the uniqueness filters from the usernames and emails alone, then rebuilds them
+ * periodically, which drops the values of deleted and renamed Clients.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ClientUniquenessGuardLoader {
+
+    private ClientRepository clientRepository;
+    private TransactionOperations transactionOperations;
+    private ClientUniquenessGuard clientUniquenessGuard;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${clients.uniqueness.rebuild-interval}", fixedDelayString = "${clients.uniqueness.rebuild-interval}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        try {
+            transactionOperations.execute(status -> {
+                clientUniquenessGuard.rebuild(action -> {
+                    try (Stream<ClientIdentity> identities = clientRepository.streamIdentities()) {
+                        identities.forEach(action);
+                    }
+                });
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.error("The uniqueness filters couldn't be rebuilt, they keep the previous values", ex);
+        }
+    }
+}
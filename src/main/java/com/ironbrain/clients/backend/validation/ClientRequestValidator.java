@@ -1,27 +1,99 @@
 package com.ironbrain.clients.backend.validation;
 
 import com.ironbrain.clients.backend.dto.ClientRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.apache.commons.validator.routines.EmailValidator;
 import org.springframework.stereotype.Component;
-import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
+/**
+ * Checks every field of a ClientRequest in one pass and returns all the errors found, an empty
+ * list when the request is valid. Nothing is thrown, an invalid request is an ordinary 406.
+ */
 @Component
 public class ClientRequestValidator {
 
-    public void validatePostAndPutRequest(ClientRequest clientRequest) {
-        Assert.hasText(clientRequest.getFirstName(), "First Name can't be null or empty");
-        Assert.hasText(clientRequest.getMiddleName(), "Middle Name can't be null or empty");
-        Assert.hasText(clientRequest.getLastName(), "Last Name can't be null or empty");
-        Assert.hasText(clientRequest.getEmail(), "Email can't be null or empty");
-        Assert.isTrue(EmailValidator.getInstance().isValid(clientRequest.getEmail()), "Email doesn't have the correct structure");
-        Assert.hasText(clientRequest.getUsername(), "Username can't be null or empty");
-        Assert.hasText(clientRequest.getPassword(), "Password can't be null or empty");
-        Assert.isTrue(clientRequest.getPassword().length() > 5, "Password must have at least 6 characters");
-    }
-
-    public void validateUsernameAndPasswordRequest(ClientRequest clientRequest) {
-        Assert.hasText(clientRequest.getUsername(), "Username can't be null or empty");
-        Assert.hasText(clientRequest.getPassword(), "Password can't be null or empty");
-        Assert.isTrue(clientRequest.getPassword().length() > 5, "Password must have at least 6 characters");
+    public List<String> validatePostAndPutRequest(ClientRequest clientRequest) {
+        List<String> errors = new ArrayList<>(0);
+        validatePostAndPutRequest(clientRequest, errors);
+        return getErrors(errors);
+    }
+
+    public List<String> validateBatchPutRequest(ClientRequest clientRequest) {
+        List<String> errors = new ArrayList<>(0);
+        if (clientRequest.getId() == null) {
+            errors.add("Id can't be null");
+        }
+        validatePostAndPutRequest(clientRequest, errors);
+        return getErrors(errors);
+    }
+
+    public List<String> validatePatchRequest(ClientRequest clientRequest) {
+        if (clientRequest.getFirstName() == null && clientRequest.getMiddleName() == null
+                && clientRequest.getLastName() == null && clientRequest.getEmail() == null
+                && clientRequest.getUsername() == null && clientRequest.getPassword() == null
+                && clientRequest.getIsActive() == null) {
+            return List.of("At least one field must be supplied");
+        }
+
+        List<String> errors = new ArrayList<>(0);
+        if (clientRequest.getFirstName() != null) {
+            hasText(clientRequest.getFirstName(), "First Name can't be null or empty", errors);
+        }
+        if (clientRequest.getMiddleName() != null) {
+            hasText(clientRequest.getMiddleName(), "Middle Name can't be null or empty", errors);
+        }
+        if (clientRequest.getLastName() != null) {
+            hasText(clientRequest.getLastName(), "Last Name can't be null or empty", errors);
+        }
+        if (clientRequest.getEmail() != null && !EmailValidator.getInstance().isValid(clientRequest.getEmail())) {
+            errors.add("Email doesn't have the correct structure");
+        }
+        if (clientRequest.getUsername() != null) {
+            hasText(clientRequest.getUsername(), "Username can't be null or empty", errors);
+        }
+        if (clientRequest.getPassword() != null && clientRequest.getPassword().length() <= 5) {
+            errors.add("Password must have at least 6 characters");
+        }
+        return getErrors(errors);
+    }
+
+    public List<String> validateUsernameAndPasswordRequest(ClientRequest clientRequest) {
+        List<String> errors = new ArrayList<>(0);
+        hasText(clientRequest.getUsername(), "Username can't be null or empty", errors);
+        validatePassword(clientRequest.getPassword(), errors);
+        return getErrors(errors);
+    }
+
+    private void validatePostAndPutRequest(ClientRequest clientRequest, List<String> errors) {
+        hasText(clientRequest.getFirstName(), "First Name can't be null or empty", errors);
+        hasText(clientRequest.getMiddleName(), "Middle Name can't be null or empty", errors);
+        hasText(clientRequest.getLastName(), "Last Name can't be null or empty", errors);
+        if (hasText(clientRequest.getEmail(), "Email can't be null or empty", errors)
+                && !EmailValidator.getInstance().isValid(clientRequest.getEmail())) {
+            errors.add("Email doesn't have the correct structure");
+        }
+        hasText(clientRequest.getUsername(), "Username can't be null or empty", errors);
+        validatePassword(clientRequest.getPassword(), errors);
+    }
+
+    private void validatePassword(String password, List<String> errors) {
+        if (hasText(password, "Password can't be null or empty", errors) && password.length() <= 5) {
+            errors.add("Password must have at least 6 characters");
+        }
+    }
+
+    private boolean hasText(String value, String message, List<String> errors) {
+        if (StringUtils.hasText(value)) {
+            return true;
+        }
+        errors.add(message);
+        return false;
+    }
+
+    private List<String> getErrors(List<String> errors) {
+        return errors.isEmpty() ? Collections.emptyList() : errors;
     }
 }
@@ -0,0 +1,65 @@
+package com.ironbrain.clients.backend.cache;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CacheInvalidationListener(cacheManager, "local-node");
+    }
+
+    @Test
+    void evictFromOtherNode() {
+        listener.onMessage(message(new CacheInvalidationMessage("other-node", "usernames", "a|b")), null);
+
+        Mockito.verify(cacheManager).evictLocal("usernames", "a|b");
+    }
+
+    @Test
+    void clearFromOtherNode() {
+        listener.onMessage(message(new CacheInvalidationMessage("other-node", "usernames", null)), null);
+
+        Mockito.verify(cacheManager).clearLocal("usernames");
+    }
+
+    @Test
+    void ignoresOwnMessages() {
+        listener.onMessage(message(new CacheInvalidationMessage("local-node", "usernames", "1")), null);
+
+        Mockito.verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void ignoresInvalidMessages() {
+        listener.onMessage(new DefaultMessage(new byte[0], "garbage".getBytes(StandardCharsets.UTF_8)), null);
+
+        Mockito.verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void decodeEmptyKey() {
+        CacheInvalidationMessage message = CacheInvalidationMessage.decode(new CacheInvalidationMessage("node", "usernames", "").encode());
+
+        Assertions.assertFalse(message.isClear());
+        Assertions.assertEquals("", message.getKey());
+    }
+
+    private DefaultMessage message(CacheInvalidationMessage invalidation) {
+        return new DefaultMessage(new byte[0], invalidation.encode().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,196 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCacheLoaderTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ClientCache clientCache;
+
+    @Mock
+    private ClientNegativeCache clientNegativeCache;
+
+    private CacheProperties cacheProperties;
+
+    private ClientProperties clientProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private ClientCacheLoader loader;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getRedis().setTimeToLive(Duration.ofMinutes(1));
+        clientProperties = new ClientProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        client = Client.builder().id(1L).username("Psycho").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) {
+            loader.shutdown();
+        }
+    }
+
+    @Test
+    void hitIsServedFromTheCache() {
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.of(client));
+
+        Assertions.assertSame(client, loader.getById(1L).orElseThrow());
+        Mockito.verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    void missIsLoadedAndCached() {
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientCache.getStamp(1L)).thenReturn(7L);
+        Mockito.when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+        Assertions.assertSame(client, loader.getById(1L).orElseThrow());
+        InOrder inOrder = Mockito.inOrder(clientCache, clientRepository);
+        inOrder.verify(clientCache).getStamp(1L);
+        inOrder.verify(clientRepository).findById(1L);
+        inOrder.verify(clientCache).putLoaded(client, 7L);
+        Assertions.assertEquals(1.0, count("loaded"));
+    }
+
+    @Test
+    void missingClientIsNotCached() {
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientRepository.findById(1L)).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(loader.getById(1L).isEmpty());
+        Mockito.verify(clientCache, Mockito.never()).putLoaded(Mockito.any(), Mockito.anyLong());
+        Mockito.verify(clientNegativeCache).putMissingId(1L);
+    }
+
+    @Test
+    void knownMissingClientIsNotLoaded() {
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientNegativeCache.isMissingId(1L)).thenReturn(true);
+
+        Assertions.assertTrue(loader.getById(1L).isEmpty());
+        Mockito.verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        loader = newLoader();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientRepository.findById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(client);
+        });
+
+        CompletableFuture<Optional<Client>> first = CompletableFuture.supplyAsync(() -> loader.getById(1L));
+        Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<Client>> second = CompletableFuture.supplyAsync(() -> loader.getById(1L));
+        while (count("coalesced") < 1.0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        Assertions.assertSame(client, first.get(5, TimeUnit.SECONDS).orElseThrow());
+        Assertions.assertSame(client, second.get(5, TimeUnit.SECONDS).orElseThrow());
+        Mockito.verify(clientRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    void failedLoadIsNotRemembered() {
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientRepository.findById(1L))
+                .thenThrow(new IllegalStateException("Connection refused"))
+                .thenReturn(Optional.of(client));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> loader.getById(1L));
+        Assertions.assertSame(client, loader.getById(1L).orElseThrow());
+    }
+
+    @Test
+    void hotEntryIsRefreshedBeforeItExpires() {
+        // A huge beta makes the refresh due on the first hit
+        clientProperties.getCache().getRefreshAhead().setBeta(1e9);
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty(), Optional.of(client));
+        Mockito.when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        Mockito.when(clientCache.putLoaded(client, 0L)).thenReturn(true);
+
+        loader.getById(1L);
+        loader.getById(1L);
+
+        Mockito.verify(clientRepository, Mockito.timeout(1000).times(2)).findById(1L);
+        Assertions.assertEquals(1.0, count("refreshed_ahead"));
+    }
+
+    @Test
+    void droppedFillIsNotRefreshedAhead() {
+        clientProperties.getCache().getRefreshAhead().setBeta(1e9);
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty(), Optional.of(client));
+        Mockito.when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        Mockito.when(clientCache.putLoaded(client, 0L)).thenReturn(false);
+
+        loader.getById(1L);
+        loader.getById(1L);
+
+        Mockito.verify(clientRepository, Mockito.times(1)).findById(1L);
+        Assertions.assertEquals(0.0, count("refreshed_ahead"));
+    }
+
+    @Test
+    void refreshAheadCanBeDisabled() {
+        clientProperties.getCache().getRefreshAhead().setEnabled(false);
+        clientProperties.getCache().getRefreshAhead().setBeta(1e9);
+        loader = newLoader();
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty(), Optional.of(client));
+        Mockito.when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+        loader.getById(1L);
+        loader.getById(1L);
+
+        Mockito.verify(clientRepository, Mockito.times(1)).findById(1L);
+    }
+
+    private ClientCacheLoader newLoader() {
+        return new ClientCacheLoader(clientRepository, clientCache, clientNegativeCache, cacheProperties, clientProperties, meterRegistry);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("client.cache.loads").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,172 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class ClientCacheTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private ClientResponseCache clientResponseCache;
+
+    private ClientCache clientCache;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        clientResponseCache = new ClientResponseCache(getResponseBytesEnabled(), new ObjectMapper(), new SimpleMeterRegistry());
+        clientCache = new ClientCache(cacheManager, clientResponseCache,
+                new ClientNegativeCache(cacheManager, new ClientProperties(), new SimpleMeterRegistry()));
+        client = Client.builder().id(1L).username("Psycho").build();
+    }
+
+    @Test
+    void putIndexesByIdAndUsername() {
+        clientCache.put(client);
+
+        Assertions.assertSame(client, clientCache.getById(1L).orElseThrow());
+        Assertions.assertSame(client, clientCache.getByUsername("Psycho").orElseThrow());
+        Assertions.assertTrue(clientCache.getByUsername("Other").isEmpty());
+    }
+
+    @Test
+    void putForgetsTheMissingClient() {
+        ClientNegativeCache negatives = new ClientNegativeCache(cacheManager, new ClientProperties(), new SimpleMeterRegistry());
+        clientCache = new ClientCache(cacheManager, clientResponseCache, negatives);
+        negatives.putMissingId(1L);
+        negatives.putMissingUsername("Psycho");
+
+        clientCache.put(client);
+
+        Assertions.assertFalse(negatives.isMissingId(1L));
+        Assertions.assertFalse(negatives.isMissingUsername("Psycho"));
+    }
+
+    @Test
+    void putLoadedIndexesByIdAndUsername() {
+        Assertions.assertTrue(clientCache.putLoaded(client, clientCache.getStamp(1L)));
+
+        Assertions.assertSame(client, clientCache.getById(1L).orElseThrow());
+        Assertions.assertSame(client, clientCache.getByUsername("Psycho").orElseThrow());
+    }
+
+    @Test
+    void putLoadedKeepsAWriteMadeDuringTheRead() {
+        long stamp = clientCache.getStamp(1L);
+        Client written = Client.builder().id(1L).username("Metatron").version(2L).build();
+        clientCache.put(written);
+
+        Assertions.assertFalse(clientCache.putLoaded(client, stamp));
+        Assertions.assertSame(written, clientCache.getById(1L).orElseThrow());
+    }
+
+    @Test
+    void putLoadedKeepsADeleteMadeDuringTheRead() {
+        long stamp = clientCache.getStamp(1L);
+        clientCache.evictById(1L);
+
+        Assertions.assertFalse(clientCache.putLoaded(client, stamp));
+        Assertions.assertTrue(clientCache.getById(1L).isEmpty());
+    }
+
+    @Test
+    void putLoadedKeepsANewerVersion() {
+        Client newer = Client.builder().id(1L).username("Psycho").version(3L).build();
+        Client older = Client.builder().id(1L).username("Psycho").version(2L).build();
+        clientCache.put(newer);
+
+        Assertions.assertFalse(clientCache.putLoaded(older, clientCache.getStamp(1L)));
+        Assertions.assertSame(newer, clientCache.getById(1L).orElseThrow());
+    }
+
+    @Test
+    void putLoadedIgnoresWritesOfOtherIds() {
+        long stamp = clientCache.getStamp(1L);
+        clientCache.put(Client.builder().id(2L).username("Dexter").build());
+
+        Assertions.assertTrue(clientCache.putLoaded(client, stamp));
+    }
+
+    @Test
+    void putLoadedByUsernameKeepsAnyWriteMadeDuringTheRead() {
+        long stamp = clientCache.getStamp();
+        clientCache.evictById(1L);
+
+        Assertions.assertFalse(clientCache.putLoadedByUsername(client, stamp));
+        Assertions.assertTrue(clientCache.getByUsername("Psycho").isEmpty());
+    }
+
+    @Test
+    void replaceDropsPreviousUsername() {
+        clientCache.put(client);
+
+        Client renamed = Client.builder().id(1L).username("Metatron").build();
+        clientCache.replace("Psycho", renamed);
+
+        Assertions.assertTrue(clientCache.getByUsername("Psycho").isEmpty());
+        Assertions.assertSame(renamed, clientCache.getByUsername("Metatron").orElseThrow());
+        Assertions.assertNull(cacheManager.getCache(ClientCache.usernamesCacheName).get("Psycho"));
+    }
+
+    @Test
+    void evictDropsEveryAlias() {
+        clientCache.put(client);
+        clientCache.evict(client);
+
+        Assertions.assertTrue(clientCache.getById(1L).isEmpty());
+        Assertions.assertTrue(clientCache.getByUsername("Psycho").isEmpty());
+    }
+
+    @Test
+    void evictByIdMakesAliasUnreachable() {
+        clientCache.put(client);
+        clientCache.evictById(1L);
+
+        Assertions.assertTrue(clientCache.getById(1L).isEmpty());
+        Assertions.assertTrue(clientCache.getByUsername("Psycho").isEmpty());
+    }
+
+    @Test
+    void writesDropResponseBytes() {
+        clientResponseCache.put(1L, 0L, "body");
+        clientCache.put(Client.builder().id(1L).username("Psycho").version(0L).build());
+
+        Assertions.assertTrue(clientResponseCache.get(1L, 0L).isEmpty());
+
+        clientResponseCache.put(1L, 0L, "body");
+        clientCache.evictById(1L);
+
+        Assertions.assertTrue(clientResponseCache.get(1L, 0L).isEmpty());
+    }
+
+    @Test
+    void staleAliasIsIgnored() {
+        clientCache.put(client);
+        cacheManager.getCache(ClientCache.clientsCacheName).evict(1L);
+
+        Assertions.assertTrue(clientCache.getByUsername("Psycho").isEmpty());
+        Assertions.assertNull(cacheManager.getCache(ClientCache.usernamesCacheName).get("Psycho"));
+    }
+
+    @Test
+    void aliasPointingToRenamedClientIsIgnored() {
+        clientCache.put(client);
+        clientCache.put(Client.builder().id(1L).username("Metatron").build());
+
+        Assertions.assertTrue(clientCache.getByUsername("Psycho").isEmpty());
+    }
+
+    private ClientProperties getResponseBytesEnabled() {
+        ClientProperties clientProperties = new ClientProperties();
+        clientProperties.getCache().getResponseBytes().setEnabled(true);
+        return clientProperties;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCacheWarmupTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ClientCache clientCache;
+
+    private ClientProperties clientProperties;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clientProperties = new ClientProperties();
+        clientProperties.getCache().getWarmup().setMaximumClients(3);
+        clientProperties.getCache().getWarmup().setChunkSize(2);
+        clientProperties.getCache().getWarmup().setParallelism(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void isWarmingUntilTheWarmupRan() {
+        ClientCacheWarmup warmup = newWarmup();
+
+        Assertions.assertEquals(ClientCacheWarmup.warming, warmup.health().getStatus());
+        Assertions.assertEquals("pending", warmup.health().getDetails().get("state"));
+    }
+
+    @Test
+    void loadsTheRecentClientsInChunks() {
+        Client first = Client.builder().id(3L).username("Psycho").build();
+        Client second = Client.builder().id(2L).username("Dexter").build();
+        Client third = Client.builder().id(1L).username("Hannibal").build();
+        Mockito.when(clientRepository.findRecentlyUpdatedIds(PageRequest.of(0, 3))).thenReturn(List.of(3L, 2L, 1L));
+        Mockito.when(clientRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(first, second));
+        Mockito.when(clientRepository.findAllById(List.of(1L))).thenReturn(List.of(third));
+        Mockito.when(clientCache.getStamp(Mockito.anyLong())).thenReturn(7L);
+        Mockito.when(clientCache.putLoaded(Mockito.any(), Mockito.eq(7L))).thenReturn(true);
+        ClientCacheWarmup warmup = newWarmup();
+
+        warmup.warmUp();
+
+        Mockito.verify(clientCache).putLoaded(first, 7L);
+        Mockito.verify(clientCache).putLoaded(second, 7L);
+        Mockito.verify(clientCache).putLoaded(third, 7L);
+        Assertions.assertEquals(Status.UP, warmup.health().getStatus());
+        Assertions.assertEquals("completed", warmup.health().getDetails().get("state"));
+        Assertions.assertEquals(3L, warmup.health().getDetails().get("loaded"));
+        Assertions.assertEquals(3.0, meterRegistry.get("client.cache.warmup.loaded").counter().count());
+        Assertions.assertEquals(1L, meterRegistry.get("client.cache.warmup").timer().count());
+    }
+
+    @Test
+    void clientsWrittenDuringTheReadAreNotCounted() {
+        Client stale = Client.builder().id(1L).username("Psycho").build();
+        Mockito.when(clientRepository.findRecentlyUpdatedIds(PageRequest.of(0, 3))).thenReturn(List.of(1L));
+        Mockito.when(clientRepository.findAllById(List.of(1L))).thenReturn(List.of(stale));
+        Mockito.when(clientCache.getStamp(1L)).thenReturn(7L);
+        Mockito.when(clientCache.putLoaded(stale, 7L)).thenReturn(false);
+        ClientCacheWarmup warmup = newWarmup();
+
+        warmup.warmUp();
+
+        Assertions.assertEquals(0L, warmup.health().getDetails().get("loaded"));
+    }
+
+    @Test
+    void isUpOnceTheBudgetRunsOut() throws InterruptedException {
+        clientProperties.getCache().getWarmup().setTimeBudget(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(clientRepository.findRecentlyUpdatedIds(PageRequest.of(0, 3))).thenReturn(List.of(1L));
+        Mockito.when(clientRepository.findAllById(List.of(1L))).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        ClientCacheWarmup warmup = newWarmup();
+
+        warmup.warmUp();
+        release.countDown();
+
+        Assertions.assertEquals(Status.UP, warmup.health().getStatus());
+        Assertions.assertEquals("budget exceeded", warmup.health().getDetails().get("state"));
+    }
+
+    @Test
+    void isUpWhenTheWarmupFails() {
+        Mockito.when(clientRepository.findRecentlyUpdatedIds(ArgumentMatchers.any())).thenThrow(new IllegalStateException("down"));
+        ClientCacheWarmup warmup = newWarmup();
+
+        warmup.warmUp();
+
+        Assertions.assertEquals(Status.UP, warmup.health().getStatus());
+        Assertions.assertEquals("failed", warmup.health().getDetails().get("state"));
+        Mockito.verifyNoInteractions(clientCache);
+    }
+
+    @Test
+    void isUpRightAwayWhenDisabled() {
+        clientProperties.getCache().getWarmup().setEnabled(false);
+        ClientCacheWarmup warmup = newWarmup();
+
+        warmup.start();
+
+        Assertions.assertEquals(Status.UP, warmup.health().getStatus());
+        Assertions.assertEquals("disabled", warmup.health().getDetails().get("state"));
+        Mockito.verifyNoInteractions(clientRepository);
+    }
+
+    private ClientCacheWarmup newWarmup() {
+        return new ClientCacheWarmup(clientRepository, clientCache, clientProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClientNegativeCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    private ClientProperties clientProperties;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clientProperties = new ClientProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void missingIdsAndUsernamesAreRemembered() {
+        ClientNegativeCache negatives = new ClientNegativeCache(new ConcurrentMapCacheManager(), clientProperties, meterRegistry);
+
+        negatives.putMissingId(1L);
+        negatives.putMissingUsername("Nobody");
+
+        Assertions.assertTrue(negatives.isMissingId(1L));
+        Assertions.assertFalse(negatives.isMissingId(2L));
+        Assertions.assertTrue(negatives.isMissingUsername("Nobody"));
+        Assertions.assertEquals(1.0, meterRegistry.get("client.cache.negative").tag("key", "id").tag("result", "hit").counter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("client.cache.negative").tag("key", "username").tag("result", "stored").counter().count());
+    }
+
+    @Test
+    void savedClientIsForgotten() {
+        ClientNegativeCache negatives = new ClientNegativeCache(new ConcurrentMapCacheManager(), clientProperties, meterRegistry);
+        negatives.putMissingId(1L);
+        negatives.putMissingUsername("Psycho");
+
+        negatives.forget(Client.builder().id(1L).username("Psycho").build());
+
+        Assertions.assertFalse(negatives.isMissingId(1L));
+        Assertions.assertFalse(negatives.isMissingUsername("Psycho"));
+    }
+
+    @Test
+    void evictionsOfOtherNodesAreApplied() {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                new ConcurrentMapCacheManager(ClientCache.clientsCacheName, ClientCache.usernamesCacheName),
+                publisher, meterRegistry, 10, Duration.ofSeconds(10));
+        ClientNegativeCache negatives = new ClientNegativeCache(cacheManager, clientProperties, meterRegistry);
+        negatives.putMissingId(1L);
+        negatives.putMissingId(2L);
+        negatives.putMissingUsername("Psycho");
+
+        cacheManager.evictLocal(ClientCache.clientsCacheName, "1");
+        cacheManager.evictLocal(ClientCache.usernamesCacheName, "Psycho");
+
+        Assertions.assertFalse(negatives.isMissingId(1L));
+        Assertions.assertTrue(negatives.isMissingId(2L));
+        Assertions.assertFalse(negatives.isMissingUsername("Psycho"));
+
+        cacheManager.clearLocal(ClientCache.clientsCacheName);
+        Assertions.assertFalse(negatives.isMissingId(2L));
+    }
+
+    @Test
+    void disabledCacheRemembersNothing() {
+        clientProperties.getCache().getNegative().setEnabled(false);
+        ClientNegativeCache negatives = new ClientNegativeCache(new ConcurrentMapCacheManager(), clientProperties, meterRegistry);
+
+        negatives.putMissingId(1L);
+
+        Assertions.assertFalse(negatives.isMissingId(1L));
+    }
+}
@@ -0,0 +1,117 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.util.Date;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class ClientRedisSerializerTest {
+
+    private ClientRedisSerializer serializer;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new ClientRedisSerializer(CacheValueCodec.BINARY, getClass().getClassLoader());
+        client = new Client(123456L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psycho", "P@ssw0rd", true, new Date(), new Date(), 0L);
+    }
+
+    @Test
+    void clientRoundTrip() {
+        byte[] bytes = serializer.serialize(client);
+
+        Assertions.assertEquals(ClientRedisSerializer.magic, bytes[0]);
+        Assertions.assertEquals(ClientRedisSerializer.version, bytes[1]);
+
+        Client result = (Client) serializer.deserialize(bytes);
+
+        Assertions.assertEquals(client.getId(), result.getId());
+        Assertions.assertEquals(client.getFirstName(), result.getFirstName());
+        Assertions.assertEquals(client.getMiddleName(), result.getMiddleName());
+        Assertions.assertEquals(client.getLastName(), result.getLastName());
+        Assertions.assertEquals(client.getEmail(), result.getEmail());
+        Assertions.assertEquals(client.getUsername(), result.getUsername());
+        Assertions.assertEquals(client.getPassword(), result.getPassword());
+        Assertions.assertEquals(client.getIsActive(), result.getIsActive());
+        Assertions.assertEquals(client.getCreatedAt().getTime(), result.getCreatedAt().getTime());
+        Assertions.assertEquals(client.getUpdatedAt().getTime(), result.getUpdatedAt().getTime());
+        Assertions.assertEquals(client.getVersion(), result.getVersion());
+    }
+
+    @Test
+    void previousVersionIsReadAsFailure() {
+        byte[] bytes = serializer.serialize(client);
+        bytes[1] = 1;
+
+        Assertions.assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void emptyClientRoundTrip() {
+        Client result = (Client) serializer.deserialize(serializer.serialize(new Client()));
+
+        Assertions.assertNull(result.getId());
+        Assertions.assertNull(result.getUsername());
+        Assertions.assertNull(result.getIsActive());
+        Assertions.assertNull(result.getCreatedAt());
+    }
+
+    @Test
+    void longRoundTrip() {
+        Assertions.assertEquals(Long.MAX_VALUE, serializer.deserialize(serializer.serialize(Long.MAX_VALUE)));
+        Assertions.assertEquals(-1L, serializer.deserialize(serializer.serialize(-1L)));
+    }
+
+    @Test
+    void smallerThanJdkSerialization() {
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(client);
+
+        Assertions.assertTrue(serializer.serialize(client).length * 3 < jdk.length);
+    }
+
+    @Test
+    void readsJdkSerializedEntries() {
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(client);
+
+        Assertions.assertEquals("Psycho", ((Client) serializer.deserialize(jdk)).getUsername());
+        Assertions.assertSame(NullValue.INSTANCE, serializer.deserialize(serializer.serialize(NullValue.INSTANCE)));
+    }
+
+    @Test
+    void jdkCodecWritesJdkSerialization() {
+        ClientRedisSerializer jdkSerializer = new ClientRedisSerializer(CacheValueCodec.JDK, getClass().getClassLoader());
+
+        byte[] bytes = jdkSerializer.serialize(client);
+
+        Assertions.assertNotEquals(ClientRedisSerializer.magic, bytes[0]);
+        Assertions.assertEquals("Psycho", ((Client) serializer.deserialize(bytes)).getUsername());
+    }
+
+    @Test
+    void unknownVersionFails() {
+        byte[] bytes = serializer.serialize(client);
+        bytes[1] = ClientRedisSerializer.version + 1;
+
+        Assertions.assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void truncatedValueFails() {
+        byte[] bytes = serializer.serialize(client);
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        Assertions.assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+
+    @Test
+    void emptyValue() {
+        Assertions.assertNull(serializer.deserialize(new byte[0]));
+        Assertions.assertNull(serializer.deserialize(null));
+    }
+}
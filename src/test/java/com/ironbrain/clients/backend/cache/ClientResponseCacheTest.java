@@ -0,0 +1,69 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClientResponseCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ClientResponseCache cache;
+
+    private ClientResponse response;
+
+    @BeforeEach
+    void setUp() {
+        ClientProperties clientProperties = new ClientProperties();
+        clientProperties.getCache().getResponseBytes().setEnabled(true);
+
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ClientResponseCache(clientProperties, new ObjectMapper(), meterRegistry);
+        response = ClientResponse.builder().message("Client founded successfully !!!").build();
+    }
+
+    @Test
+    void putSerializesAndServesTheSameVersion() {
+        byte[] bytes = cache.put(1L, 2L, response).orElseThrow();
+
+        Assertions.assertEquals("{\"body\":null,\"message\":\"Client founded successfully !!!\"}", new String(bytes, StandardCharsets.UTF_8));
+        Assertions.assertSame(bytes, cache.get(1L, 2L).orElseThrow());
+        Assertions.assertEquals(1.0, meterRegistry.get("client.cache.response.bytes").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void otherVersionIsAMiss() {
+        cache.put(1L, 2L, response);
+
+        Assertions.assertTrue(cache.get(1L, 3L).isEmpty());
+        Assertions.assertEquals(1.0, meterRegistry.get("client.cache.response.bytes").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void evictDropsTheEntry() {
+        cache.put(1L, 2L, response);
+        cache.evict(1L);
+
+        Assertions.assertTrue(cache.get(1L, 2L).isEmpty());
+    }
+
+    @Test
+    void disabledCacheKeepsNothing() {
+        ClientResponseCache disabled = new ClientResponseCache(new ClientProperties(), new ObjectMapper(), meterRegistry);
+
+        Assertions.assertFalse(disabled.isEnabled());
+        Assertions.assertTrue(disabled.put(1L, 2L, response).isEmpty());
+        Assertions.assertTrue(disabled.get(1L, 2L).isEmpty());
+    }
+
+    @Test
+    void clientWithoutVersionIsNotCached() {
+        Assertions.assertTrue(cache.put(1L, null, response).isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.ironbrain.clients.backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager("usernames");
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, publisher, new SimpleMeterRegistry(), 10, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void getCache() {
+        Cache cache = cacheManager.getCache("usernames");
+
+        Assertions.assertTrue(cache instanceof TwoLevelCache);
+        Assertions.assertSame(cache, cacheManager.getCache("usernames"));
+        Assertions.assertNull(cacheManager.getCache("unknown"));
+        Assertions.assertTrue(cacheManager.getCacheNames().contains("usernames"));
+    }
+
+    @Test
+    void evictLocal() {
+        Cache cache = cacheManager.getCache("usernames");
+        cache.put(1L, "Psycho");
+        remoteCacheManager.getCache("usernames").evict(1L);
+
+        cacheManager.evictLocal("usernames", "1");
+
+        Assertions.assertNull(cache.get(1L));
+    }
+
+    @Test
+    void clearLocal() {
+        Cache cache = cacheManager.getCache("usernames");
+        cache.put(1L, "Psycho");
+        remoteCacheManager.getCache("usernames").clear();
+
+        cacheManager.clearLocal("usernames");
+        cacheManager.clearLocal("unknown");
+
+        Assertions.assertNull(cache.get(1L));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ironbrain.clients.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.SerializationException;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    private ConcurrentMapCache remote;
+
+    private MeterRegistry meterRegistry;
+
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("usernames");
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoLevelCache("usernames", remote, Caffeine.newBuilder().maximumSize(10).build(), publisher, meterRegistry);
+    }
+
+    @Test
+    void getPromotesRemoteHitToLocal() {
+        remote.put(1L, "Psycho");
+
+        Assertions.assertEquals("Psycho", cache.get(1L, String.class));
+
+        remote.evict(1L);
+
+        Assertions.assertEquals("Psycho", cache.get(1L, String.class));
+        Assertions.assertEquals(1.0, count("local", "hit"));
+        Assertions.assertEquals(1.0, count("local", "miss"));
+        Assertions.assertEquals(1.0, count("remote", "hit"));
+    }
+
+    @Test
+    void getMiss() {
+        Assertions.assertNull(cache.get(1L));
+        Assertions.assertEquals(1.0, count("remote", "miss"));
+    }
+
+    @Test
+    void putWritesBothTiersAndBroadcasts() {
+        cache.put(1L, "Psycho");
+
+        Assertions.assertEquals("Psycho", remote.get(1L).get());
+        Assertions.assertEquals("Psycho", cache.get(1L).get());
+        Mockito.verify(publisher).publishEvict("usernames", 1L);
+    }
+
+    @Test
+    void putLoadedWritesBothTiersWithoutBroadcast() {
+        cache.putLoaded(1L, "Psycho");
+
+        Assertions.assertEquals("Psycho", remote.get(1L).get());
+        Assertions.assertEquals("Psycho", cache.get(1L).get());
+        Mockito.verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void putIfAbsentKeepsTheExistingValue() {
+        remote.put(1L, "Psycho");
+
+        Assertions.assertEquals("Psycho", cache.putIfAbsent(1L, "Other").get());
+        Assertions.assertEquals("Psycho", cache.get(1L).get());
+        Mockito.verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void evictDropsBothTiersAndBroadcasts() {
+        cache.put(1L, "Psycho");
+        cache.evict(1L);
+
+        Assertions.assertNull(remote.get(1L));
+        Assertions.assertNull(cache.get(1L));
+        Mockito.verify(publisher, Mockito.times(2)).publishEvict("usernames", 1L);
+    }
+
+    @Test
+    void evictLocalKeepsRemote() {
+        cache.put(1L, "Psycho");
+        cache.evictLocal("1");
+        cache.get(1L);
+
+        Assertions.assertEquals(1.0, count("local", "miss"));
+        Assertions.assertEquals(1.0, count("remote", "hit"));
+    }
+
+    @Test
+    void clear() {
+        cache.put(1L, "Psycho");
+        cache.clear();
+
+        Assertions.assertNull(cache.get(1L));
+        Mockito.verify(publisher).publishClear("usernames");
+    }
+
+    @Test
+    void nullValuesAreCachedLocally() {
+        remote.put(1L, null);
+
+        Assertions.assertNotNull(cache.get(1L));
+        Assertions.assertNull(cache.get(1L).get());
+        Assertions.assertEquals(1.0, count("local", "hit"));
+    }
+
+    @Test
+    void unreadableRemoteValueIsAMiss() {
+        Cache unreadable = Mockito.mock(Cache.class);
+        Mockito.when(unreadable.get(1L)).thenThrow(new SerializationException("Unsupported cache value version 2"));
+
+        TwoLevelCache twoLevelCache = new TwoLevelCache("usernames", unreadable, Caffeine.newBuilder().build(), publisher, meterRegistry);
+
+        Assertions.assertNull(twoLevelCache.get(1L));
+        Assertions.assertEquals(1.0, count("remote", "miss"));
+    }
+
+    @Test
+    void getWithLoader() {
+        Assertions.assertEquals("Psycho", cache.get(1L, () -> "Psycho"));
+        Assertions.assertEquals("Psycho", cache.get(1L, () -> "Other"));
+        Mockito.verifyNoInteractions(publisher);
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("client.cache.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,264 @@
+package com.ironbrain.clients.backend.command;
+
+import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientBatchResult;
+import com.ironbrain.clients.backend.model.ClientBatchStatus;
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandState;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import com.ironbrain.clients.backend.service.ClientService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCommandProcessorTest {
+
+    @Mock
+    private ClientService clientService;
+
+    private ClientCommandTracker tracker;
+
+    private MeterRegistry meterRegistry;
+
+    private ClientCommandProcessor processor;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ClientCommandTracker(new ConcurrentMapCacheManager());
+        meterRegistry = new SimpleMeterRegistry();
+        processor = new ClientCommandProcessor(clientService, tracker, meterRegistry, 2);
+    }
+
+    @Test
+    void consecutiveSavesAreOneBatch() {
+        ClientCommand first = command(ClientCommandType.SAVE, null, Client.builder().username("first").build());
+        ClientCommand second = command(ClientCommandType.SAVE, null, Client.builder().username("second").build());
+        Mockito.when(clientService.saveAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, Client.builder().id(1L).build(), ClientBatchStatus.SAVED, "Client saved successfully !!!"),
+                result(1, null, ClientBatchStatus.DUPLICATED, "Already exists this Username in the System !!!")));
+
+        processor.process(List.of(first, second));
+
+        Mockito.verify(clientService, Mockito.times(1)).saveAllHashed(Mockito.anyList());
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(first));
+        Assertions.assertEquals(1L, tracker.get(first.getTrackingId()).get().getClientId());
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(second));
+        Assertions.assertEquals("Already exists this Username in the System !!!", tracker.get(second.getTrackingId()).get().getMessage());
+        Assertions.assertEquals(1.0, meterRegistry.get("client.commands").tag("type", "save").tag("result", "applied").counter().count());
+    }
+
+    @Test
+    void onlyTheLastUpdateOfAClientIsWritten() {
+        ClientCommand first = command(ClientCommandType.UPDATE, 1L, Client.builder().username("first").build());
+        ClientCommand other = command(ClientCommandType.UPDATE, 2L, Client.builder().username("other").build());
+        ClientCommand last = command(ClientCommandType.UPDATE, 1L, Client.builder().username("last").build());
+        Mockito.when(clientService.updateAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, Client.builder().id(1L).build(), ClientBatchStatus.UPDATED, "Client updated successfully !!!"),
+                result(1, null, ClientBatchStatus.NOT_FOUND, "The Client with the Id = 2 does not exist !!!")));
+
+        processor.process(List.of(first, other, last));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Client>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(clientService).updateAllHashed(captor.capture());
+        Assertions.assertEquals(2, captor.getValue().size());
+        Assertions.assertEquals("last", captor.getValue().get(0).getUsername());
+        Assertions.assertEquals(1L, captor.getValue().get(0).getId());
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(first));
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(last));
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(other));
+    }
+
+    @Test
+    void versionedUpdateIsCheckedAlone() {
+        ClientCommand plain = command(ClientCommandType.UPDATE, 1L, Client.builder().username("plain").build());
+        ClientCommand versioned = command(ClientCommandType.UPDATE, 1L, Client.builder().username("versioned").version(3L).build());
+        Mockito.when(clientService.updateAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, Client.builder().id(1L).build(), ClientBatchStatus.UPDATED, "Client updated successfully !!!")));
+        Mockito.when(clientService.updateHashedById(versioned.getClient(), 1L))
+                .thenThrow(new PreconditionFailedException("The Client with the Id = 1 was modified by someone else !!!"));
+
+        processor.process(List.of(plain, versioned));
+
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(plain));
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(versioned));
+        Assertions.assertEquals("The Client with the Id = 1 was modified by someone else !!!",
+                tracker.get(versioned.getTrackingId()).get().getMessage());
+    }
+
+    @Test
+    void togglesCollapseToTheirParity() {
+        ClientCommand first = command(ClientCommandType.TOGGLE, 1L, null);
+        ClientCommand second = command(ClientCommandType.TOGGLE, 1L, null);
+        ClientCommand third = command(ClientCommandType.TOGGLE, 2L, null);
+        Mockito.when(clientService.existsById(1L)).thenReturn(true);
+        Mockito.when(clientService.activateAndDeactivateClientById(2L)).thenReturn(Client.builder().id(2L).isActive(true).build());
+
+        processor.process(List.of(first, second, third));
+
+        Mockito.verify(clientService, Mockito.never()).activateAndDeactivateClientById(1L);
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(first));
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(second));
+        Assertions.assertEquals("Client activated successfully !!!", tracker.get(third.getTrackingId()).get().getMessage());
+    }
+
+    @Test
+    void cancelledTogglesOfAMissingClientAreRejected() {
+        ClientCommand first = command(ClientCommandType.TOGGLE, 1L, null);
+        ClientCommand second = command(ClientCommandType.TOGGLE, 1L, null);
+        Mockito.when(clientService.existsById(1L)).thenReturn(false);
+
+        processor.process(List.of(first, second));
+
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(first));
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(second));
+    }
+
+    @Test
+    void repeatedDeletesRunOnce() {
+        ClientCommand first = command(ClientCommandType.DELETE, 1L, null);
+        ClientCommand second = command(ClientCommandType.DELETE, 1L, null);
+        ClientCommand missing = command(ClientCommandType.DELETE, 2L, null);
+        Mockito.doThrow(new NotFoundException("The Client with the Id = 2 does not exist !!!")).when(clientService).deleteById(2L);
+
+        processor.process(List.of(first, second, missing));
+
+        Mockito.verify(clientService, Mockito.times(1)).deleteById(1L);
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(first));
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(second));
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(missing));
+    }
+
+    @Test
+    void runsKeepThePublishOrder() {
+        ClientCommand save = command(ClientCommandType.SAVE, null, Client.builder().username("saved").build());
+        ClientCommand delete = command(ClientCommandType.DELETE, 1L, null);
+        ClientCommand update = command(ClientCommandType.UPDATE, 1L, Client.builder().username("updated").build());
+        Mockito.when(clientService.saveAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, Client.builder().id(1L).build(), ClientBatchStatus.SAVED, "Client saved successfully !!!")));
+        Mockito.when(clientService.updateAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, null, ClientBatchStatus.NOT_FOUND, "The Client with the Id = 1 does not exist !!!")));
+
+        processor.process(List.of(save, delete, update));
+
+        InOrder inOrder = Mockito.inOrder(clientService);
+        inOrder.verify(clientService).saveAllHashed(Mockito.anyList());
+        inOrder.verify(clientService).deleteById(1L);
+        inOrder.verify(clientService).updateAllHashed(Mockito.anyList());
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(update));
+    }
+
+    @Test
+    void failedRunIsThrownBackPending() {
+        ClientCommand save = command(ClientCommandType.SAVE, null, Client.builder().username("saved").build());
+        Mockito.when(clientService.saveAllHashed(Mockito.anyList())).thenThrow(new IllegalStateException("Connection refused"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> processor.process(List.of(save)));
+
+        Assertions.assertEquals(ClientCommandState.PENDING, state(save));
+    }
+
+    @Test
+    void failedRowIsThrownBackAfterTheOthersAreSettled() {
+        ClientCommand first = command(ClientCommandType.SAVE, null, Client.builder().username("first").build());
+        ClientCommand second = command(ClientCommandType.SAVE, null, Client.builder().username("second").build());
+        Mockito.when(clientService.saveAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, Client.builder().id(1L).build(), ClientBatchStatus.SAVED, "Client saved successfully !!!"),
+                result(1, null, ClientBatchStatus.FAILED, "Connection refused")));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> processor.process(List.of(first, second)));
+
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(first));
+        Assertions.assertEquals(ClientCommandState.PENDING, state(second));
+    }
+
+    @Test
+    void redeliveredCommandsSkipWhatWasSettled() {
+        ClientCommand first = command(ClientCommandType.SAVE, null, Client.builder().username("first").build());
+        ClientCommand second = command(ClientCommandType.SAVE, null, Client.builder().username("second").build());
+        tracker.applied(first, 1L, "Client saved successfully !!!");
+        Mockito.when(clientService.saveAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, Client.builder().id(2L).build(), ClientBatchStatus.SAVED, "Client saved successfully !!!")));
+
+        processor.process(List.of(first, second));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Client>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(clientService).saveAllHashed(captor.capture());
+        Assertions.assertEquals(List.of(second.getClient()), captor.getValue());
+        Assertions.assertEquals(2L, tracker.get(second.getTrackingId()).get().getClientId());
+    }
+
+    @Test
+    void failedDeleteIsThrownBack() {
+        ClientCommand delete = command(ClientCommandType.DELETE, 1L, null);
+        Mockito.doThrow(new IllegalStateException("Connection refused")).when(clientService).deleteById(1L);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> processor.process(List.of(delete)));
+
+        Assertions.assertEquals(ClientCommandState.PENDING, state(delete));
+    }
+
+    @Test
+    void commandIsRejectedOnceItUsedUpItsAttempts() {
+        ClientCommand stuck = command(ClientCommandType.DELETE, 1L, null);
+        ClientCommand next = command(ClientCommandType.SAVE, null, Client.builder().username("next").build());
+        Mockito.doThrow(new IllegalStateException("Connection refused")).when(clientService).deleteById(1L);
+        Mockito.when(clientService.saveAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, Client.builder().id(2L).build(), ClientBatchStatus.SAVED, "Client saved successfully !!!")));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> processor.process(List.of(stuck, next)));
+        Assertions.assertEquals(1, tracker.get(stuck.getTrackingId()).get().getAttempts());
+        processor.process(List.of(stuck, next));
+
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(stuck));
+        Assertions.assertEquals("The Client command failed 2 times: Connection refused", tracker.get(stuck.getTrackingId()).get().getMessage());
+        Assertions.assertEquals(ClientCommandState.APPLIED, state(next));
+    }
+
+    @Test
+    void invalidRowIsRejected() {
+        ClientCommand save = command(ClientCommandType.SAVE, null, Client.builder().username("invalid").build());
+        Mockito.when(clientService.saveAllHashed(Mockito.anyList())).thenReturn(List.of(
+                result(0, null, ClientBatchStatus.INVALID, "value too long for type character varying(50)")));
+
+        processor.process(List.of(save));
+
+        Assertions.assertEquals(ClientCommandState.REJECTED, state(save));
+    }
+
+    private ClientCommand command(ClientCommandType type, Long clientId, Client client) {
+        ClientCommand command = ClientCommand.builder()
+                .trackingId("command-" + ++sequence)
+                .type(type)
+                .clientId(clientId)
+                .client(client)
+                .acceptedAt(System.currentTimeMillis())
+                .build();
+        tracker.accepted(command);
+        return command;
+    }
+
+    private ClientBatchResult result(int index, Client client, ClientBatchStatus status, String message) {
+        return ClientBatchResult.builder().index(index).client(client).status(status).message(message).build();
+    }
+
+    private ClientCommandState state(ClientCommand command) {
+        return tracker.get(command.getTrackingId()).get().getState();
+    }
+}
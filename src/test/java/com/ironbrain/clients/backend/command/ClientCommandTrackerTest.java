@@ -0,0 +1,63 @@
+package com.ironbrain.clients.backend.command;
+
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandState;
+import com.ironbrain.clients.backend.model.ClientCommandStatus;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class ClientCommandTrackerTest {
+
+    private ClientCommandTracker tracker;
+
+    private ClientCommand command;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ClientCommandTracker(new ConcurrentMapCacheManager());
+        command = ClientCommand.builder().trackingId("command-1").type(ClientCommandType.SAVE).acceptedAt(1000L).build();
+    }
+
+    @Test
+    void acceptedThenApplied() {
+        tracker.accepted(command);
+
+        ClientCommandStatus pending = tracker.get("command-1").get();
+        Assertions.assertEquals(ClientCommandState.PENDING, pending.getState());
+        Assertions.assertEquals(1000L, pending.getAcceptedAt().getTime());
+        Assertions.assertNull(pending.getCompletedAt());
+
+        tracker.applied(command, 7L, "Client saved successfully !!!");
+
+        ClientCommandStatus applied = tracker.get("command-1").get();
+        Assertions.assertEquals(ClientCommandState.APPLIED, applied.getState());
+        Assertions.assertEquals(7L, applied.getClientId());
+        Assertions.assertNotNull(applied.getCompletedAt());
+    }
+
+    @Test
+    void rejected() {
+        tracker.rejected(command, "Already exists this Email in the System !!!");
+
+        Assertions.assertEquals(ClientCommandState.REJECTED, tracker.get("command-1").get().getState());
+    }
+
+    @Test
+    void failedCountsTheAttempts() {
+        tracker.accepted(command);
+        tracker.failed(command, "Connection refused");
+
+        ClientCommandStatus failed = tracker.failed(command, "Connection refused");
+        Assertions.assertEquals(ClientCommandState.PENDING, failed.getState());
+        Assertions.assertEquals(2, failed.getAttempts());
+        Assertions.assertEquals(2, tracker.get("command-1").get().getAttempts());
+    }
+
+    @Test
+    void unknown() {
+        Assertions.assertTrue(tracker.get("missing").isEmpty());
+    }
+}
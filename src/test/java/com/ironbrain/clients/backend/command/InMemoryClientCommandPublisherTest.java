@@ -0,0 +1,77 @@
+package com.ironbrain.clients.backend.command;
+
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryClientCommandPublisherTest {
+
+    @Mock
+    private ClientCommandProcessor processor;
+
+    private InMemoryClientCommandPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new InMemoryClientCommandPublisher(processor, 3, Duration.ofMillis(200), Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+    }
+
+    @Test
+    void commandsAreAppliedInBatchesAndInOrder() {
+        List<ClientCommand> published = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            ClientCommand command = ClientCommand.builder().trackingId("command-" + id).type(ClientCommandType.DELETE).clientId(id).build();
+            published.add(command);
+            publisher.publish(command);
+        }
+
+        publisher.start();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClientCommand>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(processor, Mockito.timeout(5000).times(2)).process(captor.capture());
+        Assertions.assertEquals(3, captor.getAllValues().get(0).size());
+        Assertions.assertEquals(2, captor.getAllValues().get(1).size());
+
+        List<ClientCommand> applied = new ArrayList<>();
+        captor.getAllValues().forEach(applied::addAll);
+        Assertions.assertEquals(published, applied);
+        Assertions.assertEquals(0, publisher.getPending());
+    }
+
+    @Test
+    void failedBatchIsRetried() {
+        Mockito.doThrow(new IllegalStateException("Connection refused")).doNothing().when(processor).process(Mockito.anyList());
+        ClientCommand command = ClientCommand.builder().trackingId("first").type(ClientCommandType.TOGGLE).clientId(1L).build();
+        publisher.start();
+
+        publisher.publish(command);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClientCommand>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(processor, Mockito.timeout(5000).times(2)).process(captor.capture());
+        Assertions.assertEquals(List.of(command), captor.getAllValues().get(0));
+        Assertions.assertEquals(List.of(command), captor.getAllValues().get(1));
+
+        ClientCommand next = ClientCommand.builder().trackingId("second").type(ClientCommandType.TOGGLE).clientId(1L).build();
+        publisher.publish(next);
+        Mockito.verify(processor, Mockito.timeout(5000).times(3)).process(Mockito.anyList());
+    }
+}
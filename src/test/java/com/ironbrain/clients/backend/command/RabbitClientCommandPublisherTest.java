@@ -0,0 +1,116 @@
+package com.ironbrain.clients.backend.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class RabbitClientCommandPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ClientCommandProcessor processor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RabbitClientCommandPublisher publisher;
+
+    private RabbitClientCommandListener listener;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new RabbitClientCommandPublisher(rabbitTemplate, objectMapper, "client-commands", Duration.ofMillis(100));
+        listener = new RabbitClientCommandListener(processor, objectMapper, Duration.ZERO);
+    }
+
+    @Test
+    void publishedCommandIsReadByTheListener() {
+        ClientCommand command = ClientCommand.builder()
+                .trackingId("command-1")
+                .type(ClientCommandType.UPDATE)
+                .clientId(1L)
+                .client(Client.builder().username("Psycho").version(2L).build())
+                .acceptedAt(1L)
+                .build();
+        confirmWith(true);
+
+        publisher.publish(command);
+
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(rabbitTemplate).send(Mockito.eq(""), Mockito.eq("client-commands"), message.capture(), Mockito.any());
+        Assertions.assertEquals("command-1", message.getValue().getMessageProperties().getMessageId());
+        Assertions.assertEquals(MessageDeliveryMode.PERSISTENT, message.getValue().getMessageProperties().getDeliveryMode());
+
+        listener.onCommands(List.of(message.getValue()));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClientCommand>> commands = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(processor).process(commands.capture());
+        ClientCommand received = commands.getValue().get(0);
+        Assertions.assertEquals("command-1", received.getTrackingId());
+        Assertions.assertEquals(ClientCommandType.UPDATE, received.getType());
+        Assertions.assertEquals("Psycho", received.getClient().getUsername());
+        Assertions.assertEquals(2L, received.getClient().getVersion());
+    }
+
+    @Test
+    void nackedCommandFailsThePublish() {
+        confirmWith(false);
+
+        Assertions.assertThrows(AmqpException.class, () -> publisher.publish(deleteCommand()));
+    }
+
+    @Test
+    void unconfirmedCommandFailsThePublish() {
+        Assertions.assertThrows(AmqpException.class, () -> publisher.publish(deleteCommand()));
+    }
+
+    @Test
+    void unreadableMessagesAreDropped() {
+        Message broken = new Message("not json".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        listener.onCommands(List.of(broken));
+
+        Mockito.verifyNoInteractions(processor);
+    }
+
+    @Test
+    void failedBatchIsThrownBackToTheContainer() throws Exception {
+        Message message = new Message(objectMapper.writeValueAsBytes(deleteCommand()), new MessageProperties());
+        Mockito.doThrow(new IllegalStateException("Connection refused")).when(processor).process(Mockito.anyList());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> listener.onCommands(List.of(message)));
+    }
+
+    private ClientCommand deleteCommand() {
+        return ClientCommand.builder().trackingId("command-1").type(ClientCommandType.DELETE).clientId(1L).build();
+    }
+
+    private void confirmWith(boolean ack) {
+        Mockito.doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().set(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).send(Mockito.anyString(), Mockito.anyString(), Mockito.any(Message.class), Mockito.any(CorrelationData.class));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ironbrain.clients.backend.config;
+
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Boots the context with both the JDBC and the R2DBC H2 drivers configured, the way the
+ * application runs against PostgreSQL, and checks JPA still gets its DataSource.
+ */
+@ActiveProfiles("loadtest")
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude="
+                + "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration",
+        "spring.r2dbc.url=r2dbc:h2:mem:///clients-context;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+class DataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void jpaKeepsItsDataSourceNextToR2dbc() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            Assertions.assertEquals("H2", connection.getMetaData().getDatabaseProductName());
+        }
+        Assertions.assertNotNull(connectionFactory);
+        Assertions.assertDoesNotThrow(clientRepository::count);
+    }
+}
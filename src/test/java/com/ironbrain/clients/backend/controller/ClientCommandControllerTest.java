@@ -0,0 +1,144 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.dto.ClientCommandResponse;
+import com.ironbrain.clients.backend.dto.ClientRequest;
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientCommandState;
+import com.ironbrain.clients.backend.model.ClientCommandStatus;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import com.ironbrain.clients.backend.service.ClientCommandService;
+import com.ironbrain.clients.backend.validation.ClientRequestValidator;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCommandControllerTest {
+
+    @Mock
+    private ClientCommandService clientCommandService;
+
+    @Spy
+    private ClientRequestValidator clientRequestValidator = new ClientRequestValidator();
+
+    @InjectMocks
+    private ClientCommandController controller;
+
+    private ClientRequest clientRequest;
+
+    private ClientCommandStatus pending;
+
+    @BeforeEach
+    void setUp() {
+        clientRequest = ClientRequest.builder()
+                .firstName("Yoni")
+                .middleName("Herrera")
+                .lastName("Lica")
+                .email("ingyoniherrera@gmail.com")
+                .username("Psycho")
+                .password("P@ssw0rd")
+                .build();
+        pending = ClientCommandStatus.builder()
+                .trackingId("command-1")
+                .type(ClientCommandType.SAVE)
+                .state(ClientCommandState.PENDING)
+                .message("Client command accepted !!!")
+                .build();
+    }
+
+    @Test
+    void saveIsAccepted() {
+        Mockito.when(clientCommandService.save(Mockito.any())).thenReturn(pending);
+
+        ResponseEntity<?> response = controller.save(clientRequest);
+
+        Assertions.assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        Assertions.assertEquals("/client/commands/status/command-1", response.getHeaders().getLocation().toString());
+        ClientCommandResponse body = (ClientCommandResponse) response.getBody();
+        Assertions.assertEquals("command-1", body.getTrackingId());
+        Assertions.assertEquals("PENDING", body.getState());
+    }
+
+    @Test
+    void invalidSaveIsNotQueued() {
+        clientRequest.setEmail("not an email");
+
+        ResponseEntity<?> response = controller.save(clientRequest);
+
+        Assertions.assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+        Assertions.assertEquals(1, ((ClientResponse) response.getBody()).getErrors().size());
+        Mockito.verifyNoInteractions(clientCommandService);
+    }
+
+    @Test
+    void updateCarriesTheIfMatchVersion() {
+        Mockito.when(clientCommandService.updateById(Mockito.any(), Mockito.eq(1L))).thenReturn(pending);
+
+        ResponseEntity<?> response = controller.updateById(clientRequest, 1L, "\"1-4\"");
+
+        ArgumentCaptor<Client> captor = ArgumentCaptor.forClass(Client.class);
+        Mockito.verify(clientCommandService).updateById(captor.capture(), Mockito.eq(1L));
+        Assertions.assertEquals(4L, captor.getValue().getVersion());
+        Assertions.assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+    }
+
+    @Test
+    void updateWithForeignETagFails() {
+        Assertions.assertThrows(PreconditionFailedException.class, () -> controller.updateById(clientRequest, 1L, "\"2-4\""));
+        Mockito.verifyNoInteractions(clientCommandService);
+    }
+
+    @Test
+    void toggleAndDeleteAreAccepted() {
+        Mockito.when(clientCommandService.activateAndDeactivateClientById(1L)).thenReturn(pending);
+        Mockito.when(clientCommandService.deleteById(1L)).thenReturn(pending);
+
+        Assertions.assertEquals(HttpStatus.ACCEPTED, controller.activateAndDeactivateById(1L).getStatusCode());
+        Assertions.assertEquals(HttpStatus.ACCEPTED, controller.deleteById(1L).getStatusCode());
+    }
+
+    @Test
+    void unavailableQueue() {
+        Mockito.when(clientCommandService.deleteById(1L))
+                .thenThrow(new ServiceUnavailableException("The command queue is not available, try again later"));
+
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> controller.deleteById(1L));
+    }
+
+    @Test
+    void findStatus() {
+        Mockito.when(clientCommandService.findStatus("command-1")).thenReturn(Optional.of(ClientCommandStatus.builder()
+                .trackingId("command-1")
+                .type(ClientCommandType.SAVE)
+                .state(ClientCommandState.APPLIED)
+                .clientId(7L)
+                .message("Client saved successfully !!!")
+                .build()));
+
+        ResponseEntity<ClientCommandResponse> response = controller.findStatus("command-1");
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("APPLIED", response.getBody().getState());
+        Assertions.assertEquals(7L, response.getBody().getClientId());
+    }
+
+    @Test
+    void findUnknownStatus() {
+        Mockito.when(clientCommandService.findStatus("missing")).thenReturn(Optional.empty());
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, controller.findStatus("missing").getStatusCode());
+    }
+}
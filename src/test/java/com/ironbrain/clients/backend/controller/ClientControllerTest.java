@@ -1,11 +1,30 @@
 package com.ironbrain.clients.backend.controller;
 
+import com.ironbrain.clients.backend.cache.ClientResponseCache;
+import com.ironbrain.clients.backend.dto.BatchClientResponse;
 import com.ironbrain.clients.backend.dto.ClientRequest;
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.dto.ListClientResponse;
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
 import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
 import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientBatchResult;
+import com.ironbrain.clients.backend.model.ClientBatchStatus;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
 import com.ironbrain.clients.backend.service.ClientService;
 import com.ironbrain.clients.backend.validation.ClientRequestValidator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,8 +37,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(MockitoExtension.class)
 class ClientControllerTest {
@@ -30,11 +55,16 @@ class ClientControllerTest {
     @Mock
     private ClientRequestValidator validator;
 
+    @Mock
+    private ClientResponseCache clientResponseCache;
+
     @InjectMocks
     private ClientController controller;
 
     private ClientRequest clientRequest;
 
+    private final Set<ClientField> allFields = EnumSet.allOf(ClientField.class);
+
     @BeforeEach
     void setUp() {
         clientRequest = ClientRequest.builder()
@@ -52,7 +82,6 @@ class ClientControllerTest {
     void save() {
 
         Mockito.when(service.save(Mockito.any())).thenReturn(new Client());
-        Mockito.doNothing().when(validator).validatePostAndPutRequest(Mockito.any());
 
         ResponseEntity<?> result = controller.save(clientRequest);
 
@@ -64,23 +93,31 @@ class ClientControllerTest {
     void saveException() {
 
         Mockito.when(service.save(Mockito.any())).thenThrow(HttpServerErrorException.InternalServerError.class);
-        Mockito.doNothing().when(validator).validatePostAndPutRequest(Mockito.any());
 
-        ResponseEntity<?> result = controller.save(clientRequest);
+        Assertions.assertThrows(HttpServerErrorException.InternalServerError.class, () -> controller.save(clientRequest));
+    }
 
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is5xxServerError());
+    @Test
+    void saveDuplicated() {
+
+        Mockito.when(service.save(Mockito.any()))
+                .thenThrow(new DuplicateClientException("email", "Already exists this Email in the System !!!"));
+
+        Assertions.assertThrows(DuplicateClientException.class, () -> controller.save(clientRequest));
     }
 
     @Test
     void saveValidationFail() {
 
-        Mockito.doThrow(IllegalArgumentException.class).when(validator).validatePostAndPutRequest(Mockito.any());
+        Mockito.when(validator.validatePostAndPutRequest(Mockito.any()))
+                .thenReturn(List.of("Email can't be null or empty", "Password can't be null or empty"));
 
-        ResponseEntity<?> result = controller.save(clientRequest);
+        ResponseEntity<ClientResponse> result = controller.save(clientRequest);
 
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+        Assertions.assertEquals(HttpStatus.NOT_ACCEPTABLE, result.getStatusCode());
+        Assertions.assertEquals(2, result.getBody().getErrors().size());
+        Assertions.assertEquals("Email can't be null or empty, Password can't be null or empty", result.getBody().getMessage());
+        Mockito.verifyNoInteractions(service);
     }
 
     @Test
@@ -88,9 +125,7 @@ class ClientControllerTest {
 
         Mockito.when(service.updateById(Mockito.any(), Mockito.anyLong())).thenReturn(new Client());
 
-        Mockito.doNothing().when(validator).validatePostAndPutRequest(Mockito.any());
-
-        ResponseEntity<?> result = controller.updateById(clientRequest, 1L);
+        ResponseEntity<?> result = controller.updateById(clientRequest, 1L, null);
 
         Assertions.assertTrue(result.hasBody());
         Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
@@ -99,9 +134,9 @@ class ClientControllerTest {
     @Test
     void updateByIdValidationFail() {
 
-        Mockito.doThrow(IllegalArgumentException.class).when(validator).validatePostAndPutRequest(Mockito.any());
+        Mockito.when(validator.validatePostAndPutRequest(Mockito.any())).thenReturn(List.of("Email can't be null or empty"));
 
-        ResponseEntity<?> result = controller.updateById(clientRequest, 1L);
+        ResponseEntity<?> result = controller.updateById(clientRequest, 1L, null);
 
         Assertions.assertTrue(result.hasBody());
         Assertions.assertTrue(result.getStatusCode().is4xxClientError());
@@ -112,12 +147,7 @@ class ClientControllerTest {
 
         Mockito.when(service.updateById(Mockito.any(), Mockito.anyLong())).thenThrow(NotFoundException.class);
 
-        Mockito.doNothing().when(validator).validatePostAndPutRequest(Mockito.any());
-
-        ResponseEntity<?> result = controller.updateById(clientRequest, 1L);
-
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+        Assertions.assertThrows(NotFoundException.class, () -> controller.updateById(clientRequest, 1L, null));
     }
 
     @Test
@@ -125,33 +155,104 @@ class ClientControllerTest {
 
         Mockito.when(service.updateById(Mockito.any(), Mockito.anyLong())).thenThrow(new DataIntegrityViolationException("EMAIL"));
 
-        Mockito.doNothing().when(validator).validatePostAndPutRequest(Mockito.any());
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> controller.updateById(clientRequest, 1L, null));
+    }
+
+    @Test
+    void updateByIdDataIntegrityViolationExceptionByUsername() {
+
+        Mockito.when(service.updateById(Mockito.any(), Mockito.anyLong())).thenThrow(new DataIntegrityViolationException("USERNAME"));
 
-        ResponseEntity<?> result = controller.updateById(clientRequest, 1L);
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> controller.updateById(clientRequest, 1L, null));
+    }
+
+    @Test
+    void patchById() {
+
+        Mockito.when(service.patchById(Mockito.any(), Mockito.eq(1L))).thenReturn(new Client());
+
+        ResponseEntity<?> result = controller.patchById(ClientRequest.builder().lastName("Herrera").build(), 1L, null);
 
         Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+        Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
     }
 
     @Test
-    void updateByIdDataIntegrityViolationExceptionByUsername() {
+    void patchByIdNotFound() {
 
-        Mockito.when(service.updateById(Mockito.any(), Mockito.anyLong())).thenThrow(new DataIntegrityViolationException("USERNAME"));
+        Mockito.when(service.patchById(Mockito.any(), Mockito.eq(1L))).thenThrow(NotFoundException.class);
+
+        Assertions.assertThrows(NotFoundException.class, () -> controller.patchById(ClientRequest.builder().lastName("Herrera").build(), 1L, null));
+    }
+
+    @Test
+    void patchByIdValidationFail() {
+
+        Mockito.when(validator.validatePatchRequest(Mockito.any())).thenReturn(List.of("At least one field must be supplied"));
+
+        ResponseEntity<?> result = controller.patchById(ClientRequest.builder().build(), 1L, null);
+
+        Assertions.assertEquals(HttpStatus.NOT_ACCEPTABLE, result.getStatusCode());
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void saveAll() {
+
+        ClientRequest invalid = ClientRequest.builder().username("Invalid").build();
+
+        Mockito.when(validator.validatePostAndPutRequest(clientRequest)).thenReturn(List.of());
+        Mockito.when(validator.validatePostAndPutRequest(invalid)).thenReturn(List.of("First Name can't be null or empty"));
+        Mockito.when(service.saveAll(Mockito.anyList())).thenReturn(List.of(
+                ClientBatchResult.builder().index(0).client(new Client()).status(ClientBatchStatus.SAVED).build()
+        ));
+
+        ResponseEntity<BatchClientResponse> result = controller.saveAll(List.of(invalid, clientRequest));
+
+        Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
+        Assertions.assertEquals(406, result.getBody().getBody().get(0).getStatus());
+        Assertions.assertEquals("First Name can't be null or empty", result.getBody().getBody().get(0).getMessage());
+        Assertions.assertEquals(200, result.getBody().getBody().get(1).getStatus());
+    }
 
-        Mockito.doNothing().when(validator).validatePostAndPutRequest(Mockito.any());
+    @Test
+    void saveAllEmpty() {
 
-        ResponseEntity<?> result = controller.updateById(clientRequest, 1L);
+        ResponseEntity<BatchClientResponse> result = controller.saveAll(List.of());
 
         Assertions.assertTrue(result.hasBody());
         Assertions.assertTrue(result.getStatusCode().is4xxClientError());
     }
 
+    @Test
+    void saveAllException() {
+
+        Mockito.when(service.saveAll(Mockito.anyList())).thenThrow(HttpServerErrorException.InternalServerError.class);
+
+        Assertions.assertThrows(HttpServerErrorException.InternalServerError.class, () -> controller.saveAll(List.of(clientRequest)));
+    }
+
+    @Test
+    void updateAll() {
+
+        clientRequest.setId(1L);
+
+        Mockito.when(service.updateAll(Mockito.anyList())).thenReturn(List.of(
+                ClientBatchResult.builder().index(0).status(ClientBatchStatus.NOT_FOUND).build()
+        ));
+
+        ResponseEntity<BatchClientResponse> result = controller.updateAll(List.of(clientRequest));
+
+        Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
+        Assertions.assertEquals(404, result.getBody().getBody().get(0).getStatus());
+    }
+
     @Test
     void findById() {
 
         Mockito.when(service.findById(Mockito.anyLong())).thenReturn(new Client());
 
-        ResponseEntity<?> result = controller.findById(1L);
+        ResponseEntity<?> result = controller.findById(1L, null);
 
         Assertions.assertTrue(result.hasBody());
         Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
@@ -162,10 +263,131 @@ class ClientControllerTest {
 
         Mockito.when(service.findById(Mockito.anyLong())).thenThrow(NotFoundException.class);
 
-        ResponseEntity<?> result = controller.findById(1L);
+        Assertions.assertThrows(NotFoundException.class, () -> controller.findById(1L, null));
+    }
+
+    @Test
+    void findByIdNotModifiedFromCachedVersion() {
+
+        Mockito.when(service.findCachedVersion(1L)).thenReturn(Optional.of(3L));
+
+        ResponseEntity<?> result = controller.findById(1L, "\"1-3\"");
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        Assertions.assertEquals("\"1-3\"", result.getHeaders().getETag());
+        Assertions.assertFalse(result.hasBody());
+        Mockito.verify(service, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void findByIdModifiedReturnsBodyWithETag() {
 
+        Mockito.when(service.findCachedVersion(1L)).thenReturn(Optional.of(4L));
+        Mockito.when(service.findById(1L)).thenReturn(Client.builder().id(1L).version(4L).build());
+
+        ResponseEntity<?> result = controller.findById(1L, "\"1-3\"");
+
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+        Assertions.assertEquals("\"1-4\"", result.getHeaders().getETag());
         Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+    }
+
+    @Test
+    void findByIdFromCachedBytes() {
+
+        byte[] bytes = "{}".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(clientResponseCache.isEnabled()).thenReturn(true);
+        Mockito.when(service.findCachedVersion(1L)).thenReturn(Optional.of(3L));
+        Mockito.when(clientResponseCache.get(1L, 3L)).thenReturn(Optional.of(bytes));
+
+        ResponseEntity<?> result = controller.findById(1L, null);
+
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+        Assertions.assertSame(bytes, result.getBody());
+        Assertions.assertEquals("\"1-3\"", result.getHeaders().getETag());
+        Mockito.verify(service, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void findByIdStoresResponseBytes() {
+
+        byte[] bytes = "{}".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(clientResponseCache.isEnabled()).thenReturn(true);
+        Mockito.when(service.findCachedVersion(1L)).thenReturn(Optional.empty());
+        Mockito.when(service.findById(1L)).thenReturn(Client.builder().id(1L).version(3L).build());
+        Mockito.when(clientResponseCache.put(Mockito.eq(1L), Mockito.eq(3L), Mockito.any())).thenReturn(Optional.of(bytes));
+
+        ResponseEntity<?> result = controller.findById(1L, null);
+
+        Assertions.assertSame(bytes, result.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType());
+    }
+
+    @Test
+    void findAllPagedNotModified() {
+
+        Page<Client> clients = new PageImpl<>(List.of(Client.builder().id(1L).version(0L).build()));
+        Mockito.when(service.findAllPaged(0, 1, allFields)).thenReturn(clients);
+
+        String eTag = controller.findAllPaged(0, 1, null, null).getHeaders().getETag();
+        ResponseEntity<ListClientResponse> result = controller.findAllPaged(0, 1, null, eTag);
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        Assertions.assertFalse(result.hasBody());
+    }
+
+    @Test
+    void findAllPagedOtherFieldsModified() {
+
+        Page<Client> clients = new PageImpl<>(List.of(Client.builder().id(1L).version(0L).build()));
+        Mockito.when(service.findAllPaged(Mockito.eq(0), Mockito.eq(1), Mockito.any())).thenReturn(clients);
+
+        String eTag = controller.findAllPaged(0, 1, null, null).getHeaders().getETag();
+        ResponseEntity<ListClientResponse> result = controller.findAllPaged(0, 1, "id", eTag);
+
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+        Assertions.assertNotEquals(eTag, result.getHeaders().getETag());
+    }
+
+    @Test
+    void updateByIdWithStaleIfMatch() {
+
+        Mockito.when(service.updateById(Mockito.any(), Mockito.eq(1L))).thenThrow(PreconditionFailedException.class);
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> controller.updateById(clientRequest, 1L, "\"1-3\""));
+    }
+
+    @Test
+    void updateByIdWithForeignIfMatch() {
+        Assertions.assertThrows(PreconditionFailedException.class, () -> controller.updateById(clientRequest, 1L, "W/\"1-3\""));
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void patchByIdConcurrentWrite() {
+
+        Mockito.when(service.patchById(Mockito.any(), Mockito.eq(1L))).thenThrow(ObjectOptimisticLockingFailureException.class);
+
+        Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> controller.patchById(clientRequest, 1L, "\"1-3\""));
+    }
+
+    @Test
+    void existsById() {
+
+        Mockito.when(service.existsById(1L)).thenReturn(true);
+
+        ResponseEntity<Void> result = controller.existsById(1L);
+
+        Assertions.assertFalse(result.hasBody());
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+    }
+
+    @Test
+    void existsByIdNotFound() {
+
+        Mockito.when(service.existsById(1L)).thenReturn(false);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, controller.existsById(1L).getStatusCode());
     }
 
     @Test
@@ -173,8 +395,6 @@ class ClientControllerTest {
 
         Mockito.when(service.findByUsernameAndPassword(Mockito.anyString(), Mockito.anyString())).thenReturn(new Client());
 
-        Mockito.doNothing().when(validator).validateUsernameAndPasswordRequest(Mockito.any());
-
         ResponseEntity<?> result = controller.findByUsernameAndPassword(clientRequest);
 
         Assertions.assertTrue(result.hasBody());
@@ -186,18 +406,21 @@ class ClientControllerTest {
 
         Mockito.when(service.findByUsernameAndPassword(Mockito.anyString(), Mockito.anyString())).thenThrow(NotFoundException.class);
 
-        Mockito.doNothing().when(validator).validateUsernameAndPasswordRequest(Mockito.any());
+        Assertions.assertThrows(NotFoundException.class, () -> controller.findByUsernameAndPassword(clientRequest));
+    }
+
+    @Test
+    void findByUsernameAndPasswordBusy() {
 
-        ResponseEntity<?> result = controller.findByUsernameAndPassword(clientRequest);
+        Mockito.when(service.findByUsernameAndPassword(Mockito.anyString(), Mockito.anyString())).thenThrow(ServiceUnavailableException.class);
 
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> controller.findByUsernameAndPassword(clientRequest));
     }
 
     @Test
     void findByUsernameAndPasswordValidationFail() {
 
-        Mockito.doThrow(IllegalArgumentException.class).when(validator).validateUsernameAndPasswordRequest(Mockito.any());
+        Mockito.when(validator.validateUsernameAndPasswordRequest(Mockito.any())).thenReturn(List.of("Username can't be null or empty"));
 
         ResponseEntity<?> result = controller.findByUsernameAndPassword(clientRequest);
 
@@ -238,40 +461,53 @@ class ClientControllerTest {
 
         Mockito.when(service.activateAndDeactivateClientById(Mockito.anyLong())).thenThrow(NotFoundException.class);
 
-        ResponseEntity<?> result = controller.activateAndDeactivateById(1L);
-
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+        Assertions.assertThrows(NotFoundException.class, () -> controller.activateAndDeactivateById(1L));
     }
 
     @Test
     void findAll() {
 
-        Mockito.when(service.findAll()).thenReturn(List.of(new Client()));
+        Mockito.when(service.findAll(allFields)).thenReturn(List.of(new Client()));
 
-        ResponseEntity<?> result = controller.findAll();
+        ResponseEntity<?> result = controller.findAll(null);
 
         Assertions.assertTrue(result.hasBody());
         Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
     }
 
     @Test
-    void findAllException() {
-        Mockito.when(service.findAll()).thenThrow(HttpServerErrorException.InternalServerError.class);
+    void findAllWithFields() {
 
-        ResponseEntity<?> result = controller.findAll();
+        Set<ClientField> fields = EnumSet.of(ClientField.ID, ClientField.USERNAME, ClientField.EMAIL);
+        Mockito.when(service.findAll(fields)).thenReturn(List.of(Client.builder().id(1L).username("Psycho").build()));
 
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is5xxServerError());
+        ResponseEntity<ListClientResponse> result = controller.findAll("id, username,email");
+
+        Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
+        Assertions.assertEquals(fields, result.getBody().getFields());
+    }
+
+    @Test
+    void findAllWithUnknownField() {
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> controller.findAll("id,createdAt"));
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void findAllException() {
+        Mockito.when(service.findAll(allFields)).thenThrow(HttpServerErrorException.InternalServerError.class);
+
+        Assertions.assertThrows(HttpServerErrorException.InternalServerError.class, () -> controller.findAll(null));
     }
 
     @Test
     void findAllPage() {
         Page<Client> clients = new PageImpl<>(List.of(new Client()));
 
-        Mockito.when(service.findAllPaged(Mockito.anyInt(), Mockito.anyInt())).thenReturn(clients);
+        Mockito.when(service.findAllPaged(Mockito.anyInt(), Mockito.anyInt(), Mockito.any())).thenReturn(clients);
 
-        ResponseEntity<?> result = controller.findAllPaged(1, 1);
+        ResponseEntity<?> result = controller.findAllPaged(1, 1, null, null);
 
         Assertions.assertTrue(result.hasBody());
         Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
@@ -280,22 +516,85 @@ class ClientControllerTest {
     @Test
     void findAllPageNotFound() {
 
-        Mockito.when(service.findAllPaged(Mockito.anyInt(), Mockito.anyInt())).thenThrow(NotFoundException.class);
+        Mockito.when(service.findAllPaged(Mockito.anyInt(), Mockito.anyInt(), Mockito.any())).thenThrow(NotFoundException.class);
+
+        Assertions.assertThrows(NotFoundException.class, () -> controller.findAllPaged(1, 1, null, null));
+    }
 
-        ResponseEntity<?> result = controller.findAllPaged(1, 1);
+    @Test
+    void findAllSliced() {
+        Client client = Client.builder().id(5L).username("Psycho").build();
 
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+        Mockito.when(service.findAllSliced(null, ClientSortKey.USERNAME, 1, allFields))
+                .thenReturn(new SliceImpl<>(List.of(client), PageRequest.of(0, 1), true));
+
+        ResponseEntity<ListClientResponse> result = controller.findAllSliced(null, "username", 1, null, null);
+
+        Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
+        Assertions.assertTrue(result.getBody().getHasNext());
+
+        ClientCursor next = ClientCursor.decode(result.getBody().getNext());
+        Assertions.assertEquals(5L, next.getId());
+        Assertions.assertEquals("Psycho", next.getValue());
+    }
+
+    @Test
+    void findAllSlicedInvalidCursor() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> controller.findAllSliced("not a cursor", "id", 1, null, null));
     }
 
     @Test
     void findAllNotFound() {
 
-        Mockito.when(service.findAll()).thenThrow(NotFoundException.class);
+        Mockito.when(service.findAll(allFields)).thenThrow(NotFoundException.class);
+
+        Assertions.assertThrows(NotFoundException.class, () -> controller.findAll(null));
+    }
 
-        ResponseEntity<?> result = controller.findAll();
+    @Test
+    void export() throws IOException {
+
+        Client client = new Client();
+        client.setUsername("Psycho");
+
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<Client>>getArgument(0).accept(client);
+            return null;
+        }).when(service).exportAll(Mockito.any());
+
+        ResponseEntity<StreamingResponseBody> result = controller.export("csv");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.getBody().writeTo(outputStream);
+
+        Assertions.assertTrue(result.getStatusCode().is2xxSuccessful());
+        Assertions.assertTrue(outputStream.toString(StandardCharsets.UTF_8).contains("Psycho"));
+    }
+
+    @Test
+    void search() {
+
+        Mockito.when(service.search("yon", null)).thenReturn(List.of(Client.builder().id(1L).username("Psycho").build()));
+
+        ResponseEntity<ListClientResponse> result = controller.search("yon", null, null);
+
+        Assertions.assertEquals(HttpStatus.OK, result.getStatusCode());
+        Assertions.assertEquals("Psycho", result.getBody().getBody().get(0).getUsername());
+    }
+
+    @Test
+    void searchEmptyQuery() {
+
+        Mockito.when(service.search(null, null)).thenThrow(new IllegalArgumentException("The search query can't be empty"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> controller.search(null, null, null));
+    }
+
+    @Test
+    void exportUnsupportedFormat() {
+
+        ResponseEntity<StreamingResponseBody> result = controller.export("xml");
 
-        Assertions.assertTrue(result.hasBody());
         Assertions.assertTrue(result.getStatusCode().is4xxClientError());
     }
 
@@ -315,9 +614,6 @@ class ClientControllerTest {
 
         Mockito.doThrow(NotFoundException.class).when(service).deleteById(Mockito.anyLong());
 
-        ResponseEntity<?> result = controller.deleteById(1L);
-
-        Assertions.assertTrue(result.hasBody());
-        Assertions.assertTrue(result.getStatusCode().is4xxClientError());
+        Assertions.assertThrows(NotFoundException.class, () -> controller.deleteById(1L));
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.model.Client;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ClientETagTest {
+
+    @Test
+    void singleClientIsTaggedWithIdAndVersion() {
+        Assertions.assertEquals("\"1-3\"", ClientETag.of(Client.builder().id(1L).version(3L).build()));
+    }
+
+    @Test
+    void listTagChangesWithAnyVersion() {
+        Client first = Client.builder().id(1L).version(0L).build();
+        Client second = Client.builder().id(2L).version(0L).build();
+        String eTag = ClientETag.of(List.of(first, second));
+
+        Assertions.assertEquals(eTag, ClientETag.of(List.of(first, second)));
+        second.setVersion(1L);
+        Assertions.assertNotEquals(eTag, ClientETag.of(List.of(first, second)));
+        Assertions.assertNotEquals(ClientETag.of(List.of(first), true), ClientETag.of(List.of(first), false));
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        Assertions.assertTrue(ClientETag.matchesNoneMatch("\"1-2\", W/\"1-3\"", "\"1-3\""));
+        Assertions.assertTrue(ClientETag.matchesNoneMatch("*", "\"1-3\""));
+        Assertions.assertFalse(ClientETag.matchesNoneMatch("\"1-2\"", "\"1-3\""));
+        Assertions.assertFalse(ClientETag.matchesNoneMatch(null, "\"1-3\""));
+    }
+
+    @Test
+    void ifMatchGivesExpectedVersion() {
+        Assertions.assertNull(ClientETag.getExpectedVersion(null, 1L));
+        Assertions.assertNull(ClientETag.getExpectedVersion("*", 1L));
+        Assertions.assertEquals(3L, ClientETag.getExpectedVersion("\"2-7\", \"1-3\"", 1L));
+    }
+
+    @Test
+    void ifMatchWithWeakOrForeignTagFails() {
+        Assertions.assertThrows(PreconditionFailedException.class, () -> ClientETag.getExpectedVersion("W/\"1-3\"", 1L));
+        Assertions.assertThrows(PreconditionFailedException.class, () -> ClientETag.getExpectedVersion("\"2-3\"", 1L));
+        Assertions.assertThrows(PreconditionFailedException.class, () -> ClientETag.getExpectedVersion("\"1-x\"", 1L));
+    }
+}
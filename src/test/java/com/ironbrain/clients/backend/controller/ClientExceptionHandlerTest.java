@@ -0,0 +1,104 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
+import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+class ClientExceptionHandlerTest {
+
+    private ClientExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ClientExceptionHandler();
+    }
+
+    @Test
+    void notFound() {
+        ResponseEntity<ClientResponse> result = handler.handleNotFound(new NotFoundException("The Client with the Id = 1 does not exist !!!"));
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+        Assertions.assertEquals("The Client with the Id = 1 does not exist !!!", result.getBody().getMessage());
+        Assertions.assertNull(result.getBody().getBody());
+    }
+
+    @Test
+    void notFoundHasNoStackTrace() {
+        Assertions.assertEquals(0, new NotFoundException("The list of clients is empty").getStackTrace().length);
+    }
+
+    @Test
+    void illegalArgument() {
+        ResponseEntity<ClientResponse> result = handler.handleIllegalArgument(new IllegalArgumentException("The search query can't be empty"));
+
+        Assertions.assertEquals(HttpStatus.NOT_ACCEPTABLE, result.getStatusCode());
+        Assertions.assertEquals("The search query can't be empty", result.getBody().getMessage());
+    }
+
+    @Test
+    void duplicated() {
+        ResponseEntity<ClientResponse> result = handler.handleDuplicate(
+                new DuplicateClientException("email", "Already exists this Email in the System !!!"));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        Assertions.assertEquals("email", result.getBody().getField());
+    }
+
+    @Test
+    void duplicatedHasNoStackTrace() {
+        Assertions.assertEquals(0, new DuplicateClientException("email", "Already exists this Email in the System !!!").getStackTrace().length);
+        Assertions.assertEquals(0, new PreconditionFailedException("Stale").getStackTrace().length);
+    }
+
+    @Test
+    void dataIntegrityViolationDoesNotGuessTheField() {
+        ResponseEntity<ClientResponse> result = handler.handleDataIntegrityViolation(new DataIntegrityViolationException("CLIENTS_EMAIL_KEY"));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        Assertions.assertEquals("The Client breaks a constraint of the stored data !!!", result.getBody().getMessage());
+        Assertions.assertNull(result.getBody().getField());
+    }
+
+    @Test
+    void preconditionFailed() {
+        Assertions.assertEquals(HttpStatus.PRECONDITION_FAILED,
+                handler.handlePreconditionFailed(new PreconditionFailedException("Stale")).getStatusCode());
+        Assertions.assertEquals(HttpStatus.PRECONDITION_FAILED,
+                handler.handlePreconditionFailed(new ObjectOptimisticLockingFailureException("Client", 1L)).getStatusCode());
+    }
+
+    @Test
+    void serviceUnavailable() {
+        ResponseEntity<ClientResponse> result = handler.handleServiceUnavailable(new ServiceUnavailableException("Busy"));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode());
+    }
+
+    @Test
+    void unexpected() {
+        ResponseEntity<ClientResponse> result = handler.handleRuntime(new IllegalStateException("Connection refused"));
+
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
+        Assertions.assertEquals("Connection refused", result.getBody().getMessage());
+    }
+
+    @Test
+    void validationFailed() {
+        ResponseEntity<ClientResponse> result = ClientExceptionHandler.getValidationFailed(
+                List.of("First Name can't be null or empty", "Email doesn't have the correct structure"));
+
+        Assertions.assertEquals(HttpStatus.NOT_ACCEPTABLE, result.getStatusCode());
+        Assertions.assertEquals("First Name can't be null or empty, Email doesn't have the correct structure", result.getBody().getMessage());
+        Assertions.assertEquals(2, result.getBody().getErrors().size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.ironbrain.clients.backend.controller;
+
+import com.ironbrain.clients.backend.dto.ClientResponse;
+import com.ironbrain.clients.backend.dto.ListClientResponse;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.reactive.ReactiveClientService;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveClientControllerTest {
+
+    @Mock
+    private ReactiveClientService reactiveClientService;
+
+    @InjectMocks
+    private ReactiveClientController controller;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = new Client(123456L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psycho", "P@ssw0rd", true, new Date(), new Date(), 2L);
+    }
+
+    @Test
+    void findById() {
+        Mockito.when(reactiveClientService.findById(123456L)).thenReturn(Mono.just(client));
+
+        ResponseEntity<ClientResponse> response = controller.findById(123456L, null).block();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("\"123456-2\"", response.getHeaders().getETag());
+        Assertions.assertEquals("Psycho", response.getBody().getBody().getUsername());
+        Assertions.assertEquals("Client founded successfully !!!", response.getBody().getMessage());
+    }
+
+    @Test
+    void findByIdNotModified() {
+        Mockito.when(reactiveClientService.findById(123456L)).thenReturn(Mono.just(client));
+
+        ResponseEntity<ClientResponse> response = controller.findById(123456L, "\"123456-2\"").block();
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        Assertions.assertNull(response.getBody());
+    }
+
+    @Test
+    void findByIdNotFound() {
+        Mockito.when(reactiveClientService.findById(123456L)).thenReturn(Mono.empty());
+
+        ResponseEntity<ClientResponse> response = controller.findById(123456L, null).block();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertNull(response.getBody().getBody());
+    }
+
+    @Test
+    void findByIdFailure() {
+        Mockito.when(reactiveClientService.findById(123456L)).thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+
+        ResponseEntity<ClientResponse> response = controller.findById(123456L, null).block();
+
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        Assertions.assertEquals("Connection refused", response.getBody().getMessage());
+    }
+
+    @Test
+    void findAllPaged() {
+        Mockito.when(reactiveClientService.findAllPaged(0, 20)).thenReturn(Flux.just(client));
+
+        ResponseEntity<ListClientResponse> response = controller.findAllPaged(0, 20, null).block();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(1, response.getBody().getBody().size());
+        Assertions.assertNotNull(response.getHeaders().getETag());
+
+        ResponseEntity<ListClientResponse> notModified = controller.findAllPaged(0, 20, response.getHeaders().getETag()).block();
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+    }
+
+    @Test
+    void findAllPagedEmpty() {
+        Mockito.when(reactiveClientService.findAllPaged(5, 20)).thenReturn(Flux.empty());
+
+        ResponseEntity<ListClientResponse> response = controller.findAllPaged(5, 20, null).block();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals("The list of clients is empty", response.getBody().getMessage());
+    }
+
+    @Test
+    void findAllPagedInvalid() {
+        Mockito.when(reactiveClientService.findAllPaged(-1, 20))
+                .thenReturn(Flux.error(new IllegalArgumentException("The page must be 0 or more and the size 1 or more")));
+
+        ResponseEntity<ListClientResponse> response = controller.findAllPaged(-1, 20, null).block();
+
+        Assertions.assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+    }
+
+    @Test
+    void streamAll() {
+        Mockito.when(reactiveClientService.streamAll()).thenReturn(Flux.just(client));
+
+        List<ClientResponse> lines = controller.streamAll().collectList().block();
+
+        Assertions.assertEquals(1, lines.size());
+        Assertions.assertSame(client, lines.get(0).getBody());
+        Assertions.assertEquals("Client founded successfully !!!", lines.get(0).getMessage());
+    }
+}
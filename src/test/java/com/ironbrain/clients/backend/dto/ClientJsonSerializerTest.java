@@ -0,0 +1,113 @@
+package com.ironbrain.clients.backend.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientField;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class ClientJsonSerializerTest {
+
+    private static final String clientJson = "{\"id\":1,\"firstName\":\"Yoni\",\"middleName\":\"Herrera\",\"lastName\":\"Lica\","
+            + "\"email\":\"ingyoniherrera@gmail.com\",\"username\":\"Psy\\\"cho\",\"password\":\"P@ssw0rd\",\"isActive\":true}";
+
+    private ObjectMapper objectMapper;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        client = new Client(1L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psy\"cho", "P@ssw0rd", true,
+                new Date(), new Date(), 3L);
+    }
+
+    @Test
+    void clientIsWrittenLikeTheResponseBody() throws JsonProcessingException {
+        ClientResponseBody body = ClientResponseBody.builder()
+                .id(client.getId())
+                .firstName(client.getFirstName())
+                .middleName(client.getMiddleName())
+                .lastName(client.getLastName())
+                .email(client.getEmail())
+                .username(client.getUsername())
+                .password(client.getPassword())
+                .isActive(client.getIsActive())
+                .build();
+
+        Assertions.assertEquals(clientJson, objectMapper.writeValueAsString(body));
+        Assertions.assertEquals("{\"body\":" + clientJson + ",\"message\":\"Client founded successfully !!!\"}",
+                objectMapper.writeValueAsString(ClientResponse.builder()
+                        .body(client)
+                        .message("Client founded successfully !!!")
+                        .build()));
+    }
+
+    @Test
+    void missingValuesAreWrittenAsNull() throws JsonProcessingException {
+        Assertions.assertEquals("{\"body\":{\"id\":null,\"firstName\":null,\"middleName\":null,\"lastName\":null,"
+                        + "\"email\":null,\"username\":null,\"password\":null,\"isActive\":null},\"message\":null}",
+                objectMapper.writeValueAsString(ClientResponse.builder().body(new Client()).build()));
+    }
+
+    @Test
+    void errorKeepsOnlyTheSuppliedFields() throws JsonProcessingException {
+        Assertions.assertEquals("{\"body\":null,\"message\":\"The list of clients is empty\"}",
+                objectMapper.writeValueAsString(ClientResponse.builder().message("The list of clients is empty").build()));
+        Assertions.assertEquals("{\"body\":null,\"message\":\"Already exists this Email in the System !!!\",\"field\":\"email\"}",
+                objectMapper.writeValueAsString(ClientResponse.builder()
+                        .message("Already exists this Email in the System !!!")
+                        .field("email")
+                        .build()));
+        Assertions.assertEquals("{\"body\":null,\"message\":\"a, b\",\"errors\":[\"a\",\"b\"]}",
+                objectMapper.writeValueAsString(ClientResponse.builder().message("a, b").errors(List.of("a", "b")).build()));
+    }
+
+    @Test
+    void listIsWrittenWithoutCopies() throws JsonProcessingException {
+        Assertions.assertEquals("{\"body\":[" + clientJson + "," + clientJson + "],\"message\":\"Clients founded successfully !!!\","
+                        + "\"hasNext\":true,\"next\":\"abc\"}",
+                objectMapper.writeValueAsString(ListClientResponse.builder()
+                        .body(Arrays.asList(client, client))
+                        .message("Clients founded successfully !!!")
+                        .hasNext(true)
+                        .next("abc")
+                        .build()));
+        Assertions.assertEquals("{\"body\":null,\"message\":\"The list of clients is empty\"}",
+                objectMapper.writeValueAsString(ListClientResponse.builder().message("The list of clients is empty").build()));
+    }
+
+    @Test
+    void listKeepsOnlyTheRequestedFields() throws JsonProcessingException {
+        Assertions.assertEquals("{\"body\":[{\"id\":1,\"email\":\"ingyoniherrera@gmail.com\",\"username\":\"Psy\\\"cho\"}],"
+                        + "\"message\":\"Clients founded successfully !!!\"}",
+                objectMapper.writeValueAsString(ListClientResponse.builder()
+                        .body(List.of(client))
+                        .message("Clients founded successfully !!!")
+                        .fields(EnumSet.of(ClientField.USERNAME, ClientField.ID, ClientField.EMAIL))
+                        .build()));
+        Assertions.assertEquals("{\"body\":[" + clientJson + "],\"message\":null}",
+                objectMapper.writeValueAsString(ListClientResponse.builder()
+                        .body(List.of(client))
+                        .fields(EnumSet.allOf(ClientField.class))
+                        .build()));
+    }
+
+    @Test
+    void batchItemBodyIsWrittenLikeTheResponseBody() throws JsonProcessingException {
+        Assertions.assertEquals("{\"index\":0,\"status\":200,\"message\":\"Client saved successfully !!!\",\"body\":" + clientJson + "}",
+                objectMapper.writeValueAsString(BatchClientResponseItem.builder()
+                        .index(0)
+                        .status(200)
+                        .message("Client saved successfully !!!")
+                        .body(client)
+                        .build()));
+    }
+}
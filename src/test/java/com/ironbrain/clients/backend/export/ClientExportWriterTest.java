@@ -0,0 +1,66 @@
+package com.ironbrain.clients.backend.export;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClientExportWriterTest {
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = Client.builder()
+                .id(1L)
+                .firstName("Yoni")
+                .middleName("Herrera")
+                .lastName("Lica, \"Jr\"")
+                .email("ingyoniherrera@gmail.com")
+                .username("Psycho")
+                .password("P@ssw0rd")
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    void writeNdjson() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (ClientExportWriter writer = new ClientExportWriter(outputStream, ClientExportFormat.NDJSON)) {
+            writer.write(client);
+            writer.write(new Client());
+        }
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals("{\"id\":1,\"firstName\":\"Yoni\",\"middleName\":\"Herrera\",\"lastName\":\"Lica, \\\"Jr\\\"\","
+                + "\"email\":\"ingyoniherrera@gmail.com\",\"username\":\"Psycho\",\"isActive\":true}", lines[0]);
+        Assertions.assertFalse(lines[0].contains("P@ssw0rd"));
+        Assertions.assertTrue(lines[1].startsWith("{\"id\":null"));
+    }
+
+    @Test
+    void writeCsv() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (ClientExportWriter writer = new ClientExportWriter(outputStream, ClientExportFormat.CSV)) {
+            writer.write(client);
+        }
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        Assertions.assertEquals("id,firstName,middleName,lastName,email,username,isActive", lines[0]);
+        Assertions.assertEquals("1,Yoni,Herrera,\"Lica, \"\"Jr\"\"\",ingyoniherrera@gmail.com,Psycho,true", lines[1]);
+    }
+
+    @Test
+    void fromExtension() {
+        Assertions.assertEquals(ClientExportFormat.CSV, ClientExportFormat.fromExtension("CSV").orElseThrow());
+        Assertions.assertTrue(ClientExportFormat.fromExtension("xml").isEmpty());
+    }
+}
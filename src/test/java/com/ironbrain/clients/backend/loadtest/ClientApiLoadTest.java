@@ -0,0 +1,259 @@
+package com.ironbrain.clients.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Open-loop load against the whole /client API, backed by H2 in PostgreSQL mode and a Caffeine
+ * cache instead of PostgreSQL and Redis. Run with mvn -Ploadtest test, the per-endpoint report is
+ * written as JSON to loadtest.report.
+ */
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ClientApiLoadTest {
+
+    private static final String password = "P@ssw0rd";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.security.user.name}")
+    private String adminUsername;
+
+    @Value("${spring.security.user.password}")
+    private String adminPassword;
+
+    @Value("${loadtest.rate}")
+    private int rate;
+
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration}")
+    private Duration duration;
+
+    @Value("${loadtest.max-in-flight}")
+    private int maxInFlight;
+
+    @Value("${loadtest.seed-clients}")
+    private int seedClients;
+
+    @Value("${loadtest.mix}")
+    private String mix;
+
+    @Value("${loadtest.report}")
+    private String report;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Long> seededIds = new ArrayList<>();
+    private final List<String> seededUsernames = new ArrayList<>();
+    private final Queue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private String authorization;
+
+    @Test
+    void loadClientApi() throws IOException {
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((adminUsername + ":" + adminPassword).getBytes(StandardCharsets.UTF_8));
+        LoadTestMix loadTestMix = LoadTestMix.parse(mix);
+
+        seed();
+
+        log.warn("Warming up for {} at {} requests/s", warmup, rate);
+        run(loadTestMix, warmup, new LoadTestRecorder());
+
+        log.warn("Measuring for {} at {} requests/s with mix {}", duration, rate, mix);
+        LoadTestRecorder recorder = new LoadTestRecorder();
+        long elapsed = run(loadTestMix, duration, recorder);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rate", rate);
+        result.put("mix", mix);
+        result.putAll(recorder.report(elapsed));
+
+        Path reportPath = Paths.get(report);
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), result);
+        log.warn("Load test report written to {}", reportPath.toAbsolutePath());
+
+        Assertions.assertTrue(recorder.getRequests() > 0);
+    }
+
+    private void seed() {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int index = 0; index < seedClients; index++) {
+            pending.add(httpClient.sendAsync(save(), HttpResponse.BodyHandlers.ofByteArray())
+                    .thenAccept(response -> {
+                        JsonNode body = readBody(response);
+                        Assertions.assertNotNull(body, "The seed client couldn't be saved: " + response.statusCode());
+                        synchronized (seededIds) {
+                            seededIds.add(body.get("id").asLong());
+                            seededUsernames.add(body.get("username").asText());
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+    }
+
+    private long run(LoadTestMix loadTestMix, Duration runFor, LoadTestRecorder recorder) {
+        Random random = new Random(42);
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + runFor.toNanos();
+
+        for (long tick = 0; ; tick++) {
+            long scheduled = start + tick * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            LoadTestOperation operation = loadTestMix.next(random);
+            HttpRequest request = inFlight.get() < maxInFlight ? getRequest(operation, random) : null;
+            if (request == null) {
+                recorder.skip(operation);
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, ex) -> {
+                        boolean success = ex == null && response.statusCode() < 300;
+                        recorder.record(operation, System.nanoTime() - scheduled, success);
+                        if (success && operation == LoadTestOperation.SAVE) {
+                            JsonNode body = readBody(response);
+                            if (body != null) {
+                                deletableIds.add(body.get("id").asLong());
+                            }
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        while (inFlight.get() > 0 && System.nanoTime() - end < TimeUnit.SECONDS.toNanos(30)) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private HttpRequest getRequest(LoadTestOperation operation, Random random) {
+        switch (operation) {
+            case SAVE:
+                return save();
+            case FIND_BY_ID:
+                return request("/client/" + pick(seededIds, random)).GET().build();
+            case PAGED:
+                return request("/client/paged?page=" + random.nextInt(5) + "&size=20").GET().build();
+            case FIND_BY_USERNAME_AND_PASSWORD:
+                Map<String, String> login = Map.of("username", pick(seededUsernames, random), "password", password);
+                return request("/client/findByUsernameAndPassword")
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(writeBody(login)))
+                        .build();
+            case TOGGLE:
+                return request("/client/" + pick(seededIds, random)).PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case DELETE:
+                Long id = deletableIds.poll();
+                return id == null ? null : request("/client/" + id).DELETE().build();
+            default:
+                throw new IllegalArgumentException(operation.getKey());
+        }
+    }
+
+    private HttpRequest save() {
+        long number = sequence.incrementAndGet();
+        Map<String, Object> client = new LinkedHashMap<>();
+        client.put("firstName", "Load");
+        client.put("middleName", "Test");
+        client.put("lastName", "Client");
+        client.put("email", String.format("load-%1s-%2d@example.com", runId, number));
+        client.put("username", String.format("load-%1s-%2d", runId, number));
+        client.put("password", password);
+
+        return request("/client/")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(writeBody(client)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private byte[] writeBody(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private JsonNode readBody(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 300) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body()).get("body");
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ironbrain.clients.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted operation mix parsed from "save=20,findById=40,...".
+ */
+final class LoadTestMix {
+
+    private final List<LoadTestOperation> operations = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private final int totalWeight;
+
+    private LoadTestMix(String mix) {
+        int total = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(String.format("The mix entry %1s is not valid", entry));
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                total += weight;
+                operations.add(LoadTestOperation.fromKey(parts[0].trim()));
+                cumulativeWeights.add(total);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix needs at least one operation with weight");
+        }
+        this.totalWeight = total;
+    }
+
+    static LoadTestMix parse(String mix) {
+        return new LoadTestMix(mix);
+    }
+
+    LoadTestOperation next(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (int index = 0; index < operations.size(); index++) {
+            if (value < cumulativeWeights.get(index)) {
+                return operations.get(index);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    List<LoadTestOperation> getOperations() {
+        return operations;
+    }
+}
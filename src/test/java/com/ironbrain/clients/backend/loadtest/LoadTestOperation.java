@@ -0,0 +1,30 @@
+package com.ironbrain.clients.backend.loadtest;
+
+import java.util.Arrays;
+
+enum LoadTestOperation {
+
+    SAVE("save"),
+    FIND_BY_ID("findById"),
+    PAGED("paged"),
+    FIND_BY_USERNAME_AND_PASSWORD("findByUsernameAndPassword"),
+    TOGGLE("toggle"),
+    DELETE("delete");
+
+    private final String key;
+
+    LoadTestOperation(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    static LoadTestOperation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("The operation %1s is not supported", key)));
+    }
+}
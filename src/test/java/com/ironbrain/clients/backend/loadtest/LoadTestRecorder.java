@@ -0,0 +1,83 @@
+package com.ironbrain.clients.backend.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies are measured from the time a request was scheduled, not sent, so a stalled server
+ * shows up in the percentiles instead of silently lowering the offered rate.
+ */
+final class LoadTestRecorder {
+
+    private static final long maxLatencyNanos = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<LoadTestOperation, Histogram> latencies = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, LongAdder> errors = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, LongAdder> skipped = new EnumMap<>(LoadTestOperation.class);
+
+    LoadTestRecorder() {
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(maxLatencyNanos, 3));
+            errors.put(operation, new LongAdder());
+            skipped.put(operation, new LongAdder());
+        }
+    }
+
+    void record(LoadTestOperation operation, long latencyNanos, boolean success) {
+        latencies.get(operation).recordValue(Math.min(latencyNanos, maxLatencyNanos));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void skip(LoadTestOperation operation) {
+        skipped.get(operation).increment();
+    }
+
+    long getErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long getRequests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    Map<String, Object> report(long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        latencies.forEach((operation, histogram) -> {
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50", toMillis(histogram.getValueAtPercentile(50)));
+            latency.put("p95", toMillis(histogram.getValueAtPercentile(95)));
+            latency.put("p99", toMillis(histogram.getValueAtPercentile(99)));
+            latency.put("p999", toMillis(histogram.getValueAtPercentile(99.9)));
+            latency.put("max", toMillis(histogram.getMaxValue()));
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", histogram.getTotalCount());
+            endpoint.put("errors", errors.get(operation).sum());
+            endpoint.put("skipped", skipped.get(operation).sum());
+            endpoint.put("throughput", histogram.getTotalCount() / elapsedSeconds);
+            endpoint.put("latencyMs", latency);
+            endpoints.put(operation.getKey(), endpoint);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("requests", getRequests());
+        report.put("errors", getErrors());
+        report.put("throughput", getRequests() / elapsedSeconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
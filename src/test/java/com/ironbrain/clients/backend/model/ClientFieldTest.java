@@ -0,0 +1,37 @@
+package com.ironbrain.clients.backend.model;
+
+import java.util.EnumSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ClientFieldTest {
+
+    @Test
+    void fromNames() {
+        Assertions.assertEquals(EnumSet.of(ClientField.ID, ClientField.USERNAME, ClientField.IS_ACTIVE),
+                ClientField.fromNames("username, ID,isactive"));
+    }
+
+    @Test
+    void fromNamesMissing() {
+        Assertions.assertEquals(EnumSet.allOf(ClientField.class), ClientField.fromNames(null));
+        Assertions.assertEquals(EnumSet.allOf(ClientField.class), ClientField.fromNames(" "));
+    }
+
+    @Test
+    void fromNamesUnknown() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ClientField.fromNames("id,version"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ClientField.fromNames("id,,email"));
+    }
+
+    @Test
+    void setter() {
+        Client client = new Client();
+
+        ClientField.IS_ACTIVE.getSetter().accept(client, true);
+        ClientField.EMAIL.getSetter().accept(client, "ingyoniherrera@gmail.com");
+
+        Assertions.assertTrue(client.getIsActive());
+        Assertions.assertEquals("ingyoniherrera@gmail.com", client.getEmail());
+    }
+}
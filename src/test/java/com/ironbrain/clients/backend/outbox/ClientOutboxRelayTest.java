@@ -0,0 +1,175 @@
+package com.ironbrain.clients.backend.outbox;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.ClientChangeType;
+import com.ironbrain.clients.backend.model.ClientOutboxEvent;
+import com.ironbrain.clients.backend.repository.ClientOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+class ClientOutboxRelayTest {
+
+    @Mock
+    private ClientOutboxRepository repository;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private ClientProperties.Outbox outbox;
+
+    private MeterRegistry meterRegistry;
+
+    private ClientOutboxRelay relay;
+
+    private final List<Long> sent = new ArrayList<>();
+
+    private final Set<Long> nacked = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        outbox = new ClientProperties.Outbox();
+        outbox.setBatchSize(10);
+        outbox.setMaxAttempts(3);
+        outbox.setConfirmTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new ClientOutboxRelay(repository, transactionOperations, rabbitTemplate, outbox, meterRegistry);
+
+        Mockito.lenient().when(transactionOperations.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.lenient().when(repository.findOldestCreatedAt(3)).thenReturn(Optional.empty());
+        Mockito.lenient().doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            Long id = Long.valueOf(correlationData.getId());
+            sent.add(id);
+            correlationData.getFuture().set(new CorrelationData.Confirm(!nacked.contains(id), null));
+            return null;
+        }).when(rabbitTemplate).send(Mockito.anyString(), Mockito.anyString(), Mockito.any(Message.class), Mockito.any(CorrelationData.class));
+    }
+
+    @Test
+    void confirmedEventsAreRemoved() {
+        Mockito.when(repository.findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10L, 0), event(2L, 20L, 0)));
+
+        relay.relay();
+
+        Mockito.verify(repository).deleteByIds(List.of(1L, 2L));
+        Mockito.verify(repository, Mockito.never()).incrementAttempts(Mockito.any());
+        Mockito.verify(rabbitTemplate).send(Mockito.eq("clients.changes"), Mockito.eq("client.updated"),
+                Mockito.argThat(message -> message.getMessageProperties().getHeaders().get("client-id").equals(10L)),
+                Mockito.any(CorrelationData.class));
+        Assertions.assertEquals(2.0, meterRegistry.get("client.outbox.published").counter().count());
+    }
+
+    @Test
+    void failedClientGetsNothingMoreFromTheBatch() {
+        nacked.add(1L);
+        Mockito.when(repository.findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10L, 0), event(2L, 20L, 0), event(3L, 10L, 0), event(4L, 20L, 0)));
+
+        relay.relay();
+
+        Assertions.assertEquals(List.of(1L, 2L, 4L), sent);
+        Mockito.verify(repository).deleteByIds(List.of(2L, 4L));
+        Mockito.verify(repository).incrementAttempts(List.of(1L));
+        Assertions.assertEquals(1.0, meterRegistry.get("client.outbox.failed").counter().count());
+    }
+
+    @Test
+    void eventsOfAClientGoOutInOrder() {
+        Mockito.when(repository.findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10L, 0), event(2L, 10L, 0), event(3L, 20L, 0), event(4L, 10L, 0)));
+
+        relay.relay();
+
+        Assertions.assertEquals(List.of(1L, 3L, 2L, 4L), sent);
+        Assertions.assertTrue(sent.indexOf(1L) < sent.indexOf(2L) && sent.indexOf(2L) < sent.indexOf(4L));
+    }
+
+    @Test
+    void sendFailureIsRetriedLater() {
+        Mockito.when(repository.findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10L, 2)));
+        Mockito.doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).send(Mockito.anyString(), Mockito.anyString(), Mockito.any(Message.class), Mockito.any(CorrelationData.class));
+
+        relay.relay();
+
+        Mockito.verify(repository).incrementAttempts(List.of(1L));
+        Mockito.verify(repository, Mockito.never()).deleteByIds(Mockito.any());
+        Assertions.assertEquals(1.0, meterRegistry.get("client.outbox.parked").counter().count());
+    }
+
+    @Test
+    void missingConfirmTimesOut() {
+        Mockito.when(repository.findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10L, 0)));
+        Mockito.doNothing()
+                .when(rabbitTemplate).send(Mockito.anyString(), Mockito.anyString(), Mockito.any(Message.class), Mockito.any(CorrelationData.class));
+
+        relay.relay();
+
+        Mockito.verify(repository).incrementAttempts(List.of(1L));
+    }
+
+    @Test
+    void fullBatchesAreDrainedInOneRun() {
+        outbox.setBatchSize(1);
+        Mockito.when(repository.findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10L, 0)))
+                .thenReturn(List.of(event(2L, 20L, 0)))
+                .thenReturn(List.of());
+
+        relay.relay();
+
+        Assertions.assertEquals(List.of(1L, 2L), sent);
+        Mockito.verify(repository, Mockito.times(3)).findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void lagIsTheAgeOfTheOldestEvent() {
+        Mockito.when(repository.findNextBatch(Mockito.eq(3), Mockito.any(Pageable.class))).thenReturn(List.of());
+        Mockito.when(repository.findOldestCreatedAt(3)).thenReturn(Optional.of(new Date(System.currentTimeMillis() - 30000)));
+
+        relay.relay();
+
+        Assertions.assertTrue(meterRegistry.get("client.outbox.lag").gauge().value() >= 30.0);
+    }
+
+    private ClientOutboxEvent event(Long id, Long clientId, int attempts) {
+        return ClientOutboxEvent.builder()
+                .id(id)
+                .clientId(clientId)
+                .type(ClientChangeType.UPDATED)
+                .payload("{\"type\":\"UPDATED\",\"id\":" + clientId + "}")
+                .createdAt(new Date())
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.ironbrain.clients.backend.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientChangeType;
+import com.ironbrain.clients.backend.model.ClientOutboxEvent;
+import com.ironbrain.clients.backend.repository.ClientOutboxRepository;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClientOutboxTest {
+
+    @Mock
+    private ClientOutboxRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ClientProperties clientProperties;
+
+    private ClientOutbox clientOutbox;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        clientProperties = new ClientProperties();
+        clientProperties.getOutbox().setEnabled(true);
+        clientOutbox = new ClientOutbox(repository, objectMapper, clientProperties);
+        client = new Client(1L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psycho", "P@ssw0rd", true, new Date(), new Date(), 4L);
+    }
+
+    @Test
+    void appendWritesACompactEvent() throws Exception {
+        clientOutbox.append(ClientChangeType.UPDATED, client);
+
+        ArgumentCaptor<ClientOutboxEvent> captor = ArgumentCaptor.forClass(ClientOutboxEvent.class);
+        Mockito.verify(repository).save(captor.capture());
+        ClientOutboxEvent event = captor.getValue();
+        Assertions.assertEquals(1L, event.getClientId());
+        Assertions.assertEquals(ClientChangeType.UPDATED, event.getType());
+        Assertions.assertNotNull(event.getCreatedAt());
+
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        Assertions.assertEquals("UPDATED", payload.get("type").asText());
+        Assertions.assertEquals(4L, payload.get("version").asLong());
+        Assertions.assertEquals("Psycho", payload.get("username").asText());
+        Assertions.assertFalse(payload.has("password"));
+    }
+
+    @Test
+    void appendAllWritesOneEventPerClient() {
+        Client other = Client.builder().id(2L).username("Metatron").version(0L).build();
+
+        clientOutbox.appendAll(ClientChangeType.CREATED, List.of(client, other));
+
+        Mockito.verify(repository).saveAll(Mockito.<List<ClientOutboxEvent>>argThat(events -> events.size() == 2
+                && events.get(1).getClientId() == 2L));
+    }
+
+    @Test
+    void appendDeleted() throws Exception {
+        clientOutbox.appendDeleted(1L);
+
+        ArgumentCaptor<ClientOutboxEvent> captor = ArgumentCaptor.forClass(ClientOutboxEvent.class);
+        Mockito.verify(repository).save(captor.capture());
+        Assertions.assertEquals(ClientChangeType.DELETED, captor.getValue().getType());
+        Assertions.assertEquals(1L, objectMapper.readTree(captor.getValue().getPayload()).get("id").asLong());
+    }
+
+    @Test
+    void disabledOutboxWritesNothing() {
+        clientProperties.getOutbox().setEnabled(false);
+        clientOutbox = new ClientOutbox(repository, objectMapper, clientProperties);
+
+        clientOutbox.append(ClientChangeType.CREATED, client);
+        clientOutbox.appendAll(ClientChangeType.CREATED, List.of(client));
+        clientOutbox.appendDeleted(1L);
+
+        Mockito.verifyNoInteractions(repository);
+    }
+}
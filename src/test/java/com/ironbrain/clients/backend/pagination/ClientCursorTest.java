@@ -0,0 +1,38 @@
+package com.ironbrain.clients.backend.pagination;
+
+import com.ironbrain.clients.backend.model.Client;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ClientCursorTest {
+
+    @Test
+    void encodeAndDecode() {
+        Client client = Client.builder().id(42L).username("user:with:colons").build();
+
+        ClientCursor cursor = ClientCursor.decode(ClientCursor.of(ClientSortKey.USERNAME, client).encode());
+
+        Assertions.assertEquals(ClientSortKey.USERNAME, cursor.getSortKey());
+        Assertions.assertEquals(42L, cursor.getId());
+        Assertions.assertEquals("user:with:colons", cursor.getValue());
+    }
+
+    @Test
+    void decodeById() {
+        ClientCursor cursor = ClientCursor.decode(ClientCursor.of(ClientSortKey.ID, Client.builder().id(7L).build()).encode());
+
+        Assertions.assertEquals(ClientSortKey.ID, cursor.getSortKey());
+        Assertions.assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void decodeInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ClientCursor.decode("not a cursor"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ClientCursor.decode("aWQ6eDp5"));
+    }
+
+    @Test
+    void fromKeyInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ClientSortKey.fromKey("password"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.ironbrain.clients.backend.reactive;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveClientCacheTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    private ReactiveClientCache clientCache;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        clientCache = new ReactiveClientCache(redisTemplate, Duration.ofMinutes(10));
+        client = Client.builder().id(1L).username("Psycho").version(0L).build();
+    }
+
+    @Test
+    void getByIdUsesTheCacheManagerKey() {
+        Mockito.when(valueOperations.get("clients::1")).thenReturn(Mono.just(client));
+
+        Assertions.assertSame(client, clientCache.getById(1L).block());
+    }
+
+    @Test
+    void getByIdIgnoresOtherValues() {
+        Mockito.when(valueOperations.get("clients::1")).thenReturn(Mono.just(1L));
+
+        Assertions.assertNull(clientCache.getById(1L).block());
+    }
+
+    @Test
+    void getByIdFailureIsAMiss() {
+        Mockito.when(valueOperations.get("clients::1"))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("Redis is down")));
+
+        Assertions.assertNull(clientCache.getById(1L).block());
+    }
+
+    @Test
+    void putIfAbsentWithTimeToLive() {
+        Mockito.when(valueOperations.setIfAbsent("clients::1", client, Duration.ofMinutes(10))).thenReturn(Mono.just(true));
+
+        Assertions.assertTrue(clientCache.putIfAbsent(client).block());
+    }
+
+    @Test
+    void putIfAbsentWithoutTimeToLive() {
+        clientCache = new ReactiveClientCache(redisTemplate, null);
+        Mockito.when(valueOperations.setIfAbsent("clients::1", client)).thenReturn(Mono.just(true));
+
+        Assertions.assertTrue(clientCache.putIfAbsent(client).block());
+    }
+
+    @Test
+    void putIfAbsentKeepsTheCachedRow() {
+        Mockito.when(valueOperations.setIfAbsent("clients::1", client, Duration.ofMinutes(10))).thenReturn(Mono.just(false));
+
+        Assertions.assertFalse(clientCache.putIfAbsent(client).block());
+        Mockito.verify(valueOperations, Mockito.never()).set(Mockito.anyString(), Mockito.any(), Mockito.any(Duration.class));
+    }
+
+    @Test
+    void putIfAbsentFailureIsIgnored() {
+        Mockito.when(valueOperations.setIfAbsent("clients::1", client, Duration.ofMinutes(10)))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("Redis is down")));
+
+        Assertions.assertFalse(clientCache.putIfAbsent(client).block());
+    }
+}
@@ -0,0 +1,78 @@
+package com.ironbrain.clients.backend.reactive;
+
+import com.ironbrain.clients.backend.model.Client;
+import io.r2dbc.spi.ConnectionFactories;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+class ReactiveClientRepositoryTest {
+
+    private DatabaseClient databaseClient;
+
+    private ReactiveClientRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///reactive-clients;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        repository = new ReactiveClientRepository(databaseClient, 2);
+
+        databaseClient.sql("CREATE TABLE clients (id_client BIGINT PRIMARY KEY, first_name VARCHAR(50), "
+                + "midlle_name VARCHAR(50), last_name VARCHAR(50), email VARCHAR(100), username VARCHAR(50), "
+                + "password VARCHAR(100), is_active BOOLEAN, created_at DATE, updated_at DATE, version BIGINT NOT NULL DEFAULT 0)")
+                .then()
+                .block();
+        for (long id = 1; id <= 5; id++) {
+            databaseClient.sql("INSERT INTO clients VALUES (:id, 'Yoni', 'Herrera', 'Lica', :email, :username, "
+                    + "'P@ssw0rd', TRUE, CURRENT_DATE, NULL, 3)")
+                    .bind("id", id)
+                    .bind("email", "client" + id + "@gmail.com")
+                    .bind("username", "client" + id)
+                    .then()
+                    .block();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DROP TABLE clients").then().block();
+    }
+
+    @Test
+    void findById() {
+        Client client = repository.findById(3L).block();
+
+        Assertions.assertNotNull(client);
+        Assertions.assertEquals(3L, client.getId());
+        Assertions.assertEquals("Herrera", client.getMiddleName());
+        Assertions.assertEquals("client3", client.getUsername());
+        Assertions.assertTrue(client.getIsActive());
+        Assertions.assertNotNull(client.getCreatedAt());
+        Assertions.assertNull(client.getUpdatedAt());
+        Assertions.assertEquals(3L, client.getVersion());
+    }
+
+    @Test
+    void findByIdMissing() {
+        Assertions.assertNull(repository.findById(99L).block());
+    }
+
+    @Test
+    void findPage() {
+        List<Long> ids = repository.findPage(1, 2).map(Client::getId).collectList().block();
+
+        Assertions.assertEquals(List.of(3L, 4L), ids);
+    }
+
+    @Test
+    void streamAll() {
+        List<Long> ids = repository.streamAll().toStream().map(Client::getId).collect(Collectors.toList());
+
+        Assertions.assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+    }
+}
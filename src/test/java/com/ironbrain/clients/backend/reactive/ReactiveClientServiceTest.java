@@ -0,0 +1,82 @@
+package com.ironbrain.clients.backend.reactive;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveClientServiceTest {
+
+    @Mock
+    private ReactiveClientRepository repository;
+
+    @Mock
+    private ReactiveClientCache clientCache;
+
+    @InjectMocks
+    private ReactiveClientService service;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = Client.builder().id(1L).username("Psycho").version(0L).build();
+    }
+
+    @Test
+    void findByIdFromCache() {
+        Mockito.when(clientCache.getById(1L)).thenReturn(Mono.just(client));
+
+        Assertions.assertSame(client, service.findById(1L).block());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findByIdLoadsAndCaches() {
+        Mockito.when(clientCache.getById(1L)).thenReturn(Mono.empty());
+        Mockito.when(repository.findById(1L)).thenReturn(Mono.just(client));
+        Mockito.when(clientCache.putIfAbsent(client)).thenReturn(Mono.just(true));
+
+        Assertions.assertSame(client, service.findById(1L).block());
+        Mockito.verify(clientCache).put(client);
+    }
+
+    @Test
+    void findByIdMissing() {
+        Mockito.when(clientCache.getById(1L)).thenReturn(Mono.empty());
+        Mockito.when(repository.findById(1L)).thenReturn(Mono.empty());
+
+        Assertions.assertNull(service.findById(1L).block());
+        Mockito.verify(clientCache, Mockito.never()).put(Mockito.any());
+    }
+
+    @Test
+    void findAllPaged() {
+        Mockito.when(repository.findPage(0, 20)).thenReturn(Flux.just(client));
+
+        Assertions.assertEquals(List.of(client), service.findAllPaged(0, 20).collectList().block());
+    }
+
+    @Test
+    void findAllPagedInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.findAllPaged(-1, 20).blockFirst());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.findAllPaged(0, 0).blockFirst());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void streamAll() {
+        Mockito.when(repository.streamAll()).thenReturn(Flux.just(client));
+
+        Assertions.assertEquals(List.of(client), service.streamAll().collectList().block());
+    }
+}
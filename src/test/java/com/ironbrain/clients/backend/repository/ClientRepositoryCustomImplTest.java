@@ -0,0 +1,196 @@
+package com.ironbrain.clients.backend.repository;
+
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
+import java.util.EnumSet;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+@ExtendWith(MockitoExtension.class)
+class ClientRepositoryCustomImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private Query query;
+
+    @Mock
+    private TypedQuery<Tuple> tupleQuery;
+
+    @InjectMocks
+    private ClientRepositoryCustomImpl repository;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = Client.builder().id(1L).username("Psycho").isActive(false).build();
+
+        Mockito.lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        Mockito.lenient().when(entityManager.createNativeQuery(Mockito.anyString(), Mockito.eq(Client.class))).thenReturn(query);
+        Mockito.lenient().when(query.setParameter(Mockito.anyString(), Mockito.any())).thenReturn(query);
+    }
+
+    @Test
+    void toggleActiveUsesReturningOnPostgres() {
+        givenDatabase("PostgreSQL");
+        Mockito.when(query.getResultList()).thenReturn(List.of(client));
+
+        Assertions.assertSame(client, repository.toggleActive(1L).orElseThrow());
+        Assertions.assertEquals(
+                "UPDATE clients SET is_active = NOT COALESCE(is_active, FALSE), updated_at = CURRENT_DATE, version = version + 1 WHERE id_client = :id RETURNING *",
+                getSql());
+    }
+
+    @Test
+    void toggleActiveUsesFinalTableOnH2() {
+        givenDatabase("H2");
+        Mockito.when(query.getResultList()).thenReturn(List.of());
+
+        Assertions.assertTrue(repository.toggleActive(1L).isEmpty());
+        Assertions.assertTrue(getSql().startsWith("SELECT * FROM FINAL TABLE (UPDATE clients SET is_active"));
+    }
+
+    @Test
+    void patchWritesOnlySuppliedColumns() {
+        givenDatabase("PostgreSQL");
+        Mockito.when(query.getResultList()).thenReturn(List.of(client));
+
+        repository.patch(1L, Client.builder().lastName("Herrera").isActive(true).build());
+
+        Assertions.assertEquals(
+                "UPDATE clients SET last_name = :last_name, is_active = :is_active, updated_at = CURRENT_DATE,"
+                        + " version = version + 1 WHERE id_client = :id RETURNING *",
+                getSql());
+        Mockito.verify(query).setParameter("last_name", "Herrera");
+        Mockito.verify(query).setParameter("is_active", true);
+        Mockito.verify(query).setParameter("id", 1L);
+    }
+
+    @Test
+    void patchWithVersionAddsCondition() {
+        givenDatabase("PostgreSQL");
+        Mockito.when(query.getResultList()).thenReturn(List.of());
+
+        Assertions.assertTrue(repository.patch(1L, Client.builder().lastName("Herrera").version(3L).build()).isEmpty());
+
+        Assertions.assertTrue(getSql().endsWith("WHERE id_client = :id AND version = :version RETURNING *"));
+        Mockito.verify(query).setParameter("version", 3L);
+    }
+
+    @Test
+    void patchWithoutChangesFails() {
+        Client changes = new Client();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> repository.patch(1L, changes));
+        Mockito.verifyNoInteractions(query);
+    }
+
+    @Test
+    void findAllProjectedSelectsOnlyTheRequestedColumns() {
+        givenRows(getRow(3L, 1L, "Psycho"));
+
+        Client result = repository.findAllProjected(EnumSet.of(ClientField.USERNAME)).get(0);
+
+        Assertions.assertEquals("select c.version, c.id, c.username from Client c order by c.id", getJpql());
+        Assertions.assertEquals(1L, result.getId());
+        Assertions.assertEquals(3L, result.getVersion());
+        Assertions.assertEquals("Psycho", result.getUsername());
+        Assertions.assertNull(result.getEmail());
+    }
+
+    @Test
+    void findAllProjectedPageSkipsTheCountOnAShortPage() {
+        givenRows(getRow(0L, 1L));
+        Mockito.when(tupleQuery.setFirstResult(20)).thenReturn(tupleQuery);
+        Mockito.when(tupleQuery.setMaxResults(20)).thenReturn(tupleQuery);
+
+        Page<Client> result = repository.findAllProjected(EnumSet.of(ClientField.ID), PageRequest.of(1, 20));
+
+        Assertions.assertEquals(21, result.getTotalElements());
+        Mockito.verify(entityManager, Mockito.never()).createQuery(Mockito.anyString(), Mockito.eq(Long.class));
+    }
+
+    @Test
+    void findNextProjectedAfterUsernameCursor() {
+        givenRows(getRow(0L, 2L, "Queen"), getRow(0L, 3L, "Rocky"));
+        Mockito.when(tupleQuery.setMaxResults(2)).thenReturn(tupleQuery);
+        Mockito.when(tupleQuery.setParameter(Mockito.anyString(), Mockito.any())).thenReturn(tupleQuery);
+
+        Slice<Client> result = repository.findNextProjected(EnumSet.of(ClientField.ID), ClientSortKey.USERNAME,
+                new ClientCursor(ClientSortKey.USERNAME, 1L, "Psycho"), 1);
+
+        Assertions.assertEquals("select c.version, c.id, c.username from Client c"
+                + " where c.username > :value or (c.username = :value and c.id > :id) order by c.username, c.id", getJpql());
+        Mockito.verify(tupleQuery).setParameter("value", "Psycho");
+        Mockito.verify(tupleQuery).setParameter("id", 1L);
+        Assertions.assertTrue(result.hasNext());
+        Assertions.assertEquals(1, result.getNumberOfElements());
+        Assertions.assertEquals("Queen", result.getContent().get(0).getUsername());
+    }
+
+    @Test
+    void findNextProjectedFirstSlice() {
+        givenRows(getRow(0L, 1L, "ingyoniherrera@gmail.com"));
+        Mockito.when(tupleQuery.setMaxResults(21)).thenReturn(tupleQuery);
+
+        Slice<Client> result = repository.findNextProjected(EnumSet.of(ClientField.EMAIL), ClientSortKey.ID, null, 20);
+
+        Assertions.assertEquals("select c.version, c.id, c.email from Client c order by c.id", getJpql());
+        Assertions.assertFalse(result.hasNext());
+        Mockito.verify(tupleQuery, Mockito.never()).setParameter(Mockito.anyString(), Mockito.any());
+    }
+
+    private void givenRows(Tuple... rows) {
+        Mockito.when(entityManager.createQuery(Mockito.anyString(), Mockito.eq(Tuple.class))).thenReturn(tupleQuery);
+        Mockito.when(tupleQuery.getResultList()).thenReturn(List.of(rows));
+    }
+
+    private Tuple getRow(Object... values) {
+        Tuple row = Mockito.mock(Tuple.class);
+        for (int i = 0; i < values.length; i++) {
+            Mockito.lenient().when(row.get(i)).thenReturn(values[i]);
+        }
+        return row;
+    }
+
+    private String getJpql() {
+        ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(entityManager).createQuery(jpql.capture(), Mockito.eq(Tuple.class));
+        return jpql.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenDatabase(String productName) {
+        Mockito.when(session.doReturningWork(Mockito.any(ReturningWork.class))).thenReturn(productName);
+    }
+
+    private String getSql() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(entityManager).createNativeQuery(sql.capture(), Mockito.eq(Client.class));
+        return sql.getValue();
+    }
+}
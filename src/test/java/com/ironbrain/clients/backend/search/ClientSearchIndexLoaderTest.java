@@ -0,0 +1,52 @@
+package com.ironbrain.clients.backend.search;
+
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.service.ClientService;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClientSearchIndexLoaderTest {
+
+    @Mock
+    private ClientService clientService;
+
+    private ClientSearchIndex index;
+
+    private ClientSearchIndexLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClientSearchIndex();
+        loader = new ClientSearchIndexLoader(clientService, index);
+    }
+
+    @Test
+    void loadStreamsTheTable() {
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<Client>>getArgument(0).accept(Client.builder().id(1L).username("Psycho").build());
+            return null;
+        }).when(clientService).exportAll(Mockito.any());
+
+        loader.load();
+
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertEquals(1L, index.search("psy", 10).get(0).getId());
+    }
+
+    @Test
+    void failedRefreshKeepsTheIndex() {
+        index.put(Client.builder().id(1L).username("Psycho").build());
+        Mockito.doThrow(new IllegalStateException("Connection refused")).when(clientService).exportAll(Mockito.any());
+
+        loader.refresh();
+
+        Assertions.assertEquals(1, index.size());
+    }
+}
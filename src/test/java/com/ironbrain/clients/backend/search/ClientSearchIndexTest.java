@@ -0,0 +1,120 @@
+package com.ironbrain.clients.backend.search;
+
+import com.ironbrain.clients.backend.model.Client;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClientSearchIndexTest {
+
+    private ClientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClientSearchIndex();
+        index.put(client(1L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psycho"));
+        index.put(client(2L, "Maria", null, "Yonamine", "maria@mail.com", "mary"));
+        index.put(client(3L, "Pedro", null, "P\u00e9rez", "pedro.perez@mail.com", "yon"));
+    }
+
+    @Test
+    void exactWordsRankOverPrefixes() {
+        Assertions.assertEquals(List.of(3L, 1L, 2L), ids(index.search("yon", 10)));
+    }
+
+    @Test
+    void shortQueriesMatchPrefixes() {
+        Assertions.assertEquals(List.of(2L, 3L), ids(index.search("ma", 10)));
+        Assertions.assertEquals(List.of(1L, 3L), ids(index.search("p", 10)));
+    }
+
+    @Test
+    void substringsMatch() {
+        Assertions.assertEquals(List.of(1L), ids(index.search("errer", 10)));
+    }
+
+    @Test
+    void typosMatchWithTheLowestScore() {
+        Assertions.assertEquals(List.of(1L), ids(index.search("herrrera", 10)));
+        Assertions.assertTrue(index.search("zzzz", 10).isEmpty());
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        Assertions.assertEquals(List.of(3L), ids(index.search("Pedro Perez", 10)));
+        Assertions.assertEquals(List.of(3L), ids(index.search("pedro pe", 10)));
+        Assertions.assertTrue(index.search("pedro lica", 10).isEmpty());
+    }
+
+    @Test
+    void wholeEmailMatches() {
+        Assertions.assertEquals(List.of(3L), ids(index.search("pedro.perez@mail.com", 10)));
+    }
+
+    @Test
+    void resultsAreLimited() {
+        Assertions.assertEquals(List.of(3L), ids(index.search("yon", 1)));
+        Assertions.assertTrue(index.search("yon", 0).isEmpty());
+        Assertions.assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void putReplacesAndRemoveDrops() {
+        index.put(client(3L, "Pedro", null, "Perez", "pedro.perez@mail.com", "pperez"));
+        Assertions.assertEquals(List.of(1L, 2L), ids(index.search("yon", 10)));
+
+        index.remove(1L);
+        Assertions.assertEquals(List.of(2L), ids(index.search("yon", 10)));
+        Assertions.assertEquals(2, index.size());
+    }
+
+    @Test
+    void passwordIsNotKept() {
+        Client client = client(4L, "Ana", null, "Gomez", "ana@mail.com", "ana");
+        client.setPassword("P@ssw0rd");
+        index.put(client);
+
+        Assertions.assertNull(index.search("ana", 1).get(0).getPassword());
+    }
+
+    @Test
+    void rebuildKeepsTheWritesMadeWhileStreaming() {
+        index.rebuild(action -> {
+            action.accept(client(1L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psycho"));
+            index.put(client(5L, "Luis", null, "Yonte", "luis@mail.com", "luis"));
+            index.remove(1L);
+        });
+
+        Assertions.assertEquals(List.of(5L), ids(index.search("yon", 10)));
+        Assertions.assertEquals(1, index.size());
+    }
+
+    @Test
+    void failedRebuildKeepsThePreviousIndex() {
+        Assertions.assertThrows(IllegalStateException.class, () -> index.rebuild(action -> {
+            throw new IllegalStateException("Connection refused");
+        }));
+
+        Assertions.assertEquals(3, index.size());
+        index.put(client(5L, "Luis", null, "Yonte", "luis@mail.com", "luis"));
+        Assertions.assertEquals(4, index.size());
+    }
+
+    private Client client(Long id, String firstName, String middleName, String lastName, String email, String username) {
+        return Client.builder()
+                .id(id)
+                .firstName(firstName)
+                .middleName(middleName)
+                .lastName(lastName)
+                .email(email)
+                .username(username)
+                .isActive(true)
+                .build();
+    }
+
+    private List<Long> ids(List<Client> clients) {
+        return clients.stream().map(Client::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,95 @@
+package com.ironbrain.clients.backend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+class CachingAuthenticationProviderTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private InMemoryUserDetailsManager userDetailsManager;
+
+    private MeterRegistry meterRegistry;
+
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsManager = new InMemoryUserDetailsManager(User
+                .withUsername("admin")
+                .password(passwordEncoder.encode("secret"))
+                .roles("ADMIN")
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider();
+        delegate.setUserDetailsService(userDetailsManager);
+        delegate.setPasswordEncoder(passwordEncoder);
+        provider = new CachingAuthenticationProvider(delegate, userDetailsManager, 10, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void repeatedCredentialsAreServedFromTheCache() {
+        Authentication first = provider.authenticate(token("admin", "secret"));
+        Authentication second = provider.authenticate(token("admin", "secret"));
+
+        Assertions.assertTrue(first.isAuthenticated());
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1.0, getCount("hit"));
+        Assertions.assertEquals(1.0, getCount("miss"));
+    }
+
+    @Test
+    void wrongPasswordIsNeverCached() {
+        provider.authenticate(token("admin", "secret"));
+
+        Assertions.assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("admin", "wrong")));
+        Assertions.assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("admin", "wrong")));
+        Assertions.assertEquals(0.0, getCount("hit"));
+    }
+
+    @Test
+    void passwordChangeInvalidatesCachedVerification() {
+        provider.authenticate(token("admin", "secret"));
+        userDetailsManager.updatePassword(userDetailsManager.loadUserByUsername("admin"), passwordEncoder.encode("changed"));
+
+        Assertions.assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("admin", "secret")));
+        Assertions.assertTrue(provider.authenticate(token("admin", "changed")).isAuthenticated());
+        Assertions.assertEquals(0.0, getCount("hit"));
+    }
+
+    @Test
+    void evictUserForcesFullVerification() {
+        provider.authenticate(token("admin", "secret"));
+        provider.evictUser("admin");
+        provider.authenticate(token("admin", "secret"));
+
+        Assertions.assertEquals(0.0, getCount("hit"));
+        Assertions.assertEquals(2.0, getCount("miss"));
+    }
+
+    @Test
+    void supportsUsernamePasswordTokens() {
+        Assertions.assertTrue(provider.supports(UsernamePasswordAuthenticationToken.class));
+        Assertions.assertFalse(provider.supports(Authentication.class));
+    }
+
+    private UsernamePasswordAuthenticationToken token(String username, String password) {
+        return new UsernamePasswordAuthenticationToken(username, password);
+    }
+
+    private double getCount(String result) {
+        return meterRegistry.get("client.security.credentials.cache").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ironbrain.clients.backend.security;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class ClientPasswordHasherTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ClientPasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hasher = new ClientPasswordHasher(new BCryptPasswordEncoder(4), new ClientProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void encodedPasswordMatches() {
+        String encoded = hasher.encode("P@ssw0rd");
+
+        Assertions.assertTrue(hasher.isEncoded(encoded));
+        Assertions.assertTrue(hasher.matches("P@ssw0rd", encoded));
+        Assertions.assertFalse(hasher.matches("Wr0ngP@ss", encoded));
+        Assertions.assertEquals(2, meterRegistry.get("client.password.verification").timer().count());
+    }
+
+    @Test
+    void encodeRunsOnThePool() {
+        List<String> encoded = hasher.encodeAll(Arrays.asList("P@ssw0rd", null, "N3wP@ss"));
+
+        Assertions.assertTrue(hasher.matches("P@ssw0rd", encoded.get(0)));
+        Assertions.assertNull(encoded.get(1));
+        Assertions.assertTrue(hasher.matches("N3wP@ss", encoded.get(2)));
+        Assertions.assertTrue(hasher.encodeAll(List.of()).isEmpty());
+        Assertions.assertEquals(1, meterRegistry.get("client.password.encoding").timer().count());
+    }
+
+    @Test
+    void unknownUsernameCostsAVerification() {
+        hasher.matchDummy("P@ssw0rd");
+        hasher.matchDummy(null);
+
+        Assertions.assertEquals(2, meterRegistry.get("client.password.verification").timer().count());
+    }
+
+    @Test
+    void legacyPasswordIsComparedWithoutThePool() {
+        Assertions.assertFalse(hasher.isEncoded("P@ssw0rd"));
+        Assertions.assertTrue(hasher.matches("P@ssw0rd", "P@ssw0rd"));
+        Assertions.assertFalse(hasher.matches("P@ssw0rd", "P@ssw0rd!"));
+        Assertions.assertEquals(0, meterRegistry.get("client.password.verification").timer().count());
+    }
+
+    @Test
+    void missingPasswordNeverMatches() {
+        Assertions.assertFalse(hasher.matches(null, hasher.encode("P@ssw0rd")));
+        Assertions.assertFalse(hasher.matches("P@ssw0rd", null));
+        Assertions.assertNull(hasher.encode(null));
+    }
+
+    @Test
+    void saturatedPoolRejectsStraightAway() throws InterruptedException {
+        ClientProperties clientProperties = new ClientProperties();
+        clientProperties.getSecurity().getPasswordHashing().setPoolSize(1);
+        clientProperties.getSecurity().getPasswordHashing().setQueueCapacity(1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        MeterRegistry saturatedRegistry = new SimpleMeterRegistry();
+        ClientPasswordHasher saturated = new ClientPasswordHasher(blocking, clientProperties, saturatedRegistry);
+        String encoded = saturated.encode("P@ssw0rd");
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> saturated.matches("P@ssw0rd", encoded));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> saturated.matches("P@ssw0rd", encoded));
+
+            while (saturatedRegistry.get("executor.queued").gauge().value() < 1) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertThrows(ServiceUnavailableException.class, () -> saturated.matches("P@ssw0rd", encoded));
+            Assertions.assertEquals(1.0, saturatedRegistry.get("client.password.verification.rejected").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            saturated.shutdown();
+        }
+    }
+}
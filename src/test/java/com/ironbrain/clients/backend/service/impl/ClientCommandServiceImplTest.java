@@ -0,0 +1,96 @@
+package com.ironbrain.clients.backend.service.impl;
+
+import com.ironbrain.clients.backend.command.ClientCommandPublisher;
+import com.ironbrain.clients.backend.command.ClientCommandTracker;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientCommand;
+import com.ironbrain.clients.backend.model.ClientCommandState;
+import com.ironbrain.clients.backend.model.ClientCommandStatus;
+import com.ironbrain.clients.backend.model.ClientCommandType;
+import com.ironbrain.clients.backend.security.ClientPasswordHasher;
+import java.net.ConnectException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCommandServiceImplTest {
+
+    @Mock
+    private ClientCommandPublisher clientCommandPublisher;
+
+    @Mock
+    private ClientPasswordHasher clientPasswordHasher;
+
+    private ClientCommandTracker clientCommandTracker;
+
+    private ClientCommandServiceImpl clientCommandService;
+
+    @BeforeEach
+    void setUp() {
+        clientCommandTracker = new ClientCommandTracker(new ConcurrentMapCacheManager());
+        clientCommandService = new ClientCommandServiceImpl(clientCommandPublisher, clientCommandTracker, clientPasswordHasher);
+    }
+
+    @Test
+    void saveIsPublishedAndPending() {
+        Client client = Client.builder().username("Psycho").build();
+
+        ClientCommandStatus status = clientCommandService.save(client);
+
+        ArgumentCaptor<ClientCommand> captor = ArgumentCaptor.forClass(ClientCommand.class);
+        Mockito.verify(clientCommandPublisher).publish(captor.capture());
+        Assertions.assertEquals(ClientCommandType.SAVE, captor.getValue().getType());
+        Assertions.assertSame(client, captor.getValue().getClient());
+        Assertions.assertEquals(status.getTrackingId(), captor.getValue().getTrackingId());
+        Assertions.assertEquals(ClientCommandState.PENDING, clientCommandService.findStatus(status.getTrackingId()).get().getState());
+    }
+
+    @Test
+    void passwordIsHashedBeforePublishing() {
+        Mockito.when(clientPasswordHasher.encode("P@ssw0rd")).thenReturn("$2a$10$hash");
+
+        clientCommandService.updateById(Client.builder().password("P@ssw0rd").build(), 1L);
+
+        ArgumentCaptor<ClientCommand> captor = ArgumentCaptor.forClass(ClientCommand.class);
+        Mockito.verify(clientCommandPublisher).publish(captor.capture());
+        Assertions.assertEquals("$2a$10$hash", captor.getValue().getClient().getPassword());
+    }
+
+    @Test
+    void updateToggleAndDeleteCarryTheId() {
+        clientCommandService.updateById(Client.builder().build(), 1L);
+        clientCommandService.activateAndDeactivateClientById(2L);
+        clientCommandService.deleteById(3L);
+
+        ArgumentCaptor<ClientCommand> captor = ArgumentCaptor.forClass(ClientCommand.class);
+        Mockito.verify(clientCommandPublisher, Mockito.times(3)).publish(captor.capture());
+        Assertions.assertEquals(ClientCommandType.UPDATE, captor.getAllValues().get(0).getType());
+        Assertions.assertEquals(1L, captor.getAllValues().get(0).getClientId());
+        Assertions.assertEquals(ClientCommandType.TOGGLE, captor.getAllValues().get(1).getType());
+        Assertions.assertEquals(2L, captor.getAllValues().get(1).getClientId());
+        Assertions.assertEquals(ClientCommandType.DELETE, captor.getAllValues().get(2).getType());
+        Assertions.assertEquals(3L, captor.getAllValues().get(2).getClientId());
+    }
+
+    @Test
+    void unavailableBrokerRejectsTheCommand() {
+        Mockito.doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(clientCommandPublisher).publish(Mockito.any());
+
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> clientCommandService.deleteById(1L));
+
+        ArgumentCaptor<ClientCommand> captor = ArgumentCaptor.forClass(ClientCommand.class);
+        Mockito.verify(clientCommandPublisher).publish(captor.capture());
+        Assertions.assertEquals(ClientCommandState.REJECTED,
+                clientCommandService.findStatus(captor.getValue().getTrackingId()).get().getState());
+    }
+}
@@ -1,22 +1,51 @@
 package com.ironbrain.clients.backend.service.impl;
 
+import com.ironbrain.clients.backend.cache.ClientCache;
+import com.ironbrain.clients.backend.cache.ClientCacheLoader;
+import com.ironbrain.clients.backend.cache.ClientNegativeCache;
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
 import com.ironbrain.clients.backend.exception.NotFoundException;
+import com.ironbrain.clients.backend.exception.PreconditionFailedException;
+import com.ironbrain.clients.backend.exception.ServiceUnavailableException;
 import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientBatchResult;
+import com.ironbrain.clients.backend.model.ClientBatchStatus;
+import com.ironbrain.clients.backend.model.ClientChangeType;
+import com.ironbrain.clients.backend.model.ClientField;
+import com.ironbrain.clients.backend.outbox.ClientOutbox;
+import com.ironbrain.clients.backend.pagination.ClientCursor;
+import com.ironbrain.clients.backend.pagination.ClientSortKey;
 import com.ironbrain.clients.backend.repository.ClientRepository;
+import com.ironbrain.clients.backend.search.ClientSearchIndex;
+import com.ironbrain.clients.backend.security.ClientPasswordHasher;
+import com.ironbrain.clients.backend.uniqueness.ClientUniquenessGuard;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 @ExtendWith(MockitoExtension.class)
 class ClientServiceImplTest {
@@ -24,23 +53,90 @@ class ClientServiceImplTest {
     @Mock
     private ClientRepository repository;
 
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Mock
+    private ClientCache clientCache;
+
+    @Spy
+    private ClientProperties clientProperties = new ClientProperties();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ClientPasswordHasher clientPasswordHasher;
+
+    @Mock
+    private ClientOutbox clientOutbox;
+
+    @Mock
+    private ClientSearchIndex clientSearchIndex;
+
+    @Mock
+    private ClientUniquenessGuard clientUniquenessGuard;
+
+    @Mock
+    private ClientCacheLoader clientCacheLoader;
+
+    @Mock
+    private ClientNegativeCache clientNegativeCache;
+
     @InjectMocks
     private ClientServiceImpl clientService;
 
     private Client client;
 
+    private final Set<ClientField> allFields = EnumSet.allOf(ClientField.class);
+
     @BeforeEach
     void setUp() {
 
-        client = new Client(1L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psycho", "P@ssw0rd", true, new Date(), new Date());
+        client = new Client(1L, "Yoni", "Herrera", "Lica", "ingyoniherrera@gmail.com", "Psycho", "P@ssw0rd", true, new Date(), new Date(), 0L);
+
+        Mockito.lenient().when(transactionOperations.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.lenient().when(clientUniquenessGuard.mightHaveUsername(Mockito.any())).thenReturn(true);
+        Mockito.lenient().when(clientUniquenessGuard.mightHaveEmail(Mockito.any())).thenReturn(true);
+        Mockito.lenient().when(clientPasswordHasher.encodeAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
     void save() {
 
         Mockito.when(repository.save(client)).thenReturn(client);
+        Mockito.when(clientPasswordHasher.encode("P@ssw0rd")).thenReturn("$2a$hash");
 
         Assertions.assertNotNull(clientService.save(client));
+        Assertions.assertEquals("$2a$hash", client.getPassword());
+        Mockito.verify(clientCache).put(client);
+        Mockito.verify(clientOutbox).append(ClientChangeType.CREATED, client);
+        Mockito.verify(clientSearchIndex).put(client);
+        Mockito.verify(clientUniquenessGuard).check("Psycho", "ingyoniherrera@gmail.com", null);
+        Mockito.verify(clientUniquenessGuard).add(client);
+    }
+
+    @Test
+    void saveDuplicatedIsRejectedBeforeTheInsert() {
+
+        Mockito.doThrow(new DuplicateClientException("email", "Already exists this Email in the System !!!"))
+                .when(clientUniquenessGuard).check("Psycho", "ingyoniherrera@gmail.com", null);
+
+        DuplicateClientException ex = Assertions.assertThrows(DuplicateClientException.class, () -> clientService.save(client));
+        Assertions.assertEquals("email", ex.getField());
+        Mockito.verifyNoInteractions(repository, clientPasswordHasher);
+    }
+
+    @Test
+    void saveConstraintViolationNamesTheField() {
+
+        DuplicateClientException duplicate = new DuplicateClientException("username", "Already exists this Username in the System !!!");
+        Mockito.when(repository.save(client)).thenThrow(new DataIntegrityViolationException("CLIENTS_USERNAME_KEY"));
+        Mockito.when(clientUniquenessGuard.getDuplicate("Psycho", "ingyoniherrera@gmail.com", null)).thenReturn(duplicate);
+
+        Assertions.assertSame(duplicate, Assertions.assertThrows(DuplicateClientException.class, () -> clientService.save(client)));
+        Mockito.verifyNoInteractions(clientCache);
     }
 
     @Test
@@ -49,12 +145,14 @@ class ClientServiceImplTest {
         Mockito.lenient().when(repository.findById(1L)).thenReturn(Optional.of(client));
 
         client.setUsername("Metatron");
-        Mockito.when(repository.save(client)).thenReturn(client);
+        Mockito.when(repository.saveAndFlush(client)).thenReturn(client);
 
         Client result = clientService.updateById(client, 1L);
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals("Metatron",result.getUsername());
+        Mockito.verify(clientCache).replace("Metatron", client);
+        Mockito.verify(clientOutbox).append(ClientChangeType.UPDATED, client);
     }
 
     @Test
@@ -66,41 +164,269 @@ class ClientServiceImplTest {
     }
 
     @Test
-    void findById() {
+    void saveAll() {
+
+        Client duplicated = Client.builder().username("Other").email(client.getEmail()).build();
+        Client fresh = Client.builder().username("Fresh").email("fresh@gmail.com").build();
+
+        Mockito.when(repository.findByUsernameInOrEmailIn(Mockito.anyCollection(), Mockito.anyCollection())).thenReturn(List.of(client));
+
+        List<ClientBatchResult> results = clientService.saveAll(List.of(duplicated, fresh));
+
+        Assertions.assertEquals(ClientBatchStatus.DUPLICATED, results.get(0).getStatus());
+        Assertions.assertEquals(ClientBatchStatus.SAVED, results.get(1).getStatus());
+        Mockito.verify(repository).saveAll(Mockito.argThat(clients -> clients.iterator().next() == fresh));
+        Mockito.verify(repository).flush();
+        Mockito.verify(clientOutbox).appendAll(Mockito.eq(ClientChangeType.CREATED), Mockito.argThat(clients -> clients.size() == 1));
+        Mockito.verify(clientCache).put(fresh);
+        Mockito.verify(clientSearchIndex).put(fresh);
+        Mockito.verify(clientUniquenessGuard).add(fresh);
+    }
+
+    @Test
+    void saveAllHashesBeforeTheTransaction() {
+
+        Client fresh = Client.builder().username("Fresh").email("fresh@gmail.com").password("P@ssw0rd").build();
+        Mockito.when(clientPasswordHasher.encodeAll(List.of("P@ssw0rd"))).thenReturn(List.of("$2a$hash"));
+
+        clientService.saveAll(List.of(fresh));
+
+        Assertions.assertEquals("$2a$hash", fresh.getPassword());
+        InOrder inOrder = Mockito.inOrder(clientPasswordHasher, transactionOperations);
+        inOrder.verify(clientPasswordHasher).encodeAll(List.of("P@ssw0rd"));
+        inOrder.verify(transactionOperations).execute(Mockito.any());
+    }
+
+    @Test
+    void saveAllFailsOnlyTheChunkTheHasherRejects() {
+
+        clientProperties.getBatch().setSize(1);
+        Client first = Client.builder().username("First").email("first@gmail.com").password("first").build();
+        Client second = Client.builder().username("Second").email("second@gmail.com").password("second").build();
+        Mockito.when(clientPasswordHasher.encodeAll(List.of("second")))
+                .thenThrow(new ServiceUnavailableException("The password hashing service is busy, try again later"));
+
+        List<ClientBatchResult> results = clientService.saveAll(List.of(first, second));
+
+        Assertions.assertEquals(ClientBatchStatus.SAVED, results.get(0).getStatus());
+        Assertions.assertEquals(ClientBatchStatus.FAILED, results.get(1).getStatus());
+        Assertions.assertEquals("The password hashing service is busy, try again later", results.get(1).getMessage());
+        Mockito.verify(clientSearchIndex).put(first);
+        Mockito.verify(clientSearchIndex, Mockito.never()).put(second);
+    }
+
+    @Test
+    void saveAllHashedKeepsThePasswords() {
+
+        Client fresh = Client.builder().username("Fresh").email("fresh@gmail.com").password("$2a$hash").build();
+
+        List<ClientBatchResult> results = clientService.saveAllHashed(List.of(fresh));
+
+        Assertions.assertEquals(ClientBatchStatus.SAVED, results.get(0).getStatus());
+        Assertions.assertEquals("$2a$hash", fresh.getPassword());
+        Mockito.verify(clientPasswordHasher, Mockito.never()).encodeAll(Mockito.anyList());
+    }
+
+    @Test
+    void updateHashedByIdKeepsThePassword() {
 
         Mockito.when(repository.findById(1L)).thenReturn(Optional.of(client));
+        Mockito.when(repository.saveAndFlush(client)).thenReturn(client);
+        Client changes = Client.builder().username("Metatron").email(client.getEmail()).password("$2a$hash").build();
+
+        Client result = clientService.updateHashedById(changes, 1L);
+
+        Assertions.assertEquals("$2a$hash", result.getPassword());
+        Mockito.verify(clientPasswordHasher, Mockito.never()).encode(Mockito.any());
+    }
+
+    @Test
+    void saveAllSkipsTheLookupOfNewValues() {
+
+        Client fresh = Client.builder().username("Fresh").email("fresh@gmail.com").build();
+        Mockito.when(clientUniquenessGuard.mightHaveUsername("Fresh")).thenReturn(false);
+        Mockito.when(clientUniquenessGuard.mightHaveEmail("fresh@gmail.com")).thenReturn(false);
+
+        List<ClientBatchResult> results = clientService.saveAll(List.of(fresh));
+
+        Assertions.assertEquals(ClientBatchStatus.SAVED, results.get(0).getStatus());
+        Mockito.verify(repository, Mockito.never()).findByUsernameInOrEmailIn(Mockito.anyCollection(), Mockito.anyCollection());
+    }
+
+    @Test
+    void saveAllDuplicatedInsideBatch() {
+
+        Client first = Client.builder().username("Same").email("first@gmail.com").build();
+        Client second = Client.builder().username("Same").email("second@gmail.com").build();
+
+        List<ClientBatchResult> results = clientService.saveAll(List.of(first, second));
+
+        Assertions.assertEquals(ClientBatchStatus.SAVED, results.get(0).getStatus());
+        Assertions.assertEquals(ClientBatchStatus.DUPLICATED, results.get(1).getStatus());
+    }
+
+    @Test
+    void saveAllRetriesOneByOne() {
+
+        Client fresh = Client.builder().username("Fresh").email("fresh@gmail.com").build();
+
+        Mockito.doThrow(new DataIntegrityViolationException("USERNAME")).when(repository).flush();
+        Mockito.when(repository.saveAndFlush(fresh)).thenReturn(fresh);
+
+        List<ClientBatchResult> results = clientService.saveAll(List.of(fresh));
+
+        Assertions.assertEquals(ClientBatchStatus.SAVED, results.get(0).getStatus());
+    }
+
+    @Test
+    void saveAllOneByOneNamesTheTakenValue() {
+
+        Client fresh = Client.builder().username("Fresh").email("taken@gmail.com").build();
+
+        Mockito.doThrow(new DataIntegrityViolationException("CLIENTS_EMAIL_KEY")).when(repository).flush();
+        Mockito.when(repository.saveAndFlush(fresh)).thenThrow(new DataIntegrityViolationException("CLIENTS_EMAIL_KEY"));
+        Mockito.when(clientUniquenessGuard.getDuplicate("Fresh", "taken@gmail.com", null))
+                .thenReturn(new DuplicateClientException("email", "Already exists this Email in the System !!!"));
 
-        Assertions.assertNotNull(clientService.findById(1L));
+        List<ClientBatchResult> results = clientService.saveAll(List.of(fresh));
+
+        Assertions.assertEquals(ClientBatchStatus.DUPLICATED, results.get(0).getStatus());
+        Assertions.assertEquals("Already exists this Email in the System !!!", results.get(0).getMessage());
+    }
+
+    @Test
+    void saveAllOneByOneRejectsWhatIsNotADuplicate() {
+
+        Client invalid = Client.builder().username("Invalid").email("invalid@gmail.com").build();
+
+        Mockito.doThrow(new DataIntegrityViolationException("value too long")).when(repository).flush();
+        Mockito.when(repository.saveAndFlush(invalid)).thenThrow(new DataIntegrityViolationException("value too long"));
+
+        List<ClientBatchResult> results = clientService.saveAll(List.of(invalid));
+
+        Assertions.assertEquals(ClientBatchStatus.INVALID, results.get(0).getStatus());
+        Assertions.assertEquals("value too long", results.get(0).getMessage());
+    }
+
+    @Test
+    void updateAll() {
+
+        Client changed = Client.builder().id(1L).username("Metatron").email(client.getEmail()).build();
+        Client missing = Client.builder().id(2L).username("Missing").email("missing@gmail.com").build();
+
+        Mockito.when(repository.findByUsernameInOrEmailIn(Mockito.anyCollection(), Mockito.anyCollection())).thenReturn(List.of(client));
+        Mockito.when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(client));
+
+        List<ClientBatchResult> results = clientService.updateAll(List.of(changed, missing));
+
+        Assertions.assertEquals(ClientBatchStatus.UPDATED, results.get(0).getStatus());
+        Assertions.assertEquals("Metatron", results.get(0).getClient().getUsername());
+        Assertions.assertEquals(ClientBatchStatus.NOT_FOUND, results.get(1).getStatus());
+        Mockito.verify(clientCache).put(client);
+    }
+
+    @Test
+    void findById() {
+
+        Mockito.when(clientCacheLoader.getById(1L)).thenReturn(Optional.of(client));
+
+        Assertions.assertSame(client, clientService.findById(1L));
+        Mockito.verifyNoInteractions(repository);
     }
 
     @Test
     void findByIdNotFound() {
 
-        Mockito.when(repository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientCacheLoader.getById(1L)).thenReturn(Optional.empty());
 
         Assertions.assertThrows(NotFoundException.class,() -> clientService.findById(1L));
     }
 
     @Test
     void findByUsernameAndPassword() {
-        Mockito.when(repository.findClientByUsernameAndPassword(Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.of(client));
+        Mockito.when(clientCache.getStamp()).thenReturn(7L);
+        Mockito.when(repository.findByUsername("Psycho")).thenReturn(Optional.of(client));
+        Mockito.when(clientPasswordHasher.matches("P@ssw0rd", "P@ssw0rd")).thenReturn(true);
+        Mockito.when(clientPasswordHasher.isEncoded("P@ssw0rd")).thenReturn(true);
+
+        Assertions.assertNotNull(clientService.findByUsernameAndPassword("Psycho", "P@ssw0rd"));
+        Mockito.verify(clientCache).putLoadedByUsername(client, 7L);
+    }
+
+    @Test
+    void findByUsernameAndPasswordFromCache() {
+
+        Mockito.when(clientCache.getByUsername("Psycho")).thenReturn(Optional.of(client));
+        Mockito.when(clientPasswordHasher.matches("P@ssw0rd", "P@ssw0rd")).thenReturn(true);
+        Mockito.when(clientPasswordHasher.isEncoded("P@ssw0rd")).thenReturn(true);
+
+        Assertions.assertSame(client, clientService.findByUsernameAndPassword("Psycho", "P@ssw0rd"));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findByUsernameAndPasswordCachedWithOtherPassword() {
+
+        Mockito.when(clientCache.getByUsername("Psycho")).thenReturn(Optional.of(client));
+        Mockito.when(clientPasswordHasher.matches("Wr0ngP@ss", "P@ssw0rd")).thenReturn(false);
+
+        Assertions.assertThrows(NotFoundException.class, () -> clientService.findByUsernameAndPassword("Psycho", "Wr0ngP@ss"));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findByUsernameAndPasswordUpgradesLegacyPassword() {
+        Mockito.when(repository.findByUsername("Psycho")).thenReturn(Optional.of(client));
+        Mockito.when(clientPasswordHasher.matches("P@ssw0rd", "P@ssw0rd")).thenReturn(true);
+        Mockito.when(clientPasswordHasher.isEncoded("P@ssw0rd")).thenReturn(false);
+        Mockito.when(clientPasswordHasher.encode("P@ssw0rd")).thenReturn("$2a$hash");
+        Mockito.when(repository.updatePassword(1L, "$2a$hash")).thenReturn(1);
+
+        Client upgraded = clientService.findByUsernameAndPassword("Psycho", "P@ssw0rd");
+
+        Assertions.assertEquals("$2a$hash", upgraded.getPassword());
+        Assertions.assertEquals(1L, upgraded.getVersion());
+        Assertions.assertEquals("P@ssw0rd", client.getPassword());
+        Mockito.verify(clientCache).put(upgraded);
+    }
 
-        Assertions.assertNotNull(clientService.findByUsernameAndPassword("", ""));
+    @Test
+    void findByUsernameAndPasswordEvictsWhenTheUpgradeMissesTheRow() {
+        Mockito.when(repository.findByUsername("Psycho")).thenReturn(Optional.of(client));
+        Mockito.when(clientPasswordHasher.matches("P@ssw0rd", "P@ssw0rd")).thenReturn(true);
+        Mockito.when(clientPasswordHasher.isEncoded("P@ssw0rd")).thenReturn(false);
+        Mockito.when(clientPasswordHasher.encode("P@ssw0rd")).thenReturn("$2a$hash");
+
+        Assertions.assertSame(client, clientService.findByUsernameAndPassword("Psycho", "P@ssw0rd"));
+        Mockito.verify(clientCache).evictById(1L);
+        Mockito.verify(clientCache, Mockito.never()).put(Mockito.any());
     }
 
     @Test
     void findByUsernameAndPasswordNotFound() {
-        Mockito.when(repository.findClientByUsernameAndPassword(Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(repository.findByUsername(Mockito.anyString())).thenReturn(Optional.empty());
 
         Assertions.assertThrows(NotFoundException.class, () -> clientService.findByUsernameAndPassword("", ""));
+        Mockito.verify(clientPasswordHasher).matchDummy("");
+        Mockito.verify(clientNegativeCache).putMissingUsername("");
+    }
+
+    @Test
+    void findByUsernameAndPasswordKnownMissing() {
+        Mockito.when(clientNegativeCache.isMissingUsername("Nobody")).thenReturn(true);
+
+        Assertions.assertThrows(NotFoundException.class, () -> clientService.findByUsernameAndPassword("Nobody", ""));
+        Mockito.verifyNoInteractions(repository);
+        Mockito.verify(clientPasswordHasher).matchDummy("");
     }
 
     @Test
     void findAll() {
 
-        Mockito.when(repository.findAll()).thenReturn(List.of(client));
+        Set<ClientField> fields = EnumSet.of(ClientField.USERNAME);
+        Mockito.when(repository.findAllProjected(fields)).thenReturn(List.of(client));
 
-        List<Client> clients = clientService.findAll();
+        List<Client> clients = clientService.findAll(fields);
 
         Assertions.assertFalse(clients.isEmpty());
         Assertions.assertEquals(1, clients.size());
@@ -109,17 +435,17 @@ class ClientServiceImplTest {
     @Test
     void findAllNotFound() {
 
-        Mockito.when(repository.findAll()).thenReturn(List.of());
+        Mockito.when(repository.findAllProjected(allFields)).thenReturn(List.of());
 
-        Assertions.assertThrows(NotFoundException.class, () -> clientService.findAll());
+        Assertions.assertThrows(NotFoundException.class, () -> clientService.findAll(allFields));
     }
 
     @Test
     void findAllPage() {
 
-        Mockito.when(repository.findAll(PageRequest.of(1, 1))).thenReturn(new PageImpl<>(List.of(new Client())));
+        Mockito.when(repository.findAllProjected(allFields, PageRequest.of(1, 1))).thenReturn(new PageImpl<>(List.of(new Client())));
 
-        Page<Client> clients = clientService.findAllPaged(1, 1);
+        Page<Client> clients = clientService.findAllPaged(1, 1, allFields);
 
         Assertions.assertFalse(clients.isEmpty());
         Assertions.assertEquals(1, clients.getContent().size());
@@ -128,69 +454,242 @@ class ClientServiceImplTest {
     @Test
     void findAllPageNotFound() {
 
-        Mockito.when(repository.findAll(PageRequest.of(1, 1))).thenReturn(new PageImpl<>(List.of()));
+        Mockito.when(repository.findAllProjected(allFields, PageRequest.of(1, 1))).thenReturn(new PageImpl<>(List.of()));
 
-        Assertions.assertThrows(NotFoundException.class, () -> clientService.findAllPaged(1, 1));
+        Assertions.assertThrows(NotFoundException.class, () -> clientService.findAllPaged(1, 1, allFields));
     }
 
     @Test
-    void activateAndDeactivateClientById() {
+    void findAllSlicedFirstPage() {
 
-        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(client));
+        Mockito.when(repository.findNextProjected(allFields, ClientSortKey.ID, null, 1))
+                .thenReturn(new SliceImpl<>(List.of(client), PageRequest.of(0, 1), true));
+
+        Slice<Client> clients = clientService.findAllSliced(null, ClientSortKey.ID, 1, allFields);
+
+        Assertions.assertTrue(clients.hasNext());
+        Assertions.assertEquals(1, clients.getNumberOfElements());
+    }
+
+    @Test
+    void findAllSlicedAfterCursor() {
+
+        ClientCursor cursor = new ClientCursor(ClientSortKey.USERNAME, 1L, "Psycho");
+
+        Mockito.when(repository.findNextProjected(allFields, ClientSortKey.USERNAME, cursor, 1))
+                .thenReturn(new SliceImpl<>(List.of(client)));
+
+        Assertions.assertFalse(clientService.findAllSliced(cursor, ClientSortKey.USERNAME, 1, allFields).hasNext());
+    }
+
+    @Test
+    void findAllSlicedRefusesAnOversizedSlice() {
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> clientService.findAllSliced(null, ClientSortKey.ID, 101, allFields));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> clientService.findAllSliced(null, ClientSortKey.ID, 0, allFields));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findAllSlicedNotFound() {
+
+        ClientCursor cursor = new ClientCursor(ClientSortKey.ID, 1L, "");
+
+        Mockito.when(repository.findNextProjected(allFields, ClientSortKey.ID, cursor, 1)).thenReturn(new SliceImpl<>(List.of()));
+
+        Assertions.assertThrows(NotFoundException.class, () -> clientService.findAllSliced(cursor, ClientSortKey.ID, 1, allFields));
+    }
+
+    @Test
+    void exportAll() {
+
+        Mockito.when(repository.streamAll()).thenReturn(Stream.of(client));
+
+        List<Client> exported = new ArrayList<>();
+        clientService.exportAll(exported::add);
+
+        Assertions.assertEquals(List.of(client), exported);
+        Mockito.verify(entityManager).detach(client);
+    }
+
+    @Test
+    void activateAndDeactivateClientById() {
 
         Client client = new Client();
         client.setIsActive(false);
 
-        Mockito.when(repository.save(Mockito.any())).thenReturn(client);
+        Mockito.when(repository.toggleActive(1L)).thenReturn(Optional.of(client));
 
         Client result = clientService.activateAndDeactivateClientById(1L);
 
         Assertions.assertNotNull(result);
         Assertions.assertFalse(result.getIsActive());
+        Mockito.verify(clientCache).replace(null, client);
+        Mockito.verify(clientOutbox).append(ClientChangeType.UPDATED, client);
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.anyLong());
     }
 
     @Test
-    void activateAndDeactivateClientByIdIsActiveFalse() {
+    void activateAndDeactivateClientByIdFail() {
 
-        Client client = new Client();
-        client.setIsActive(false);
+        Mockito.when(repository.toggleActive(1L)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> clientService.activateAndDeactivateClientById(1L));
+        Mockito.verify(clientCache, Mockito.never()).replace(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(clientOutbox);
+    }
+
+    @Test
+    void patchById() {
+
+        Client changes = Client.builder().lastName("Herrera").password("N3wP@ss").build();
+        Mockito.when(clientPasswordHasher.encode("N3wP@ss")).thenReturn("$2a$hash");
+        Mockito.when(repository.patch(1L, changes)).thenReturn(Optional.of(client));
+
+        Assertions.assertSame(client, clientService.patchById(changes, 1L));
+        Assertions.assertEquals("$2a$hash", changes.getPassword());
+        Mockito.verify(clientCache).replace(null, client);
+        Mockito.verify(repository, Mockito.never()).findUsernameByIdForUpdate(Mockito.anyLong());
+    }
+
+    @Test
+    void patchByIdDropsThePreviousUsername() {
+
+        Client changes = Client.builder().username("Psycho").build();
+        Mockito.when(repository.findUsernameByIdForUpdate(1L)).thenReturn(Optional.of("Metatron"));
+        Mockito.when(repository.patch(1L, changes)).thenReturn(Optional.of(client));
+
+        clientService.patchById(changes, 1L);
+
+        Mockito.verify(clientCache).replace("Metatron", client);
+    }
+
+    @Test
+    void activateAndDeactivateClientByIdDropsAStaleUsername() {
+
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.of(Client.builder().id(1L).username("Metatron").build()));
+        Mockito.when(repository.toggleActive(1L)).thenReturn(Optional.of(client));
+
+        clientService.activateAndDeactivateClientById(1L);
+
+        Mockito.verify(clientCache).replace("Metatron", client);
+    }
+
+    @Test
+    void updateByIdWithStaleVersion() {
 
         Mockito.when(repository.findById(1L)).thenReturn(Optional.of(client));
 
-        Client client2 = new Client();
-        client2.setIsActive(true);
+        Client changes = Client.builder().username("Metatron").version(5L).build();
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> clientService.updateById(changes, 1L));
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(Mockito.any());
+        Mockito.verifyNoInteractions(clientOutbox);
+    }
 
-        Mockito.when(repository.save(Mockito.any())).thenReturn(client2);
+    @Test
+    void patchByIdWithStaleVersion() {
 
-        Client result = clientService.activateAndDeactivateClientById(1L);
+        Client changes = Client.builder().lastName("Herrera").version(5L).build();
+        Mockito.when(repository.patch(1L, changes)).thenReturn(Optional.empty());
+        Mockito.when(repository.existsById(1L)).thenReturn(true);
 
-        Assertions.assertNotNull(result);
-        Assertions.assertTrue(result.getIsActive());
+        Assertions.assertThrows(PreconditionFailedException.class, () -> clientService.patchById(changes, 1L));
     }
 
     @Test
-    void activateAndDeactivateClientByIdFail() {
+    void findCachedVersion() {
 
-        Mockito.when(repository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.of(client));
 
-        Assertions.assertThrows(NotFoundException.class, () -> clientService.activateAndDeactivateClientById(1L));
+        Assertions.assertEquals(0L, clientService.findCachedVersion(1L).orElseThrow());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void patchByIdNotFound() {
+
+        Client changes = Client.builder().lastName("Herrera").build();
+        Mockito.when(repository.patch(1L, changes)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> clientService.patchById(changes, 1L));
+        Mockito.verifyNoInteractions(clientCache);
     }
 
     @Test
     void deleteById() {
 
-        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(new Client()));
+        Mockito.when(repository.deleteClientById(1L)).thenReturn(1);
 
         clientService.deleteById(1L);
 
-        Mockito.verify(repository).findById(1L);
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(clientCache).evictById(1L);
+        Mockito.verify(clientOutbox).appendDeleted(1L);
+        Mockito.verify(clientSearchIndex).remove(1L);
     }
 
     @Test
     void deleteByIdNotFound() {
 
-        Mockito.when(repository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(repository.deleteClientById(1L)).thenReturn(0);
 
         Assertions.assertThrows(NotFoundException.class, () -> clientService.deleteById(1L));
+        Mockito.verifyNoInteractions(clientCache);
+        Mockito.verifyNoInteractions(clientOutbox);
+    }
+
+    @Test
+    void existsByIdFromCache() {
+
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.of(client));
+
+        Assertions.assertTrue(clientService.existsById(1L));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void existsByIdFromRepository() {
+
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty());
+        Mockito.when(repository.existsById(1L)).thenReturn(false);
+
+        Assertions.assertFalse(clientService.existsById(1L));
+        Mockito.verify(clientNegativeCache).putMissingId(1L);
+    }
+
+    @Test
+    void existsByIdKnownMissing() {
+
+        Mockito.when(clientCache.getById(1L)).thenReturn(Optional.empty());
+        Mockito.when(clientNegativeCache.isMissingId(1L)).thenReturn(true);
+
+        Assertions.assertFalse(clientService.existsById(1L));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void searchIsCappedToMaxResults() {
+
+        Mockito.when(clientSearchIndex.search("yon", 50)).thenReturn(List.of(client));
+
+        Assertions.assertEquals(List.of(client), clientService.search("yon", 500));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    void searchUsesDefaultResults() {
+
+        Mockito.when(clientSearchIndex.search("yon", 10)).thenReturn(List.of());
+
+        Assertions.assertTrue(clientService.search("yon", null).isEmpty());
+    }
+
+    @Test
+    void searchRejectsBlankQuery() {
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> clientService.search(" ", 5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> clientService.search("yon", 0));
+        Mockito.verifyNoInteractions(clientSearchIndex);
     }
-}
\ No newline at end of file
+}
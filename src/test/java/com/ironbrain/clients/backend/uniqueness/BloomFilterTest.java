@@ -0,0 +1,50 @@
+package com.ironbrain.clients.backend.uniqueness;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("user" + i + "@mail.com");
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertTrue(filter.mightContain("user" + i + "@mail.com"));
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void isSizedFromTheRate() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        Assertions.assertEquals(9600, filter.getBitCount());
+        Assertions.assertEquals(7, filter.getHashCount());
+        Assertions.assertFalse(filter.mightContain("Psycho"));
+    }
+
+    @Test
+    void rejectsAnInvalidRate() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1));
+    }
+}
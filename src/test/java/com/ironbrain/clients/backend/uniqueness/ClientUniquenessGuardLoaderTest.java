@@ -0,0 +1,64 @@
+package com.ironbrain.clients.backend.uniqueness;
+
+import com.ironbrain.clients.backend.model.ClientIdentity;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+class ClientUniquenessGuardLoaderTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Mock
+    private ClientUniquenessGuard clientUniquenessGuard;
+
+    @Mock
+    private ClientIdentity identity;
+
+    private ClientUniquenessGuardLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new ClientUniquenessGuardLoader(clientRepository, transactionOperations, clientUniquenessGuard);
+
+        Mockito.lenient().when(transactionOperations.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void loadStreamsTheIdentities() {
+        Mockito.when(clientRepository.streamIdentities()).thenReturn(Stream.of(identity));
+        @SuppressWarnings("unchecked")
+        Consumer<ClientIdentity> action = Mockito.mock(Consumer.class);
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<Consumer<ClientIdentity>>>getArgument(0).accept(action);
+            return null;
+        }).when(clientUniquenessGuard).rebuild(Mockito.any());
+
+        loader.load();
+
+        Mockito.verify(action).accept(identity);
+    }
+
+    @Test
+    void failedRefreshIsLogged() {
+        Mockito.doThrow(new IllegalStateException("Connection refused")).when(transactionOperations).execute(Mockito.any());
+
+        loader.refresh();
+
+        Mockito.verifyNoInteractions(clientUniquenessGuard);
+    }
+}
@@ -0,0 +1,140 @@
+package com.ironbrain.clients.backend.uniqueness;
+
+import com.ironbrain.clients.backend.config.ClientProperties;
+import com.ironbrain.clients.backend.exception.DuplicateClientException;
+import com.ironbrain.clients.backend.model.Client;
+import com.ironbrain.clients.backend.model.ClientIdentity;
+import com.ironbrain.clients.backend.repository.ClientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClientUniquenessGuardTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private ClientUniquenessGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        ClientProperties clientProperties = new ClientProperties();
+        clientProperties.getUniqueness().setExpectedClients(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new ClientUniquenessGuard(clientRepository, clientProperties, meterRegistry);
+    }
+
+    @Test
+    void everyValueIsLookedUpUntilLoaded() {
+        Mockito.when(clientRepository.existsByEmail("new@mail.com")).thenReturn(false);
+        Mockito.when(clientRepository.existsByUsername("new")).thenReturn(false);
+
+        guard.check("new", "new@mail.com", null);
+
+        Assertions.assertTrue(guard.mightHaveUsername("new"));
+        Assertions.assertEquals(2.0, count("false_positive"));
+    }
+
+    @Test
+    void newValuesSkipTheLookup() {
+        guard.rebuild(action -> action.accept(identity("Psycho", "ingyoniherrera@gmail.com")));
+
+        guard.check("new", "new@mail.com", null);
+
+        Mockito.verifyNoInteractions(clientRepository);
+        Assertions.assertEquals(2.0, count("skipped"));
+    }
+
+    @Test
+    void knownValuesAreConfirmed() {
+        guard.rebuild(action -> action.accept(identity("Psycho", "ingyoniherrera@gmail.com")));
+        Mockito.when(clientRepository.existsByEmail("ingyoniherrera@gmail.com")).thenReturn(false);
+        Mockito.when(clientRepository.existsByUsername("Psycho")).thenReturn(true);
+
+        DuplicateClientException ex = Assertions.assertThrows(DuplicateClientException.class,
+                () -> guard.check("Psycho", "ingyoniherrera@gmail.com", null));
+
+        Assertions.assertEquals("username", ex.getField());
+        Assertions.assertEquals("Already exists this Username in the System !!!", ex.getMessage());
+        Assertions.assertEquals(1.0, count("duplicated"));
+    }
+
+    @Test
+    void ownValuesAreNotDuplicates() {
+        guard.rebuild(action -> action.accept(identity("Psycho", "ingyoniherrera@gmail.com")));
+        Mockito.when(clientRepository.existsByEmailAndIdNot("ingyoniherrera@gmail.com", 1L)).thenReturn(false);
+
+        guard.check(null, "ingyoniherrera@gmail.com", 1L);
+
+        Mockito.verify(clientRepository, Mockito.never()).existsByUsernameAndIdNot(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void addedValuesAreKnown() {
+        guard.rebuild(action -> { });
+        guard.add(Client.builder().username("Fresh").email("fresh@mail.com").build());
+
+        Assertions.assertTrue(guard.mightHaveUsername("Fresh"));
+        Assertions.assertTrue(guard.mightHaveEmail("fresh@mail.com"));
+    }
+
+    @Test
+    void writesDuringARebuildAreKept() {
+        guard.rebuild(action -> guard.add(Client.builder().username("Fresh").email("fresh@mail.com").build()));
+
+        Assertions.assertTrue(guard.mightHaveUsername("Fresh"));
+    }
+
+    @Test
+    void failedRebuildKeepsTheFilters() {
+        guard.rebuild(action -> action.accept(identity("Psycho", "ingyoniherrera@gmail.com")));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> guard.rebuild(action -> {
+            throw new IllegalStateException("Connection refused");
+        }));
+
+        Assertions.assertTrue(guard.mightHaveUsername("Psycho"));
+    }
+
+    @Test
+    void getDuplicateNamesTheConflictingField() {
+        Mockito.when(clientRepository.existsByEmail("ingyoniherrera@gmail.com")).thenReturn(true);
+
+        Assertions.assertEquals("email", guard.getDuplicate("Psycho", "ingyoniherrera@gmail.com", null).getField());
+    }
+
+    @Test
+    void getDuplicateIsNullWithoutConflict() {
+        Mockito.when(clientRepository.existsByEmailAndIdNot("ingyoniherrera@gmail.com", 1L)).thenReturn(false);
+        Mockito.when(clientRepository.existsByUsernameAndIdNot("Psycho", 1L)).thenReturn(false);
+
+        Assertions.assertNull(guard.getDuplicate("Psycho", "ingyoniherrera@gmail.com", 1L));
+    }
+
+    private ClientIdentity identity(String username, String email) {
+        return new ClientIdentity() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("client.uniqueness.checks").tag("result", result).counter().count();
+    }
+}
@@ -1,6 +1,7 @@
 package com.ironbrain.clients.backend.validation;
 
 import com.ironbrain.clients.backend.dto.ClientRequest;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,7 +28,7 @@ class ClientRequestValidatorTest {
                 .password("P@ssw0rd")
                 .build();
 
-        validator.validatePostAndPutRequest(clientRequest);
+        Assertions.assertTrue(validator.validatePostAndPutRequest(clientRequest).isEmpty());
     }
 
     @Test
@@ -42,7 +43,7 @@ class ClientRequestValidatorTest {
                 .password("P@ss")
                 .build();
 
-        Assertions.assertThrows(IllegalArgumentException.class, () -> validator.validatePostAndPutRequest(clientRequest));
+        Assertions.assertFalse(validator.validatePostAndPutRequest(clientRequest).isEmpty());
     }
 
     @Test
@@ -53,7 +54,7 @@ class ClientRequestValidatorTest {
                 .password("P@ssw0rd")
                 .build();
 
-        validator.validateUsernameAndPasswordRequest(clientRequest);
+        Assertions.assertTrue(validator.validateUsernameAndPasswordRequest(clientRequest).isEmpty());
     }
 
     @Test
@@ -64,6 +65,92 @@ class ClientRequestValidatorTest {
                 .password("P@ss")
                 .build();
 
-        Assertions.assertThrows(IllegalArgumentException.class, () -> validator.validateUsernameAndPasswordRequest(clientRequest));
+        Assertions.assertFalse(validator.validateUsernameAndPasswordRequest(clientRequest).isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName(value = "Validate Batch Put ClientRequest, Id fails")
+    void validateBatchPutRequestIdFails() {
+        ClientRequest clientRequest = ClientRequest.builder()
+                .firstName("Yoni")
+                .middleName("Herrera")
+                .lastName("Lica")
+                .email("ingyoniherrera@gmail.com")
+                .username("Psycho")
+                .password("P@ssw0rd")
+                .build();
+
+        Assertions.assertFalse(validator.validateBatchPutRequest(clientRequest).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Validate Patch ClientRequest")
+    void validatePatchRequest() {
+        ClientRequest clientRequest = ClientRequest.builder()
+                .lastName("Herrera")
+                .build();
+
+        Assertions.assertTrue(validator.validatePatchRequest(clientRequest).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Validate Patch ClientRequest, nothing supplied")
+    void validatePatchRequestEmpty() {
+        ClientRequest clientRequest = ClientRequest.builder().build();
+
+        Assertions.assertFalse(validator.validatePatchRequest(clientRequest).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Validate Patch ClientRequest, Email fails")
+    void validatePatchRequestEmailFails() {
+        ClientRequest clientRequest = ClientRequest.builder()
+                .email("ingyoniherrera@gmail")
+                .build();
+
+        Assertions.assertFalse(validator.validatePatchRequest(clientRequest).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Validate Patch ClientRequest, empty First Name fails")
+    void validatePatchRequestFirstNameFails() {
+        ClientRequest clientRequest = ClientRequest.builder()
+                .firstName(" ")
+                .build();
+
+        Assertions.assertFalse(validator.validatePatchRequest(clientRequest).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Validate Post and Put ClientRequest, every error is reported")
+    void validatePostAndPutRequestCollectsAllErrors() {
+        ClientRequest clientRequest = ClientRequest.builder()
+                .firstName("Yoni")
+                .lastName(" ")
+                .email("ingyoniherrera@gmail")
+                .username("Psycho")
+                .password("P@ss")
+                .build();
+
+        Assertions.assertEquals(List.of(
+                "Middle Name can't be null or empty",
+                "Last Name can't be null or empty",
+                "Email doesn't have the correct structure",
+                "Password must have at least 6 characters"), validator.validatePostAndPutRequest(clientRequest));
+    }
+
+    @Test
+    @DisplayName(value = "Validate Batch Put ClientRequest, Id and Password fail")
+    void validateBatchPutRequestCollectsAllErrors() {
+        ClientRequest clientRequest = ClientRequest.builder()
+                .firstName("Yoni")
+                .middleName("Herrera")
+                .lastName("Lica")
+                .email("ingyoniherrera@gmail.com")
+                .username("Psycho")
+                .build();
+
+        Assertions.assertEquals(List.of("Id can't be null", "Password can't be null or empty"),
+                validator.validateBatchPutRequest(clientRequest));
+    }
+}